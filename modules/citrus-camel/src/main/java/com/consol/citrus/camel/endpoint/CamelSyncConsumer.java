@@ -22,7 +22,7 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageHeaders;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.EventDrivenCorrelationManager;
 import com.consol.citrus.messaging.ReplyProducer;
 import org.apache.camel.Exchange;
 import org.slf4j.Logger;
@@ -55,7 +55,7 @@ public class CamelSyncConsumer extends CamelConsumer implements ReplyProducer {
         super(name, endpointConfiguration);
         this.endpointConfiguration = endpointConfiguration;
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Camel exchange not set up yet");
+        this.correlationManager = new EventDrivenCorrelationManager(endpointConfiguration, "Camel exchange not set up yet");
     }
 
     @Override
@@ -22,12 +22,12 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.core.support.JdbcDaoSupport;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Abstract base class for database connection test actions. Extends {@link JdbcDaoSupport} providing
@@ -55,6 +55,23 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
     
     /** Constant representing SQL comment */
     protected static final String SQL_COMMENT = "--";
+
+    /** System property setting the maximum number of cached SQL scripts */
+    public static final String SCRIPT_CACHE_SIZE_PROPERTY = "citrus.sql.script.cache.size";
+
+    /** Default maximum number of cached SQL scripts */
+    public static final int DEFAULT_SCRIPT_CACHE_SIZE = 100;
+
+    /** Maximum number of cached SQL scripts */
+    private static final int SCRIPT_CACHE_SIZE = getScriptCacheSize();
+
+    /** Parsed SQL scripts by action type and resource in access order */
+    private static final Map<String, CachedScript> SCRIPT_CACHE = new LinkedHashMap<String, CachedScript>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedScript> eldest) {
+            return size() > SCRIPT_CACHE_SIZE;
+        }
+    };
     
     /** This actions explicit test actor */
     private TestActor actor;
@@ -94,23 +111,94 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
      * @return list of SQL statements.
      */
     protected List<String> createStatementsFromFileResource(TestContext context) {
-        BufferedReader reader = null;
-        StringBuffer buffer;
-        
         List<String> stmts = new ArrayList<>();
-        
+
+        for (String stmt : getScriptStatements(context)) {
+            stmts.add(context.replaceDynamicContentInString(stmt));
+        }
+
+        return stmts;
+    }
+
+    /**
+     * Gets SQL statements from external file resource without resolving test variables and functions. Parsed
+     * scripts are cached per resource and action type, so executing the same script again does not read the file
+     * resource again unless it has been modified. The cache holds the least recently used scripts up to a maximum
+     * size, zero or less disables caching.
+     *
+     * @param context the current test context.
+     * @return list of unresolved SQL statements.
+     */
+    protected List<String> getScriptStatements(TestContext context) {
         String sqlResource = context.replaceDynamicContentInString(sqlResourcePath);
+        log.info("Executing SQL file: " + sqlResource);
+
+        Resource resource = new PathMatchingResourcePatternResolver().getResource(sqlResource);
+
+        long lastModified;
         try {
-            log.info("Executing SQL file: " + sqlResource);
-            
-            reader = new BufferedReader(new InputStreamReader(new PathMatchingResourcePatternResolver().getResource(sqlResource).getInputStream()));
-            buffer = new StringBuffer();
-            
+            lastModified = resource.lastModified();
+        } catch (IOException e) {
+            lastModified = -1L;
+        }
+
+        if (SCRIPT_CACHE_SIZE <= 0) {
+            return parseScript(resource, sqlResource);
+        }
+
+        String cacheKey = getClass().getName() + ":" + sqlResource;
+        CachedScript cachedScript;
+        synchronized (SCRIPT_CACHE) {
+            cachedScript = SCRIPT_CACHE.get(cacheKey);
+        }
+
+        if (cachedScript != null && cachedScript.lastModified == lastModified) {
+            if (log.isDebugEnabled()) {
+                log.debug("Using cached SQL statements of file: " + sqlResource);
+            }
+
+            return cachedScript.statements;
+        }
+
+        List<String> stmts = Collections.unmodifiableList(parseScript(resource, sqlResource));
+        synchronized (SCRIPT_CACHE) {
+            SCRIPT_CACHE.put(cacheKey, new CachedScript(lastModified, stmts));
+        }
+
+        return stmts;
+    }
+
+    /**
+     * Reads maximum number of cached SQL scripts from system property. Falls back to default size if property value
+     * is not a number.
+     * @return
+     */
+    private static int getScriptCacheSize() {
+        String cacheSize = System.getProperty(SCRIPT_CACHE_SIZE_PROPERTY, String.valueOf(DEFAULT_SCRIPT_CACHE_SIZE));
+        try {
+            return Integer.valueOf(cacheSize.trim());
+        } catch (NumberFormatException e) {
+            LoggerFactory.getLogger(AbstractDatabaseConnectingTestAction.class).warn(
+                    String.format("Invalid SQL script cache size '%s' - using default size %s", cacheSize, DEFAULT_SCRIPT_CACHE_SIZE));
+            return DEFAULT_SCRIPT_CACHE_SIZE;
+        }
+    }
+
+    /**
+     * Parses SQL statements from file resource.
+     * @param resource
+     * @param sqlResource
+     * @return
+     */
+    private List<String> parseScript(Resource resource, String sqlResource) {
+        List<String> stmts = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
+            StringBuilder buffer = new StringBuilder();
+
             String line;
-            while (reader.ready()) {
-                line = reader.readLine();
-    
-                if (line != null && line.trim() != null && !line.trim().startsWith(SQL_COMMENT) && line.trim().length() > 0) {
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().startsWith(SQL_COMMENT) && line.trim().length() > 0) {
                     if (line.trim().endsWith(getStatemendEndingCharacter())) {
                         buffer.append(decorateLastScriptLine(line));
                         String stmt = buffer.toString().trim();
@@ -119,9 +207,8 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
                             log.debug("Found statement: " + stmt);
                         }
     
-                        stmts.add(context.replaceDynamicContentInString(stmt));
+                        stmts.add(stmt);
                         buffer.setLength(0);
-                        buffer = new StringBuffer();
                     } else {
                         buffer.append(line);
                         
@@ -132,14 +219,6 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
             }
         } catch (IOException e) {
             throw new CitrusRuntimeException("Resource could not be found - filename: " + sqlResource, e);
-        } finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException e) {
-                    log.warn("Warning: Error while closing reader instance", e);
-                }
-            }
         }
         
         return stmts;
@@ -245,4 +324,17 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
         this.actor = actor;
         return this;
     }
+
+    /**
+     * Parsed SQL script statements with last modified timestamp of the script resource.
+     */
+    private static final class CachedScript {
+        private final long lastModified;
+        private final List<String> statements;
+
+        private CachedScript(long lastModified, List<String> statements) {
+            this.lastModified = lastModified;
+            this.statements = statements;
+        }
+    }
 }
@@ -18,13 +18,23 @@ package com.consol.citrus.actions;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Iterator;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Test action execute SQL statements. Use this action when executing
  * database altering statements like UPDATE, INSERT, ALTER, DELETE. Statements are either
  * embedded inline in the test case description or given by an external file resource.
+ *
+ * In batch mode statements are executed in JDBC batches of configurable size using one connection and transaction.
  * 
  * When executing SQL query statements (SELECT) see {@link ExecuteSQLQueryAction}.
  * 
@@ -35,6 +45,12 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
     /** boolean flag marking that possible SQL errors will be ignored */
     private boolean ignoreErrors = false;
 
+    /** Number of statements per JDBC batch, zero or less executes each statement on its own */
+    private int batchSize = 0;
+
+    /** Test variable used as complete string literal, e.g. '${id}' */
+    private static final Pattern VARIABLE_LITERAL_PATTERN = Pattern.compile("'\\$\\{([^'{}\\s]+)\\}'");
+
     /**
      * Default constructor.
      */
@@ -44,6 +60,15 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
 
     @Override
     public void doExecute(TestContext context) {
+        if (batchSize > 0) {
+            if (ignoreErrors) {
+                log.warn("Batch mode does not support ignoring errors - executing statements one by one");
+            } else {
+                executeBatches(statements.isEmpty() ? getScriptStatements(context) : statements, context);
+                return;
+            }
+        }
+
         String stmt = "";
 
         if (statements.isEmpty()) {
@@ -75,6 +100,121 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
         }
     }
 
+    /**
+     * Executes statements in JDBC batches using one connection and transaction. Test variables used as
+     * complete string literal in a statement are bound as prepared statement parameters, so consecutive statements
+     * that only differ in those values share the same prepared statement. Statements without parameters are
+     * executed as static statement batch.
+     *
+     * @param rawStatements statements with unresolved test variables and functions.
+     * @param context the current test context.
+     */
+    private void executeBatches(final List<String> rawStatements, final TestContext context) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(getJdbcTemplate().getDataSource()));
+
+        try {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    List<String> staticBatch = new ArrayList<String>();
+                    List<Object[]> parameterBatch = new ArrayList<Object[]>();
+                    String batchSql = null;
+
+                    for (String rawStatement : rawStatements) {
+                        String stmt = rawStatement.trim();
+                        if (stmt.endsWith(";")) {
+                            stmt = stmt.substring(0, stmt.length()-1);
+                        }
+
+                        List<Object> parameters = new ArrayList<Object>();
+                        String sql = bindParameters(stmt, parameters, context);
+
+                        if (parameters.isEmpty()) {
+                            flushParameterBatch(batchSql, parameterBatch);
+                            staticBatch.add(sql);
+
+                            if (staticBatch.size() >= batchSize) {
+                                flushStaticBatch(staticBatch);
+                            }
+                        } else {
+                            flushStaticBatch(staticBatch);
+
+                            if (!sql.equals(batchSql)) {
+                                flushParameterBatch(batchSql, parameterBatch);
+                                batchSql = sql;
+                            }
+
+                            parameterBatch.add(parameters.toArray());
+
+                            if (parameterBatch.size() >= batchSize) {
+                                flushParameterBatch(batchSql, parameterBatch);
+                            }
+                        }
+                    }
+
+                    flushStaticBatch(staticBatch);
+                    flushParameterBatch(batchSql, parameterBatch);
+                }
+            });
+        } catch (DataAccessException | TransactionException e) {
+            throw new CitrusRuntimeException(e);
+        }
+    }
+
+    /**
+     * Replaces test variables used as complete string literal with parameter placeholders and resolves all other
+     * test variables and functions in statement.
+     * @param stmt the raw statement.
+     * @param parameters the list of parameter values to add to.
+     * @param context the current test context.
+     * @return
+     */
+    private String bindParameters(String stmt, List<Object> parameters, TestContext context) {
+        if (stmt.indexOf('?') < 0) {
+            Matcher matcher = VARIABLE_LITERAL_PATTERN.matcher(stmt);
+            StringBuffer sql = new StringBuffer();
+
+            while (matcher.find()) {
+                parameters.add(context.getVariable(matcher.group(1)));
+                matcher.appendReplacement(sql, "?");
+            }
+
+            matcher.appendTail(sql);
+            stmt = sql.toString();
+        }
+
+        return context.replaceDynamicContentInString(stmt);
+    }
+
+    /**
+     * Executes pending static statements as batch.
+     * @param staticBatch
+     */
+    private void flushStaticBatch(List<String> staticBatch) {
+        if (staticBatch.isEmpty()) {
+            return;
+        }
+
+        log.info(String.format("Executing SQL batch of %s statements", staticBatch.size()));
+        getJdbcTemplate().batchUpdate(staticBatch.toArray(new String[staticBatch.size()]));
+        staticBatch.clear();
+    }
+
+    /**
+     * Executes pending prepared statement parameters as batch.
+     * @param sql
+     * @param parameterBatch
+     */
+    private void flushParameterBatch(String sql, List<Object[]> parameterBatch) {
+        if (parameterBatch.isEmpty()) {
+            return;
+        }
+
+        log.info(String.format("Executing SQL batch of %s statements: %s", parameterBatch.size(), sql));
+        getJdbcTemplate().batchUpdate(sql, new ArrayList<Object[]>(parameterBatch));
+        parameterBatch.clear();
+    }
+
     /**
      * Ignore errors during execution.
      * @param ignoreErrors boolean flag to set
@@ -91,4 +231,21 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
     public boolean isIgnoreErrors() {
         return ignoreErrors;
     }
+
+    /**
+     * Sets the number of statements per JDBC batch. Zero or less disables batch mode.
+     * @param batchSize
+     */
+    public ExecuteSQLAction setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Gets the number of statements per JDBC batch.
+     * @return
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
 }
@@ -22,13 +22,17 @@ import com.consol.citrus.exceptions.*;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
 import com.consol.citrus.validation.script.ScriptValidationContext;
 import com.consol.citrus.validation.script.sql.GroovySqlResultSetValidator;
+import com.consol.citrus.validation.script.sql.SqlResultRowView;
 import com.consol.citrus.validation.script.sql.SqlResultSetScriptValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.*;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.util.CollectionUtils;
 
+import java.sql.*;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -38,6 +42,9 @@ import java.util.Map.Entry;
  * The class enables you to query data result sets from a
  * database. Validation will happen on column basis inside the result set.
  *
+ * In streaming mode result rows are read with the configured fetch size and validated incrementally, so
+ * large result sets do not have to be loaded into memory.
+ *
  * @author Christoph Deppisch, Jan Zahalka
  * @since 2008
  */
@@ -55,9 +62,18 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
     @Autowired(required = false)
     private SqlResultSetScriptValidator validator;
 
+    /** Streams result rows with incremental validation instead of loading all rows into memory */
+    private boolean streaming = false;
+
+    /** JDBC fetch size used in streaming mode, zero or less uses the driver default */
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
     /** NULL value representation in SQL */
     private static final String NULL_VALUE = "NULL";
 
+    /** Default JDBC fetch size in streaming mode */
+    public static final int DEFAULT_FETCH_SIZE = 100;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(ExecuteSQLQueryAction.class);
 
@@ -74,6 +90,11 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
             statements = createStatementsFromFileResource(context);
         }
 
+        if (streaming) {
+            doExecuteStreaming(context);
+            return;
+        }
+
         try {
             //for control result set validation
             Map<String, List<String>> columnValuesMap = new HashMap<String, List<String>>();
@@ -97,17 +118,87 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
             // fill the request test context variables (extract tag)
             fillContextVariables(columnValuesMap, context);
 
-            // legacy: save all columns as variables TODO: remove in major version upgrade
+            Map<String, String> firstColumnValues = new LinkedHashMap<String, String>();
             for (Entry<String, List<String>> column : columnValuesMap.entrySet()) {
-                List<String> columnValues = column.getValue();
-                context.setVariable(column.getKey().toUpperCase(), columnValues.get(0) == null ? NULL_VALUE : columnValues.get(0));
+                firstColumnValues.put(column.getKey(), column.getValue().get(0));
             }
+
+            saveColumnVariables(firstColumnValues, context);
         } catch (DataAccessException e) {
             log.error("Failed to execute SQL statement", e);
             throw new CitrusRuntimeException(e);
         }
     }
 
+    /**
+     * Executes queries reading the result sets row by row. Control values and extract columns are checked
+     * incrementally so only extracted column values are kept in memory. Script validation iterates the
+     * result rows with a lazy row view.
+     * @param context
+     */
+    private void doExecuteStreaming(TestContext context) {
+        final List<String> resolvedStatements = new ArrayList<String>();
+        for (String stmt : statements) {
+            validateSqlStatement(stmt);
+            resolvedStatements.add(context.replaceDynamicContentInString(stmt));
+        }
+
+        try {
+            final StreamingResultHandler resultHandler = new StreamingResultHandler(context);
+
+            for (final String stmt : resolvedStatements) {
+                log.info("Executing SQL query: " + stmt);
+
+                getJdbcTemplate().execute(new StatementCallback<Object>() {
+                    @Override
+                    public Object doInStatement(Statement statement) throws SQLException, DataAccessException {
+                        if (fetchSize > 0) {
+                            statement.setFetchSize(fetchSize);
+                        }
+
+                        ResultSet resultSet = statement.executeQuery(stmt);
+                        try {
+                            while (resultSet.next()) {
+                                resultHandler.processRow(resultSet);
+                            }
+                        } finally {
+                            JdbcUtils.closeResultSet(resultSet);
+                        }
+
+                        return null;
+                    }
+                });
+            }
+
+            // apply script validation if specified
+            if (scriptValidationContext != null) {
+                SqlResultRowView resultRows = new SqlResultRowView(getJdbcTemplate(), resolvedStatements, fetchSize);
+                try {
+                    getScriptValidator().validateSqlResultSet(resultRows, scriptValidationContext, context);
+                } finally {
+                    resultRows.close();
+                }
+            }
+
+            resultHandler.finish();
+        } catch (DataAccessException e) {
+            log.error("Failed to execute SQL statement", e);
+            throw new CitrusRuntimeException(e);
+        }
+    }
+
+    /**
+     * Legacy: saves first result value of all columns as test variables named by upper case column name.
+     * TODO: remove in major version upgrade
+     * @param firstColumnValues the map containing column names --> first result value
+     * @param context the test context
+     */
+    private void saveColumnVariables(Map<String, String> firstColumnValues, TestContext context) {
+        for (Entry<String, String> column : firstColumnValues.entrySet()) {
+            context.setVariable(column.getKey().toUpperCase(), column.getValue() == null ? NULL_VALUE : column.getValue());
+        }
+    }
+
     /**
      * Fills the (requested) test context variables with the db result values
      * @param columnValuesMap the map containing column names --> list of result values
@@ -315,6 +406,126 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
         return controlValue.equalsIgnoreCase(NULL_VALUE) || controlValue.length() == 0;
     }
 
+    /**
+     * Row callback validating control values and collecting extract column values while result rows are read.
+     */
+    private class StreamingResultHandler implements RowCallbackHandler {
+        private final TestContext context;
+
+        /** Column map row mapper as used for result lists */
+        private final ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+
+        /** Number of result values per control column */
+        private final Map<String, Integer> controlRowCounts = new HashMap<String, Integer>();
+
+        /** Result set column names of control and extract columns */
+        private final Map<String, String> resolvedColumnNames = new HashMap<String, String>();
+
+        /** Result values of columns to extract */
+        private final Map<String, List<String>> extractColumnValues = new HashMap<String, List<String>>();
+
+        /** First result value of each column */
+        private final Map<String, String> firstColumnValues = new LinkedHashMap<String, String>();
+
+        private int rowNum = 0;
+
+        public StreamingResultHandler(TestContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            Map<String, Object> row = rowMapper.mapRow(resultSet, rowNum++);
+
+            Map<String, String> rowValues = new HashMap<String, String>();
+            for (Entry<String, Object> column : row.entrySet()) {
+                String value = column.getValue() == null ? null : column.getValue().toString();
+                rowValues.put(column.getKey(), value);
+
+                if (!firstColumnValues.containsKey(column.getKey())) {
+                    firstColumnValues.put(column.getKey(), value);
+                }
+            }
+
+            for (Entry<String, List<String>> controlEntry : controlResultSet.entrySet()) {
+                String columnName = resolveColumnName(controlEntry.getKey(), rowValues);
+                if (columnName == null) {
+                    continue;
+                }
+
+                Integer rowCount = controlRowCounts.containsKey(controlEntry.getKey()) ? controlRowCounts.get(controlEntry.getKey()) : 0;
+                controlRowCounts.put(controlEntry.getKey(), rowCount + 1);
+
+                // rows exceeding the control values are reported with the row count when all rows are read
+                if (rowCount < controlEntry.getValue().size()) {
+                    String controlValue = context.replaceDynamicContentInString(controlEntry.getValue().get(rowCount));
+                    validateSingleValue(columnName, controlValue, rowValues.get(columnName), context);
+                }
+            }
+
+            for (String extractColumn : extractVariables.keySet()) {
+                String columnName = resolveColumnName(extractColumn, rowValues);
+                if (columnName != null) {
+                    if (!extractColumnValues.containsKey(extractColumn)) {
+                        extractColumnValues.put(extractColumn, new ArrayList<String>());
+                    }
+
+                    extractColumnValues.get(extractColumn).add(rowValues.get(columnName));
+                }
+            }
+        }
+
+        /**
+         * Gets result set column name for given control or extract column name in lower or upper case.
+         * @param columnName
+         * @param rowValues
+         * @return the result set column name or null if not present in row.
+         */
+        private String resolveColumnName(String columnName, Map<String, String> rowValues) {
+            if (rowValues.containsKey(columnName.toLowerCase())) {
+                resolvedColumnNames.put(columnName, columnName.toLowerCase());
+                return columnName.toLowerCase();
+            } else if (rowValues.containsKey(columnName.toUpperCase())) {
+                resolvedColumnNames.put(columnName, columnName.toUpperCase());
+                return columnName.toUpperCase();
+            }
+
+            return null;
+        }
+
+        /**
+         * Checks control result set row counts and sets test variables after all result rows were read.
+         */
+        public void finish() {
+            for (Entry<String, List<String>> controlEntry : controlResultSet.entrySet()) {
+                if (!resolvedColumnNames.containsKey(controlEntry.getKey())) {
+                    throw new CitrusRuntimeException("Could not find column '" + controlEntry.getKey() + "' in SQL result set");
+                }
+
+                int rowCount = controlRowCounts.get(controlEntry.getKey());
+                if (rowCount != controlEntry.getValue().size()) {
+                    throw new CitrusRuntimeException("Validation failed for column: '" +  resolvedColumnNames.get(controlEntry.getKey()) + "' " +
+                            "expected rows count: " + controlEntry.getValue().size() + " but was " + rowCount);
+                }
+            }
+
+            if (!CollectionUtils.isEmpty(controlResultSet)) {
+                log.info("Database query validation finished successfully: All values OK");
+            }
+
+            for (Entry<String, String> variableEntry : extractVariables.entrySet()) {
+                if (!extractColumnValues.containsKey(variableEntry.getKey())) {
+                    throw new CitrusRuntimeException("Failed to create variables from database values! " +
+                            "Unable to find column '" + variableEntry.getKey() + "' in database result set");
+                }
+
+                context.setVariable(variableEntry.getValue(), constructVariableValue(extractColumnValues.get(variableEntry.getKey())));
+            }
+
+            saveColumnVariables(firstColumnValues, context);
+        }
+    }
+
     /**
      * Set expected control result set. Keys represent the column names, values
      * the expected values.
@@ -387,4 +598,38 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
     public ScriptValidationContext getScriptValidationContext() {
         return scriptValidationContext;
     }
+
+    /**
+     * Enables streaming of result rows with incremental validation.
+     * @param streaming
+     */
+    public ExecuteSQLQueryAction setStreaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * Gets the streaming mode.
+     * @return
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets the JDBC fetch size used in streaming mode.
+     * @param fetchSize
+     */
+    public ExecuteSQLQueryAction setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Gets the JDBC fetch size used in streaming mode.
+     * @return
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
 }
@@ -15,30 +15,55 @@
  */
 package com.consol.citrus.channel;
 
+import com.consol.citrus.channel.selector.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.core.MessageSelector;
 import org.springframework.util.Assert;
 
+import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.*;
 
 /**
  * Added selective consumption of messages according to a message selector implementation.
+ *
+ * Channel keeps an index of all queued messages by header name and value. Selective receive operations with
+ * header matching message selectors only evaluate messages in the respective index bucket instead of scanning
+ * the whole queue. Receivers waiting for a message to arrive are woken up as soon as a new message is sent to this
+ * channel. Polling interval is used as maximum wait time before the queue is checked again.
  * 
  * @author Christoph Deppisch
  */
 public class MessageSelectingQueueChannel extends QueueChannel {
     /** Logger */
     private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.RetryLogger");
+
+    /** Header names that are unique for each message and therefore not indexed */
+    private static final Set<String> UNINDEXED_HEADERS = new HashSet<String>(Arrays.asList(MessageHeaders.ID, MessageHeaders.TIMESTAMP,
+            com.consol.citrus.message.MessageHeaders.ID, com.consol.citrus.message.MessageHeaders.TIMESTAMP));
     
     /** Blocking in memory message store */
     private final BlockingQueue<Message<?>> queue;
     
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500;
+
+    /** Queued messages by header name and header value */
+    private final Map<String, Map<String, Set<Message<?>>>> headerIndex = new HashMap<String, Map<String, Set<Message<?>>>>();
+
+    /** Number of messages sent to this channel used to detect arrivals while selective receivers are scanning */
+    private final AtomicLong arrivals = new AtomicLong();
+
+    /** Lock and condition for selective receivers waiting on new messages */
+    private final Lock arrivalLock = new ReentrantLock();
+    private final Condition arrival = arrivalLock.newCondition();
     
     /**
      * Create a channel with the specified queue.
@@ -65,6 +90,52 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     public MessageSelectingQueueChannel() {
         this(new LinkedBlockingQueue<Message<?>>());
     }
+
+    @Override
+    protected boolean doSend(Message<?> message, long timeout) {
+        index(message);
+
+        boolean sent = super.doSend(message, timeout);
+
+        if (sent) {
+            signalArrival();
+        } else {
+            unindex(message);
+        }
+
+        return sent;
+    }
+
+    @Override
+    protected Message<?> doReceive(long timeout) {
+        Message<?> message = super.doReceive(timeout);
+
+        if (message != null) {
+            unindex(message);
+        }
+
+        return message;
+    }
+
+    @Override
+    public List<Message<?>> clear() {
+        List<Message<?>> removed = super.clear();
+        for (Message<?> message : removed) {
+            unindex(message);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public List<Message<?>> purge(MessageSelector selector) {
+        List<Message<?>> purged = super.purge(selector);
+        for (Message<?> message : purged) {
+            unindex(message);
+        }
+
+        return purged;
+    }
     
     /**
      * Supports selective consumption of messages on the channel. The first message 
@@ -74,10 +145,15 @@ public class MessageSelectingQueueChannel extends QueueChannel {
      * @return
      */
     public Message<?> receive(MessageSelector selector) {
-        Object[] array = this.queue.toArray();
-        for (Object o : array) {
+        Collection<?> candidates = getCandidates(selector);
+        if (candidates == null) {
+            candidates = Arrays.asList(this.queue.toArray());
+        }
+
+        for (Object o : candidates) {
             Message<?> message = (Message<?>) o;
             if (selector.accept(message) && this.queue.remove(message)) {
+                unindex(message);
                 return message;
             }
         }
@@ -86,36 +162,195 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     }
     
     /**
-     * Consume messages on the channel via message selector. Timeout forces several retries
-     * with polling interval setting.
+     * Consume messages on the channel via message selector. Receiver is woken up each time a new message
+     * arrives and retries at the latest after polling interval until timeout is reached.
      * 
      * @param selector
      * @param timeout
      * @return
      */
     public Message<?> receive(MessageSelector selector, long timeout) {
-        long timeLeft = timeout;
+        long deadline = System.currentTimeMillis() + timeout;
+        long arrivalCount = arrivals.get();
         Message<?> message = receive(selector);
 
+        long timeLeft = deadline - System.currentTimeMillis();
         while (message == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
-            
+            long waitTime = pollingInterval > 0 ? Math.min(timeLeft, pollingInterval) : timeLeft;
+
             if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug("No message received with message selector - retrying in " + (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
+                RETRY_LOG.debug("No message received with message selector - retrying in " + waitTime + "ms");
             }
-            
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+
+            if (!awaitArrival(arrivalCount, waitTime)) {
+                break;
             }
-            
+
+            arrivalCount = arrivals.get();
             message = receive(selector);
+            timeLeft = deadline - System.currentTimeMillis();
         }
         
         return message;
     }
 
+    /**
+     * Waits for next message to arrive on this channel. Returns immediately in case messages
+     * have arrived since the given arrival count was read.
+     * @param arrivalCount
+     * @param timeout
+     * @return false if thread was interrupted while waiting.
+     */
+    private boolean awaitArrival(long arrivalCount, long timeout) {
+        arrivalLock.lock();
+        try {
+            if (arrivals.get() == arrivalCount) {
+                arrival.await(timeout, TimeUnit.MILLISECONDS);
+            }
+
+            return true;
+        } catch (InterruptedException e) {
+            RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            arrivalLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up all selective receivers waiting for new messages.
+     */
+    private void signalArrival() {
+        arrivalLock.lock();
+        try {
+            arrivals.incrementAndGet();
+            arrival.signalAll();
+        } finally {
+            arrivalLock.unlock();
+        }
+    }
+
+    /**
+     * Gets queued messages that are candidates for given message selector in queue order. Returns null in case
+     * selector is not supported by index so caller needs to inspect all queued messages.
+     * @param selector
+     * @return
+     */
+    private Collection<Message<?>> getCandidates(MessageSelector selector) {
+        Map<String, String> matchingHeaders = null;
+        if (selector.getClass().equals(HeaderMatchingMessageSelector.class)) {
+            matchingHeaders = ((HeaderMatchingMessageSelector) selector).getMatchingHeaders();
+        } else if (selector.getClass().equals(DispatchingMessageSelector.class)) {
+            matchingHeaders = ((DispatchingMessageSelector) selector).getHeaderMatchingHeaders();
+        }
+
+        if (matchingHeaders == null) {
+            return null;
+        }
+
+        synchronized (headerIndex) {
+            Set<Message<?>> candidates = null;
+            for (Map.Entry<String, String> matchingHeader : matchingHeaders.entrySet()) {
+                if (UNINDEXED_HEADERS.contains(matchingHeader.getKey())) {
+                    continue;
+                }
+
+                Map<String, Set<Message<?>>> valueIndex = headerIndex.get(matchingHeader.getKey());
+                Set<Message<?>> bucket = valueIndex != null ? valueIndex.get(matchingHeader.getValue()) : null;
+
+                if (bucket == null) {
+                    return Collections.emptyList();
+                }
+
+                if (candidates == null || bucket.size() < candidates.size()) {
+                    candidates = bucket;
+                }
+            }
+
+            return candidates != null ? new ArrayList<Message<?>>(candidates) : null;
+        }
+    }
+
+    /**
+     * Adds message to header index.
+     * @param message
+     */
+    private void index(Message<?> message) {
+        Map<String, Object> headers = getIndexedHeaders(message);
+
+        synchronized (headerIndex) {
+            for (Map.Entry<String, Object> header : headers.entrySet()) {
+                Map<String, Set<Message<?>>> valueIndex = headerIndex.get(header.getKey());
+                if (valueIndex == null) {
+                    valueIndex = new HashMap<String, Set<Message<?>>>();
+                    headerIndex.put(header.getKey(), valueIndex);
+                }
+
+                String value = header.getValue().toString();
+                Set<Message<?>> bucket = valueIndex.get(value);
+                if (bucket == null) {
+                    bucket = new LinkedHashSet<Message<?>>();
+                    valueIndex.put(value, bucket);
+                }
+
+                bucket.add(message);
+            }
+        }
+    }
+
+    /**
+     * Removes message from header index.
+     * @param message
+     */
+    private void unindex(Message<?> message) {
+        Map<String, Object> headers = getIndexedHeaders(message);
+
+        synchronized (headerIndex) {
+            for (Map.Entry<String, Object> header : headers.entrySet()) {
+                Map<String, Set<Message<?>>> valueIndex = headerIndex.get(header.getKey());
+                if (valueIndex == null) {
+                    continue;
+                }
+
+                String value = header.getValue().toString();
+                Set<Message<?>> bucket = valueIndex.get(value);
+                if (bucket != null && bucket.remove(message) && bucket.isEmpty()) {
+                    valueIndex.remove(value);
+
+                    if (valueIndex.isEmpty()) {
+                        headerIndex.remove(header.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets header values used for indexing this message. Citrus message headers take precedence
+     * over message channel headers with same name as header matching message selector always needs to match both.
+     * @param message
+     * @return
+     */
+    private Map<String, Object> getIndexedHeaders(Message<?> message) {
+        Map<String, Object> headers = new HashMap<String, Object>(message.getHeaders());
+
+        if (message.getPayload() instanceof com.consol.citrus.message.Message) {
+            headers.putAll(((com.consol.citrus.message.Message) message.getPayload()).copyHeaders());
+        }
+
+        headers.keySet().removeAll(UNINDEXED_HEADERS);
+
+        Iterator<Object> values = headers.values().iterator();
+        while (values.hasNext()) {
+            if (values.next() == null) {
+                values.remove();
+            }
+        }
+
+        return headers;
+    }
+
     /**
      * Gets the pollingInterval.
      * @return the pollingInterval the pollingInterval to get.
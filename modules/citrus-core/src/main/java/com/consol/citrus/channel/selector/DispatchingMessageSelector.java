@@ -93,6 +93,24 @@ public class DispatchingMessageSelector implements MessageSelector {
         return success;
     }
 
+    /**
+     * Gets the header elements to match without root QName and XPath selector elements. These header elements
+     * are evaluated by {@link HeaderMatchingMessageSelector}.
+     * @return
+     */
+    public Map<String, String> getHeaderMatchingHeaders() {
+        Map<String, String> headerMatchingHeaders = new HashMap<String, String>();
+
+        for (Entry<String, String> headerEntry : matchingHeaders.entrySet()) {
+            if (!headerEntry.getKey().equals(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT) &&
+                    !headerEntry.getKey().startsWith(XPathEvaluatingMessageSelector.XPATH_SELECTOR_ELEMENT)) {
+                headerMatchingHeaders.put(headerEntry.getKey(), headerEntry.getValue());
+            }
+        }
+
+        return headerMatchingHeaders;
+    }
+
     /**
      * Find namespace context builder in Spring bean factory. If not present there
      * create new one.
@@ -101,6 +119,10 @@ public class DispatchingMessageSelector implements MessageSelector {
      */
     private NamespaceContextBuilder getNamespContextBuilder() {
         NamespaceContextBuilder nsContextBuilder;
+
+        if (beanFactory == null) {
+            return new NamespaceContextBuilder();
+        }
         
         try {
             nsContextBuilder = beanFactory.getBean(NamespaceContextBuilder.class);
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.xml.ParserContext;
 import org.w3c.dom.Element;
 
 import com.consol.citrus.container.Parallel;
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 
 /**
  * Bean definition parser for parallel container in test case.
@@ -39,7 +40,11 @@ public class ParallelParser implements BeanDefinitionParser {
 
         DescriptionElementParser.doParse(element, builder);
         builder.addPropertyValue("name", element.getLocalName());
-        
+
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("fail-fast"), "failFast");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-concurrency"), "maxConcurrency");
+        BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("executor"), "executorService");
+
         ActionContainerParser.doParse(element, parserContext, builder);
 
         return builder.getBeanDefinition();
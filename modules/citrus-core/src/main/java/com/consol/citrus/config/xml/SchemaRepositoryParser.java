@@ -41,6 +41,7 @@ public class SchemaRepositoryParser implements BeanDefinitionParser {
         BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(XsdSchemaRepository.class);
 
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("schema-mapping-strategy"), "schemaMappingStrategy");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("precompile"), "precompile");
 
         ManagedList<RuntimeBeanReference> schemas = new ManagedList<RuntimeBeanReference>();
 
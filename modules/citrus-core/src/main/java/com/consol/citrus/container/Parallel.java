@@ -22,26 +22,43 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ParallelContainerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test action will execute nested actions in parallel. Each action is executed in a
- * separate thread. Container joins all threads and waiting for them to end successfully.
+ * separate thread. Container waits for all actions to end successfully.
+ *
+ * Threads are taken from a shared executor service that uses virtual threads when the Java runtime supports
+ * them and a cached thread pool otherwise. Custom executor service, maximum number of concurrently running
+ * actions and fail fast behavior are configurable. In fail fast mode the first failing action cancels all
+ * sibling actions. Container waits for cancelled actions to finish and raises the first failure only.
  * 
  * @author Christoph Deppisch
  */
 public class Parallel extends AbstractActionContainer {
 
-    /** Store created threads in stack */
-    private Stack<Thread> threads = new Stack<Thread>();
-
-    /** Collect exceptions in list */
-    private List<CitrusRuntimeException> exceptions = new ArrayList<CitrusRuntimeException>();
-    
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(Parallel.class);
 
+    /** Executor service shared by all parallel containers without explicit executor service */
+    private static ExecutorService defaultExecutorService;
+
+    /** Executor service running nested actions */
+    private ExecutorService executorService;
+
+    /** Maximum number of concurrently running nested actions, zero or less means no limit */
+    private int maxConcurrency = 0;
+
+    /** Cancel sibling actions as soon as first action fails */
+    private boolean failFast = false;
+
     /**
      * Default constructor.
      */
@@ -51,37 +68,205 @@ public class Parallel extends AbstractActionContainer {
 
     @Override
     public void doExecute(TestContext context) {
-        for (final TestAction action : actions) {
-            Thread t = new Thread(new ActionRunner(action, context) {
-                @Override
-                public void exceptionCallback(CitrusRuntimeException e) {
-                    if (exceptions.isEmpty()) {
-                        setLastExecutedAction(action);
+        final List<CitrusRuntimeException> exceptions = Collections.synchronizedList(new ArrayList<CitrusRuntimeException>());
+        final Semaphore permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+
+        CompletionService<Void> completionService = new ExecutorCompletionService<Void>(getExecutorService());
+        List<ActionRunner> runners = new ArrayList<ActionRunner>();
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+        try {
+            for (final TestAction action : actions) {
+                if (failFast && !exceptions.isEmpty()) {
+                    break;
+                }
+
+                if (permits != null) {
+                    permits.acquire();
+                }
+
+                ActionRunner runner = new ActionRunner(action, context) {
+                    @Override
+                    public void exceptionCallback(CitrusRuntimeException e) {
+                        synchronized (exceptions) {
+                            if (exceptions.isEmpty()) {
+                                setLastExecutedAction(action);
+                            }
+
+                            exceptions.add(e);
+                        }
+                    }
+
+                    @Override
+                    public void finished() {
+                        if (permits != null) {
+                            permits.release();
+                        }
                     }
-                    
-                    exceptions.add(e);
+                };
+
+                Future<Void> future;
+                try {
+                    future = completionService.submit(runner, null);
+                } catch (RejectedExecutionException e) {
+                    if (permits != null) {
+                        permits.release();
+                    }
+
+                    throw new CitrusRuntimeException("Executor service rejected parallel test action", e);
                 }
-            });
 
-            threads.push(t);
-            t.start();
+                runners.add(runner);
+                futures.add(future);
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                completionService.take();
+
+                if (failFast && !exceptions.isEmpty()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for parallel actions to finish", e);
+            Thread.currentThread().interrupt();
+            exceptions.add(new CitrusRuntimeException("Interrupted while waiting for parallel actions to finish", e));
+        } finally {
+            cancel(runners, futures);
         }
 
-        while (!threads.isEmpty()) {
-            try {
-                threads.pop().join();
-            } catch (InterruptedException e) {
-                log.error("Unable to join thread", e);
+        synchronized (exceptions) {
+            if (!exceptions.isEmpty()) {
+                if (exceptions.size() == 1 || failFast) {
+                    throw exceptions.get(0);
+                } else {
+                    throw new ParallelContainerException(new ArrayList<CitrusRuntimeException>(exceptions));
+                }
             }
         }
-        
-        if (!exceptions.isEmpty()) {
-            if (exceptions.size() == 1) {
-                throw exceptions.get(0);
-            } else {
-                throw new ParallelContainerException(exceptions);
+    }
+
+    /**
+     * Cancels all actions that have not finished yet. Actions not started yet are skipped, running actions get
+     * interrupted. Waits for interrupted actions to finish so no action is running when container execution ends.
+     * @param runners
+     * @param futures
+     */
+    private void cancel(List<ActionRunner> runners, List<Future<Void>> futures) {
+        for (int i = 0; i < futures.size(); i++) {
+            if (!futures.get(i).isDone() && !runners.get(i).skip()) {
+                futures.get(i).cancel(true);
+            }
+        }
+
+        boolean interrupted = false;
+        for (ActionRunner runner : runners) {
+            while (true) {
+                try {
+                    runner.awaitFinished();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
             }
         }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the executor service for this container. Falls back to default executor service
+     * shared by all parallel containers.
+     * @return
+     */
+    public ExecutorService getExecutorService() {
+        if (executorService != null) {
+            return executorService;
+        }
+
+        return getDefaultExecutorService();
+    }
+
+    /**
+     * Sets the executor service for this container.
+     * @param executorService
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Gets the maximum number of concurrently running nested actions.
+     * @return
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of concurrently running nested actions. Zero or
+     * less means that all actions are started at once.
+     * @param maxConcurrency
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Gets the fail fast mode.
+     * @return
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Sets the fail fast mode. When enabled first failing action cancels all sibling actions.
+     * @param failFast
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Gets the default executor service. Uses virtual threads when supported by the Java runtime, otherwise
+     * creates a cached thread pool with daemon threads.
+     * @return
+     */
+    private static synchronized ExecutorService getDefaultExecutorService() {
+        if (defaultExecutorService == null) {
+            defaultExecutorService = createVirtualThreadExecutorService();
+        }
+
+        if (defaultExecutorService == null) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            defaultExecutorService = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "citrus-parallel-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return defaultExecutorService;
+    }
+
+    /**
+     * Creates virtual thread per task executor service when available in Java runtime.
+     * @return the executor service or null if virtual threads are not supported.
+     */
+    private static ExecutorService createVirtualThreadExecutorService() {
+        Method factoryMethod = ClassUtils.getStaticMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+        if (factoryMethod == null) {
+            return null;
+        }
+
+        log.debug("Using virtual threads for parallel test actions");
+        return (ExecutorService) ReflectionUtils.invokeMethod(factoryMethod, null);
     }
 
     /**
@@ -93,6 +278,12 @@ public class Parallel extends AbstractActionContainer {
         
         /** Test context */
         private TestContext context;
+
+        /** Marks runner as either started or skipped */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        /** Released when action has finished or runner has been skipped */
+        private final CountDownLatch done = new CountDownLatch(1);
         
         public ActionRunner(TestAction action, TestContext context) {
             this.action = action;
@@ -103,6 +294,10 @@ public class Parallel extends AbstractActionContainer {
          * Run the test action
          */
         public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+
             try {
                 action.execute(context);
             } catch (CitrusRuntimeException e) {
@@ -117,7 +312,31 @@ public class Parallel extends AbstractActionContainer {
             } catch (AssertionError e) {
                 log.error("Parallel test action raised error", e);
                 exceptionCallback(new CitrusRuntimeException(e));
+            } finally {
+                finished();
+                done.countDown();
+            }
+        }
+
+        /**
+         * Skips the action if it has not been started yet.
+         * @return true if action will not be executed, false if action has already been started.
+         */
+        public boolean skip() {
+            if (claimed.compareAndSet(false, true)) {
+                done.countDown();
+                return true;
             }
+
+            return false;
+        }
+
+        /**
+         * Waits until the action has finished or runner has been skipped.
+         * @throws InterruptedException
+         */
+        public void awaitFinished() throws InterruptedException {
+            done.await();
         }
         
         /**
@@ -125,5 +344,10 @@ public class Parallel extends AbstractActionContainer {
          * @param exception
          */
         public abstract void exceptionCallback(CitrusRuntimeException exception);
+
+        /**
+         * Callback when action has finished either successfully or with error.
+         */
+        public abstract void finished();
     }
-}
\ No newline at end of file
+}
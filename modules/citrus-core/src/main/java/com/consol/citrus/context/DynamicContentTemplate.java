@@ -0,0 +1,180 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.functions.FunctionLibrary;
+import com.consol.citrus.functions.FunctionTemplate;
+import com.consol.citrus.variable.VariableTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled template for strings holding variable place holders and function expressions. Templates are parsed once
+ * and kept in a bounded cache so repeated resolution of the same string, e.g. large message payload templates, does not
+ * scan the string again.
+ *
+ * Rendering produces exactly the same result as replacing variables first and functions afterwards. Function expressions
+ * in strings without variables are parsed once per function library. Strings with variables produce new content on each
+ * rendering so function expressions are parsed on the rendered result.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public final class DynamicContentTemplate {
+
+    /** Maximum number of cached templates */
+    private static final int MAX_CACHE_SIZE = 500;
+
+    /** Least recently used cache of compiled templates */
+    private static final Map<String, DynamicContentTemplate> templates = Collections.synchronizedMap(
+            new LinkedHashMap<String, DynamicContentTemplate>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DynamicContentTemplate> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            });
+
+    /** Variable template */
+    private final VariableTemplate variableTemplate;
+
+    /** Function templates per library prefix, only used when no variables are present */
+    private final ConcurrentMap<String, FunctionTemplate> functionTemplates = new ConcurrentHashMap<>();
+
+    /** Source string */
+    private final String source;
+
+    /** Marks source string as candidate for function expressions */
+    private final boolean functionCandidate;
+
+    /**
+     * Constructor using source string.
+     * @param source
+     */
+    private DynamicContentTemplate(String source) {
+        this.source = source;
+        this.variableTemplate = VariableTemplate.parse(source);
+        this.functionCandidate = isFunctionCandidate(source);
+    }
+
+    /**
+     * Gets compiled template for given string. Template is compiled and added to the cache if not present yet.
+     * Strings without any variable place holders and function expressions are not cached.
+     * @param str
+     * @return
+     */
+    public static DynamicContentTemplate compile(String str) {
+        DynamicContentTemplate template = templates.get(str);
+
+        if (template == null) {
+            template = new DynamicContentTemplate(str);
+
+            if (template.variableTemplate.hasVariables() || template.functionCandidate) {
+                templates.put(str, template);
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Renders template replacing variables and functions with respective values from test context.
+     * Values get surrounded with single quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String render(TestContext context, boolean enableQuoting) {
+        if (variableTemplate.hasVariables()) {
+            String result = variableTemplate.render(context, enableQuoting);
+            if (!isFunctionCandidate(result)) {
+                return result;
+            }
+
+            for (FunctionLibrary library : context.getFunctionRegistry().getFunctionLibraries()) {
+                if (result.contains(library.getPrefix())) {
+                    result = FunctionTemplate.parse(result, library.getPrefix()).render(context, enableQuoting);
+                }
+            }
+
+            return result;
+        }
+
+        if (!functionCandidate) {
+            return source;
+        }
+
+        String result = source;
+        boolean unchanged = true;
+        for (FunctionLibrary library : context.getFunctionRegistry().getFunctionLibraries()) {
+            if (unchanged) {
+                FunctionTemplate functionTemplate = getFunctionTemplate(library.getPrefix());
+                if (functionTemplate.hasFunctions()) {
+                    result = functionTemplate.render(context, enableQuoting);
+                    unchanged = false;
+                }
+            } else if (result.contains(library.getPrefix())) {
+                result = FunctionTemplate.parse(result, library.getPrefix()).render(context, enableQuoting);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets function template for given library prefix. Template is parsed on first access.
+     * @param libraryPrefix
+     * @return
+     */
+    private FunctionTemplate getFunctionTemplate(String libraryPrefix) {
+        FunctionTemplate functionTemplate = functionTemplates.get(libraryPrefix);
+
+        if (functionTemplate == null) {
+            functionTemplate = FunctionTemplate.parse(source, libraryPrefix);
+            functionTemplates.putIfAbsent(libraryPrefix, functionTemplate);
+        }
+
+        return functionTemplate;
+    }
+
+    /**
+     * Checks if string meets minimum requirements for holding a function expression
+     * as defined by 'prefix:methodName(arguments)'.
+     * @param str
+     * @return
+     */
+    private static boolean isFunctionCandidate(String str) {
+        return StringUtils.hasText(str) && str.indexOf(':') >= 0 && str.indexOf('(') >= 0 && str.indexOf(')') >= 0;
+    }
+
+    /**
+     * Removes all compiled templates from cache.
+     */
+    public static void clearCache() {
+        templates.clear();
+    }
+
+    /**
+     * Gets the number of cached templates.
+     * @return
+     */
+    public static int getCacheSize() {
+        return templates.size();
+    }
+}
@@ -26,15 +26,29 @@ import com.consol.citrus.endpoint.adapter.mapping.BeanNameMappingStrategy;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.server.AbstractServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Special request dispatching endpoint adapter invokes XML test case for each incoming message. Incoming message is
  * passed to test case via normal message channel connection as usual.
@@ -43,6 +57,9 @@ import org.springframework.core.task.TaskExecutor;
  * @since 1.4
  */
 public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointAdapter implements InitializingBean, BeanNameAware, ApplicationContextAware {
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XmlTestExecutingEndpointAdapter.class);
+
     /** Executor start action sequence logic in separate thread task */
     private TaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
 
@@ -61,6 +78,15 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
     /** Default package to search for Xml test case files */
     private String packageName = "com.consol.citrus.tests";
 
+    /** Parse test case XML files only once and reuse bean definitions for all requests */
+    private boolean cacheTestDefinitions = false;
+
+    /** Preload all test case XML files in package on startup - only applies when test definitions are cached */
+    private boolean warmUp = false;
+
+    /** Parsed test definitions by mapping name */
+    private final ConcurrentMap<String, DefaultListableBeanFactory> testDefinitions = new ConcurrentHashMap<>();
+
     @Override
     public Message dispatchMessage(final Message request, String mappingName) {
         final TestCase test;
@@ -91,7 +117,12 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
      * @return the new test case.
      */
     protected TestCase getTestCase(TestContext context, String testName) {
-        ClassPathXmlApplicationContext ctx = createApplicationContext(context, packageName, testName);
+        AbstractApplicationContext ctx;
+        if (cacheTestDefinitions) {
+            ctx = createCachedApplicationContext(context, packageName, testName);
+        } else {
+            ctx = createApplicationContext(context, packageName, testName);
+        }
 
         try {
             TestCase testCase = ctx.getBean(testName, TestCase.class);
@@ -118,6 +149,91 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
         }
     }
 
+    /**
+     * Creates the Spring application context from cached test definitions. Test case XML file is parsed only once
+     * for each test name, subsequent calls just instantiate a fresh set of beans from these definitions.
+     * @return
+     */
+    protected GenericApplicationContext createCachedApplicationContext(TestContext context, String packageName, String testName) {
+        try {
+            DefaultListableBeanFactory definitions = testDefinitions.get(testName);
+            if (definitions == null) {
+                definitions = loadTestDefinitions(packageName, testName);
+                DefaultListableBeanFactory existing = testDefinitions.putIfAbsent(testName, definitions);
+                if (existing != null) {
+                    definitions = existing;
+                }
+            }
+
+            GenericApplicationContext ctx = new GenericApplicationContext(applicationContext);
+            for (String beanName : definitions.getBeanDefinitionNames()) {
+                BeanDefinition beanDefinition = definitions.getBeanDefinition(beanName);
+                if (beanDefinition instanceof AbstractBeanDefinition) {
+                    beanDefinition = ((AbstractBeanDefinition) beanDefinition).cloneBeanDefinition();
+                }
+
+                ctx.registerBeanDefinition(beanName, beanDefinition);
+
+                for (String alias : definitions.getAliases(beanName)) {
+                    ctx.registerAlias(beanName, alias);
+                }
+            }
+
+            ctx.refresh();
+            return ctx;
+        } catch (Exception e) {
+            throw context.handleError(getClass().getSimpleName(), getClass().getPackage().getName(), "Failed to load test case", e);
+        }
+    }
+
+    /**
+     * Parses test case XML file and returns bean definitions registry including annotation config processors.
+     * @param packageName
+     * @param testName
+     * @return
+     */
+    protected DefaultListableBeanFactory loadTestDefinitions(String packageName, String testName) {
+        return loadTestDefinitions(new ClassPathResource(packageName.replace('.', '/') + "/" + testName + ".xml"));
+    }
+
+    /**
+     * Parses test case XML file resource and returns bean definitions registry including annotation config processors.
+     * @param resource
+     * @return
+     */
+    private DefaultListableBeanFactory loadTestDefinitions(Resource resource) {
+        DefaultListableBeanFactory definitions = new DefaultListableBeanFactory();
+        new XmlBeanDefinitionReader(definitions).loadBeanDefinitions(resource);
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(definitions);
+        return definitions;
+    }
+
+    /**
+     * Preloads all test case XML files in test package so first requests do not pay for parsing.
+     */
+    protected void preloadTestDefinitions() {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources("classpath*:" + packageName.replace('.', '/') + "/*.xml");
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read test case files in package '" + packageName + "'", e);
+        }
+
+        for (Resource resource : resources) {
+            String testName = resource.getFilename().substring(0, resource.getFilename().length() - ".xml".length());
+
+            try {
+                testDefinitions.putIfAbsent(testName, loadTestDefinitions(resource));
+            } catch (BeansException e) {
+                log.warn("Skip preloading test definition '" + testName + "' - " + e.getMessage());
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Preloaded " + testDefinitions.size() + " test definitions in package '" + packageName + "'");
+        }
+    }
+
     /**
      * Prepares the test builder instance before execution. Subclasses may add custom properties to teest builder
      * here.
@@ -147,6 +263,10 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
             mappingStrategy.setApplicationContext(applicationContext);
             setMappingStrategy(mappingStrategy);
         }
+
+        if (cacheTestDefinitions && warmUp) {
+            preloadTestDefinitions();
+        }
     }
 
     /**
@@ -173,6 +293,40 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
         this.packageName = packageName;
     }
 
+    /**
+     * Gets the test definition caching flag.
+     * @return
+     */
+    public boolean isCacheTestDefinitions() {
+        return cacheTestDefinitions;
+    }
+
+    /**
+     * Enables caching of parsed test definitions. When enabled test case XML files are parsed only once
+     * and each request creates a new test case instance from these cached bean definitions.
+     * @param cacheTestDefinitions
+     */
+    public void setCacheTestDefinitions(boolean cacheTestDefinitions) {
+        this.cacheTestDefinitions = cacheTestDefinitions;
+    }
+
+    /**
+     * Gets the warm up flag.
+     * @return
+     */
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Enables preloading of all test definitions in test package on startup. Only
+     * applies when test definitions are cached.
+     * @param warmUp
+     */
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+    }
+
     /**
      * Gets the task executor.
      * @return
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.functions;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.NoSuchFunctionException;
+import com.consol.citrus.variable.VariableUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsed representation of a string holding function calls of a single function library. String is split
+ * once into literal text and function expressions so the template can be rendered many times without scanning
+ * the string again.
+ *
+ * Template instances are immutable and may be shared among threads.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public final class FunctionTemplate {
+
+    /** Literal text segments, one more than function expressions */
+    private final String[] literals;
+
+    /** Function expressions in order of appearance */
+    private final String[] functions;
+
+    /** Length of all literal segments used as initial render buffer size */
+    private final int literalLength;
+
+    /**
+     * Constructor using fields.
+     * @param literals
+     * @param functions
+     */
+    private FunctionTemplate(List<String> literals, List<String> functions) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.functions = functions.toArray(new String[functions.size()]);
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses given string into literal text and function expressions starting with given library prefix.
+     * @param str
+     * @param libraryPrefix
+     * @return
+     */
+    public static FunctionTemplate parse(final String str, final String libraryPrefix) {
+        List<String> literals = new ArrayList<>();
+        List<String> functions = new ArrayList<>();
+
+        int startIndex = 0;
+        int curIndex;
+        int searchIndex;
+
+        while ((searchIndex = str.indexOf(libraryPrefix, startIndex)) != -1) {
+            int control = -1;
+            boolean isVarComplete = false;
+
+            curIndex = searchIndex;
+
+            while (curIndex < str.length() && !isVarComplete) {
+                if (str.charAt(curIndex) == '(') {
+                    control++;
+                }
+
+                if (str.charAt(curIndex) == ')' || curIndex == str.length() - 1) {
+                    if (control == 0) {
+                        isVarComplete = true;
+                    } else {
+                        control--;
+                    }
+                }
+
+                curIndex++;
+            }
+
+            literals.add(str.substring(startIndex, searchIndex));
+            functions.add(str.substring(searchIndex, curIndex));
+
+            startIndex = curIndex;
+        }
+
+        literals.add(str.substring(startIndex));
+
+        return new FunctionTemplate(literals, functions);
+    }
+
+    /**
+     * Renders template replacing all function expressions with respective function result.
+     * Function results are enclosed with quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String render(TestContext context, boolean enableQuoting) {
+        if (functions.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder result = new StringBuilder(literalLength + functions.length * 16);
+        for (int i = 0; i < functions.length; i++) {
+            final String value = FunctionUtils.resolveFunction(functions[i], context);
+            if (value == null) {
+                throw new NoSuchFunctionException("Function: " +
+                        VariableUtils.cutOffVariablesPrefix(functions[i]) + " could not be found");
+            }
+
+            result.append(literals[i]);
+
+            if (enableQuoting) {
+                result.append('\'').append(value).append('\'');
+            } else {
+                result.append(value);
+            }
+        }
+
+        return result.append(literals[functions.length]).toString();
+    }
+
+    /**
+     * Checks if this template holds function expressions.
+     * @return
+     */
+    public boolean hasFunctions() {
+        return functions.length > 0;
+    }
+}
@@ -18,7 +18,6 @@ package com.consol.citrus.functions;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.InvalidFunctionUsageException;
-import com.consol.citrus.exceptions.NoSuchFunctionException;
 import com.consol.citrus.variable.VariableUtils;
 import org.springframework.util.StringUtils;
 
@@ -59,65 +58,10 @@ public final class FunctionUtils {
         }
         
         String newString = stringValue;
-        StringBuffer strBuffer = new StringBuffer();
-
-        boolean isVarComplete = false;
-        StringBuffer variableNameBuf = new StringBuffer();
-
-        int startIndex = 0;
-        int curIndex;
-        int searchIndex;
-
         for (FunctionLibrary library: context.getFunctionRegistry().getFunctionLibraries()) {
-            startIndex = 0;
-
-            while ((searchIndex = newString.indexOf(library.getPrefix(), startIndex)) != -1) {
-                int control = -1;
-                isVarComplete = false;
-
-                curIndex = searchIndex;
-
-                while (curIndex < newString.length() && !isVarComplete) {
-                    if (newString.indexOf('(', curIndex) == curIndex) {
-                        control++;
-                    }
-
-                    if (newString.charAt(curIndex) == ')' || curIndex == newString.length() - 1) {
-                        if (control == 0) {
-                            isVarComplete = true;
-                        } else {
-                            control--;
-                        }
-                    }
-
-                    variableNameBuf.append(newString.charAt(curIndex));
-                    curIndex++;
-                }
-
-                final String value = resolveFunction(variableNameBuf.toString(), context);
-                if (value == null) {
-                    throw new NoSuchFunctionException("Function: " +
-                            VariableUtils.cutOffVariablesPrefix(variableNameBuf.toString()) + " could not be found");
-                }
-
-                strBuffer.append(newString.substring(startIndex, searchIndex));
-
-                if (enableQuoting) {
-                    strBuffer.append("'" + value + "'");
-                } else {
-                    strBuffer.append(value);
-                }
-
-                startIndex = curIndex;
-
-                variableNameBuf = new StringBuffer();
-                isVarComplete = false;
+            if (newString.contains(library.getPrefix())) {
+                newString = FunctionTemplate.parse(newString, library.getPrefix()).render(context, enableQuoting);
             }
-
-            strBuffer.append(newString.substring(startIndex));
-            newString = strBuffer.toString();
-
-            strBuffer = new StringBuffer();
         }
 
         return newString;
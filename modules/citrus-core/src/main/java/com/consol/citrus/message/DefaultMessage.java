@@ -17,12 +17,15 @@
 package com.consol.citrus.message;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.xml.transform.StringSource;
 import org.w3c.dom.Node;
 
@@ -30,7 +33,11 @@ import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default message implementation holds message payload and message headers. Also provides access methods for special
@@ -53,6 +60,9 @@ public class DefaultMessage implements Message {
     /** Message headers */
     private final Map<String, Object> headers;
 
+    /** Parsed payload representations by parser, cleared on payload change */
+    private transient volatile ConcurrentMap<MessagePayloadParser<?>, Object> parsedPayloads;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(DefaultMessage.class);
 
@@ -115,12 +125,32 @@ public class DefaultMessage implements Message {
     @Override
     public String toString() {
         if (CollectionUtils.isEmpty(headerData)) {
-            return String.format("%s [payload: %s][headers: %s]", getClass().getSimpleName().toUpperCase(), getPayload(String.class).trim(), headers);
+            return String.format("%s [payload: %s][headers: %s]", getClass().getSimpleName().toUpperCase(), getPayloadSummary(), headers);
         } else {
-            return String.format("%s [payload: %s][headers: %s][header-data: %s]", getClass().getSimpleName().toUpperCase(), getPayload(String.class).trim(), headers, headerData);
+            return String.format("%s [payload: %s][headers: %s][header-data: %s]", getClass().getSimpleName().toUpperCase(), getPayloadSummary(), headers, headerData);
         }
     }
 
+    /**
+     * Gets payload representation for logging purpose. Resource payloads are not read but described with
+     * their location and size as they may hold huge binary content.
+     * @return
+     */
+    private String getPayloadSummary() {
+        if (payload instanceof Resource) {
+            Resource resource = (Resource) payload;
+            try {
+                return String.format("<%s, %s bytes>", resource.getDescription(), resource.contentLength());
+            } catch (IOException e) {
+                return String.format("<%s>", resource.getDescription());
+            }
+        } else if (payload instanceof InputStreamSource) {
+            return String.format("<%s>", payload.getClass().getSimpleName());
+        }
+
+        return getPayload(String.class).trim();
+    }
+
     @Override
     public DefaultMessage setHeader(String headerName, Object headerValue) {
         if (headerName.equals(MessageHeaders.ID)) {
@@ -176,6 +206,20 @@ public class DefaultMessage implements Message {
             }
         }
 
+        if (payload instanceof InputStreamSource && (String.class.equals(type) || byte[].class.equals(type))) {
+            try {
+                if (String.class.equals(type)) {
+                    Charset charset = getPayloadCharset();
+                    InputStream inputStream = ((InputStreamSource) payload).getInputStream();
+                    return (T) (charset != null ? FileUtils.readToString(inputStream, charset) : FileUtils.readToString(inputStream));
+                } else {
+                    return (T) FileCopyUtils.copyToByteArray(((InputStreamSource) payload).getInputStream());
+                }
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read message payload resource", e);
+            }
+        }
+
         try {
             return new SimpleTypeConverter().convertIfNecessary(payload, type);
         } catch (ConversionNotSupportedException e) {
@@ -193,9 +237,62 @@ public class DefaultMessage implements Message {
         return payload;
     }
 
+    /**
+     * Gets the charset used to read resource payloads as String. Subclasses may derive the charset from message headers.
+     * @return the charset or null to use the default file charset.
+     */
+    protected Charset getPayloadCharset() {
+        return null;
+    }
+
     @Override
     public void setPayload(Object payload) {
         this.payload = payload;
+        this.parsedPayloads = null;
+    }
+
+    /**
+     * Gets parsed representation of the message payload. Representation is created with given parser on first access
+     * and cached until the message payload is changed. All callers share the same representation, so it is read only.
+     * DOM implementations are not thread safe even for read access, so callers must not access the same
+     * representation concurrently.
+     * @param parser
+     * @param <T>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getParsedPayload(MessagePayloadParser<T> parser) {
+        ConcurrentMap<MessagePayloadParser<?>, Object> cache = getParsedPayloadCache();
+
+        Object parsed = cache.get(parser);
+        if (parsed == null) {
+            parsed = parser.parse(this);
+            Object existing = cache.putIfAbsent(parser, parsed);
+            if (existing != null) {
+                parsed = existing;
+            }
+        }
+
+        return (T) parsed;
+    }
+
+    /**
+     * Gets parsed payload cache and creates it on first access or after payload change.
+     * @return
+     */
+    private ConcurrentMap<MessagePayloadParser<?>, Object> getParsedPayloadCache() {
+        ConcurrentMap<MessagePayloadParser<?>, Object> cache = parsedPayloads;
+        if (cache == null) {
+            synchronized (this) {
+                cache = parsedPayloads;
+                if (cache == null) {
+                    cache = new ConcurrentHashMap<>(4);
+                    parsedPayloads = cache;
+                }
+            }
+        }
+
+        return cache;
     }
 
     @Override
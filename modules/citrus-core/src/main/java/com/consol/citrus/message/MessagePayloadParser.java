@@ -0,0 +1,35 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+/**
+ * Parser creates a parsed representation of a message payload such as a DOM document or a JSON object tree. Parser
+ * instances also identify the representation in the message payload cache, so implementations should be shared
+ * singletons.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public interface MessagePayloadParser<T> {
+
+    /**
+     * Parses the payload of given message.
+     * @param message
+     * @return
+     */
+    T parse(Message message);
+}
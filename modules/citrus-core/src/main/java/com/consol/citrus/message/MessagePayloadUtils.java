@@ -0,0 +1,47 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public final class MessagePayloadUtils {
+
+    /**
+     * Private constructor prevents instantiation.
+     */
+    private MessagePayloadUtils() {
+    }
+
+    /**
+     * Gets parsed representation of the message payload. Default messages cache the representation until their
+     * payload changes, so the returned representation is read only. Other message implementations are parsed on
+     * each call.
+     * @param message
+     * @param parser
+     * @param <T>
+     * @return
+     */
+    public static <T> T getParsedPayload(Message message, MessagePayloadParser<T> parser) {
+        if (message instanceof DefaultMessage) {
+            return ((DefaultMessage) message).getParsedPayload(parser);
+        }
+
+        return parser.parse(message);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.PollableEndpointConfiguration;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.*;
+
+/**
+ * Correlation manager waits for objects to arrive instead of sleeping a fixed polling interval. Each store operation
+ * signals the consumers waiting for this very correlation key so the consumer wakes up immediately.
+ *
+ * Object stores may also be filled by other components without calling this correlation manager. Therefore waiting
+ * consumers recheck the object store at least once per polling interval.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public class EventDrivenCorrelationManager<T> extends PollingCorrelationManager<T> {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(EventDrivenCorrelationManager.class);
+
+    /** Retry logger */
+    private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.RetryLogger");
+
+    /** Maximum time to wait for correlation key to be saved in test context */
+    private static final long CORRELATION_KEY_TIMEOUT = 1000L;
+
+    /** Lock guarding waiter registrations and signals */
+    private final Lock lock = new ReentrantLock();
+
+    /** Consumers waiting on correlated objects */
+    private final Map<String, Waiters> objectWaiters = new HashMap<>();
+
+    /** Consumers waiting on correlation keys */
+    private final Map<String, Waiters> correlationKeyWaiters = new HashMap<>();
+
+    /** Endpoint configuration providing polling interval */
+    private final PollableEndpointConfiguration endpointConfiguration;
+
+    /**
+     * Constructor using fields.
+     * @param endpointConfiguration
+     * @param retryLogMessage
+     */
+    public EventDrivenCorrelationManager(PollableEndpointConfiguration endpointConfiguration, String retryLogMessage) {
+        super(endpointConfiguration, retryLogMessage);
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    @Override
+    public void saveCorrelationKey(String correlationKeyName, String correlationKey, TestContext context) {
+        super.saveCorrelationKey(correlationKeyName, correlationKey, context);
+        signal(correlationKeyWaiters, correlationKeyName);
+    }
+
+    @Override
+    public String getCorrelationKey(String correlationKeyName, TestContext context) {
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Get correlation key for '%s'", correlationKeyName));
+        }
+
+        long deadline = System.currentTimeMillis() + CORRELATION_KEY_TIMEOUT;
+        String correlationKey;
+
+        lock.lock();
+        try {
+            correlationKey = lookupCorrelationKey(correlationKeyName, context);
+
+            if (correlationKey == null) {
+                Waiters waiters = register(correlationKeyWaiters, correlationKeyName);
+                try {
+                    long timeLeft = deadline - System.currentTimeMillis();
+                    while (correlationKey == null && timeLeft > 0) {
+                        if (RETRY_LOG.isDebugEnabled()) {
+                            RETRY_LOG.debug("Correlation key not available yet - waiting " + timeLeft + "ms");
+                        }
+
+                        if (!await(waiters, timeLeft)) {
+                            break;
+                        }
+
+                        correlationKey = lookupCorrelationKey(correlationKeyName, context);
+                        timeLeft = deadline - System.currentTimeMillis();
+                    }
+                } finally {
+                    unregister(correlationKeyWaiters, correlationKeyName, waiters);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (correlationKey == null) {
+            throw new CitrusRuntimeException(String.format("Failed to get correlation key for '%s'", correlationKeyName));
+        }
+
+        return correlationKey;
+    }
+
+    @Override
+    public void store(String correlationKey, T object) {
+        super.store(correlationKey, object);
+        signal(objectWaiters, correlationKey);
+    }
+
+    @Override
+    public T find(String correlationKey, long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        long pollingInterval = endpointConfiguration.getPollingInterval();
+
+        lock.lock();
+        try {
+            T stored = getObjectStore().remove(correlationKey);
+            if (stored != null || timeout <= 0) {
+                return stored;
+            }
+
+            Waiters waiters = register(objectWaiters, correlationKey);
+            try {
+                long timeLeft = deadline - System.currentTimeMillis();
+                while (stored == null && timeLeft > 0) {
+                    long waitTime = pollingInterval > 0 ? Math.min(timeLeft, pollingInterval) : timeLeft;
+                    if (RETRY_LOG.isDebugEnabled()) {
+                        RETRY_LOG.debug(getRetryLogMessage() + " - waiting " + waitTime + "ms");
+                    }
+
+                    if (!await(waiters, waitTime)) {
+                        break;
+                    }
+
+                    stored = getObjectStore().remove(correlationKey);
+                    timeLeft = deadline - System.currentTimeMillis();
+                }
+            } finally {
+                unregister(objectWaiters, correlationKey, waiters);
+            }
+
+            return stored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads correlation key from test context variables.
+     * @param correlationKeyName
+     * @param context
+     * @return the correlation key or null if not set yet.
+     */
+    private String lookupCorrelationKey(String correlationKeyName, TestContext context) {
+        if (context.getVariables().containsKey(correlationKeyName)) {
+            return context.getVariable(correlationKeyName);
+        }
+
+        return null;
+    }
+
+    /**
+     * Registers new waiting consumer for given key. Caller must hold the lock.
+     * @param waitersByKey
+     * @param key
+     * @return
+     */
+    private Waiters register(Map<String, Waiters> waitersByKey, String key) {
+        Waiters waiters = waitersByKey.get(key);
+        if (waiters == null) {
+            waiters = new Waiters(lock.newCondition());
+            waitersByKey.put(key, waiters);
+        }
+
+        waiters.count++;
+        return waiters;
+    }
+
+    /**
+     * Removes waiting consumer for given key. Caller must hold the lock.
+     * @param waitersByKey
+     * @param key
+     * @param waiters
+     */
+    private void unregister(Map<String, Waiters> waitersByKey, String key, Waiters waiters) {
+        if (--waiters.count == 0) {
+            waitersByKey.remove(key);
+        }
+    }
+
+    /**
+     * Wakes up all consumers waiting on given key.
+     * @param waitersByKey
+     * @param key
+     */
+    private void signal(Map<String, Waiters> waitersByKey, String key) {
+        lock.lock();
+        try {
+            Waiters waiters = waitersByKey.get(key);
+            if (waiters != null) {
+                waiters.condition.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for signal with given timeout. Caller must hold the lock.
+     * @param waiters
+     * @param timeout
+     * @return false if thread was interrupted while waiting.
+     */
+    private boolean await(Waiters waiters, long timeout) {
+        try {
+            waiters.condition.await(timeout, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            RETRY_LOG.warn("Thread interrupted while waiting for correlated object", e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Condition shared by all consumers waiting on the same key.
+     */
+    private static final class Waiters {
+        private final Condition condition;
+        private int count;
+
+        private Waiters(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
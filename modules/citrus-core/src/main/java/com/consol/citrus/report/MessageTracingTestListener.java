@@ -16,6 +16,7 @@
 
 package com.consol.citrus.report;
 
+import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -23,106 +24,306 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.message.RawMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Test listener collects all messages sent and received by Citrus during test execution. Listener
  * writes a trace file with all message content per test case to a output directory.
- * 
- * Note: This class is not thread safe! Parallel test execution leads to behaviour that messages get mixed.
- * Proper correlation to test case is not possible here.
+ *
+ * Messages are not held in memory until the test has finished. Instead each message is passed to a background writer
+ * through a bounded queue and streamed to the trace file of the test. Trace files are kept separate per test context
+ * so parallel tests do not mix their messages. Messages published without test context, for instance by client interceptors,
+ * are added to the trace of the test running in the current thread or to the single running test. Messages of a test that
+ * has already finished are appended to its trace file. When the queue is full the backpressure policy decides whether
+ * the producing thread waits or the message is dropped from the trace. Trace files can optionally be compressed with gzip.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
-public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, MessageListener {
+public class MessageTracingTestListener extends AbstractTestListener implements InitializingBean, DisposableBean, MessageListener {
     
     /** File ending for all message trace files */
     private static final String TRACE_FILE_ENDING = ".msgs";
 
+    /** File ending for compressed message trace files */
+    private static final String GZIP_FILE_ENDING = ".gz";
+
     /** Output directory */
     private Resource outputDirectory = new FileSystemResource("logs/trace/messages/");
-    
-    /** List of messages to trace */
-    private List<String> messages = new ArrayList<String>();
-    
-    /** Locking object for synchronization */
-    private Object lockObject = new Object();
+
+    /** Maximum number of messages waiting to be written */
+    private int queueCapacity = 100;
+
+    /** Behavior when queue is full */
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
+    /** Compress trace files with gzip */
+    private boolean gzip = false;
+
+    /** Write buffer size per trace file */
+    private int bufferSize = 8192;
+
+    /** Trace sessions of currently running tests */
+    private final Map<TestCase, TraceSession> testSessions = new LinkedHashMap<TestCase, TraceSession>();
+
+    /** Trace sessions per test context */
+    private final ConcurrentMap<TestContext, TraceSession> sessions = new ConcurrentHashMap<TestContext, TraceSession>();
+
+    /** Trace session of the test running in current thread */
+    private final ThreadLocal<TraceSession> threadSession = new ThreadLocal<TraceSession>();
+
+    /** Trace files written so far, accessed by writer thread only */
+    private final Set<String> writtenFiles = new HashSet<String>();
+
+    /** Queue of pending trace events, created when the listener is initialized */
+    private volatile BlockingQueue<TraceEvent> queue;
+
+    /** Background writer thread */
+    private Thread writer;
+
+    /** Writer thread running flag */
+    private volatile boolean running = false;
+
+    /** Number of messages dropped due to full queue */
+    private final AtomicLong droppedMessages = new AtomicLong();
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(MessageTracingTestListener.class);
-            
+
+    /**
+     * Backpressure policy applied when trace queue is full.
+     */
+    public enum BackpressurePolicy {
+        /** Producer waits until queue has free capacity */
+        BLOCK,
+        /** Message is not written to the trace file */
+        DROP
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void onTestStart(TestCase test) {
-        synchronized (lockObject) {
-            messages.clear();
+        TraceSession session;
+        synchronized (testSessions) {
+            session = new TraceSession(test.getName(), getTraceFileName(test.getName()), false);
+            testSessions.put(test, session);
         }
+
+        threadSession.set(session);
     }
-    
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void onTestFinish(TestCase test) {
-        if (messages.isEmpty()) {
-            return; // do not write empty message trace file
+        TraceSession session;
+        synchronized (testSessions) {
+            session = testSessions.remove(test);
         }
 
-        BufferedWriter writer = null;
-        
-        try {
-            Resource outputFile = outputDirectory.createRelative(test.getName() + TRACE_FILE_ENDING);
-            
-            writer = new BufferedWriter(new FileWriter(outputFile.getFile()));
-            
-            writer.write(separator() + newLine() + newLine());
-            
-            synchronized (lockObject) {
-                for (String message : messages) {
-                    writer.write(message);
-                    writer.write(newLine() + separator() + newLine() + newLine());
-                }
-            }
-            
-            writer.flush();
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to write message trace to filesystem", e);
-        } finally {
-            if (writer != null) {
-                try {
-                    writer.close();
-                } catch (IOException e) {
-                    log.error("Error while closing message trace file writer", e);
-                }
-            }
+        if (session == null) {
+            return;
+        }
+
+        sessions.values().removeAll(Collections.singleton(session));
+        if (threadSession.get() == session) {
+            threadSession.remove();
+        }
+
+        if (queue == null) {
+            // listener has not been initialized so no trace file has been opened for this test
+            return;
         }
+
+        enqueue(new TraceEvent(session, null), true);
+        session.awaitClosed();
     }
     
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("INBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            trace("INBOUND_MESSAGE:" + newLine() + newLine() + message, context);
         }
     }
 
     @Override
     public void onOutboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("OUTBOUND_MESSAGE:" + newLine() + newLine() + message);
+            trace("OUTBOUND_MESSAGE:" + newLine() + newLine() + message, context);
+        }
+    }
+
+    /**
+     * Adds message trace to the trace session of given test context.
+     * @param messageTrace
+     * @param context
+     */
+    private void trace(String messageTrace, TestContext context) {
+        if (!running) {
+            log.warn("Skip message trace as message tracing writer is not running");
+            return;
+        }
+
+        TraceSession session = context != null ? getSession(context) : getUnboundSession();
+        if (session != null) {
+            enqueue(new TraceEvent(session, messageTrace + newLine() + separator() + newLine() + newLine()), false);
+        }
+    }
+
+    /**
+     * Gets trace session for test context. Binds the test context to the trace session of its running test on first message.
+     * @param context
+     * @return the session or null when context is not bound to a test case.
+     */
+    private TraceSession getSession(TestContext context) {
+        TraceSession session = sessions.get(context);
+        if (session != null) {
+            return session;
+        }
+
+        Object testName = context.getVariables().get(CitrusConstants.TEST_NAME_VARIABLE);
+        if (testName == null) {
+            log.debug("Skip message trace as test context is not bound to a test case");
+            return null;
+        }
+
+        session = threadSession.get();
+        if (session == null || !session.testName.equals(testName.toString())) {
+            session = getRunningSession(testName.toString());
+        }
+
+        if (session == null) {
+            // test has already finished so append message to its trace file
+            return new TraceSession(testName.toString(), testName.toString() + TRACE_FILE_ENDING, true);
+        }
+
+        TraceSession existing = sessions.putIfAbsent(context, session);
+        return existing != null ? existing : session;
+    }
+
+    /**
+     * Gets trace session of running test with given name. Prefers sessions not bound to a test context yet.
+     * @param testName
+     * @return the session or null when no such test is running.
+     */
+    private TraceSession getRunningSession(String testName) {
+        TraceSession candidate = null;
+
+        synchronized (testSessions) {
+            for (TraceSession session : testSessions.values()) {
+                if (session.testName.equals(testName)) {
+                    if (!sessions.containsValue(session)) {
+                        return session;
+                    } else if (candidate == null) {
+                        candidate = session;
+                    }
+                }
             }
         }
+
+        return candidate;
+    }
+
+    /**
+     * Gets trace session for messages without test context. Uses the test running in current thread or
+     * the single running test.
+     * @return the session or null when messages can not be correlated to a test.
+     */
+    private TraceSession getUnboundSession() {
+        TraceSession session = threadSession.get();
+        if (session != null) {
+            return session;
+        }
+
+        synchronized (testSessions) {
+            if (testSessions.size() == 1) {
+                return testSessions.values().iterator().next();
+            }
+        }
+
+        log.debug("Skip message trace as message is not bound to a test context");
+        return null;
+    }
+
+    /**
+     * Gets unique trace file name for test. Parallel tests running the same test
+     * get additional index in their file names.
+     * @param testName
+     * @return
+     */
+    private String getTraceFileName(String testName) {
+        String fileName = testName;
+
+        Set<String> activeFileNames = new HashSet<String>();
+        for (TraceSession session : testSessions.values()) {
+            activeFileNames.add(session.fileName);
+        }
+
+        int index = 1;
+        while (activeFileNames.contains(fileName + TRACE_FILE_ENDING)) {
+            fileName = testName + "_" + index++;
+        }
+
+        return fileName + TRACE_FILE_ENDING;
+    }
+
+    /**
+     * Adds event to the queue applying backpressure policy.
+     * @param event
+     * @param force always wait for free queue capacity.
+     */
+    private void enqueue(TraceEvent event, boolean force) {
+        BlockingQueue<TraceEvent> queue = getQueue();
+
+        if (!force && backpressurePolicy == BackpressurePolicy.DROP) {
+            if (!queue.offer(event)) {
+                long dropped = droppedMessages.incrementAndGet();
+                log.warn(String.format("Message trace queue is full - dropped message from trace of test '%s' (%s messages dropped in total)", event.session.testName, dropped));
+            }
+
+            return;
+        }
+
+        try {
+            while (!queue.offer(event, 100L, TimeUnit.MILLISECONDS)) {
+                if (!writer.isAlive()) {
+                    log.warn(String.format("Message trace writer has stopped - skip message trace of test '%s'", event.session.testName));
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for message trace queue", e);
+        }
+    }
+
+    /**
+     * Gets the queue of pending trace events.
+     * @return
+     */
+    private BlockingQueue<TraceEvent> getQueue() {
+        BlockingQueue<TraceEvent> queue = this.queue;
+        if (queue == null) {
+            throw new CitrusRuntimeException("Message tracing listener is not initialized - call afterPropertiesSet before tracing messages");
+        }
+
+        return queue;
     }
 
     /**
@@ -152,6 +353,52 @@ public class MessageTracingTestListener extends AbstractTestListener implements
                 throw new CitrusRuntimeException("Unable to create output directory structure for message tracing");
             }
         }
+
+        final BlockingQueue<TraceEvent> events = new ArrayBlockingQueue<TraceEvent>(queueCapacity);
+        queue = events;
+        running = true;
+
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (running || !events.isEmpty()) {
+                        TraceEvent event = events.poll(100L, TimeUnit.MILLISECONDS);
+                        if (event != null) {
+                            event.session.process(event.messageTrace);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    log.warn("Message trace writer interrupted", e);
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running = false;
+                }
+            }
+        }, "citrus-message-tracing");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes all pending messages and closes remaining trace files.
+     * @throws Exception
+     */
+    public void destroy() throws Exception {
+        if (!running) {
+            return;
+        }
+
+        synchronized (testSessions) {
+            for (TraceSession session : testSessions.values()) {
+                enqueue(new TraceEvent(session, null), true);
+            }
+            testSessions.clear();
+        }
+        sessions.clear();
+
+        running = false;
+        writer.join();
     }
 
     /**
@@ -161,5 +408,196 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     public void setOutputDirectory(Resource outputDirectory) {
         this.outputDirectory = outputDirectory;
     }
-    
+
+    /**
+     * Sets the maximum number of messages waiting to be written.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the backpressure policy applied when trace queue is full.
+     * @param backpressurePolicy
+     */
+    public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+    /**
+     * Enables gzip compression of trace files.
+     * @param gzip
+     */
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Sets the write buffer size per trace file.
+     * @param bufferSize
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Gets the number of messages dropped due to full trace queue.
+     * @return
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * Queued trace event. Events without message trace close the session.
+     */
+    private static final class TraceEvent {
+        private final TraceSession session;
+        private final String messageTrace;
+
+        private TraceEvent(TraceSession session, String messageTrace) {
+            this.session = session;
+            this.messageTrace = messageTrace;
+        }
+    }
+
+    /**
+     * Trace file of a single test. All write operations are performed by the writer thread. Detached sessions
+     * append a single message to the trace file of an already finished test.
+     */
+    private final class TraceSession {
+        private final String testName;
+        private final String fileName;
+        private final boolean detached;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        private WritableByteChannel channel;
+        private ByteBuffer buffer;
+        private volatile Exception error;
+
+        private TraceSession(String testName, String fileName, boolean detached) {
+            this.testName = testName;
+            this.fileName = fileName;
+            this.detached = detached;
+        }
+
+        /**
+         * Writes message trace to file or closes the file when message trace is null.
+         * @param messageTrace
+         */
+        private void process(String messageTrace) {
+            try {
+                if (messageTrace == null) {
+                    close();
+                } else if (error == null) {
+                    if (channel == null) {
+                        open();
+                    }
+
+                    write(messageTrace);
+
+                    if (detached) {
+                        close();
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                if (messageTrace == null) {
+                    closed.countDown();
+                }
+            }
+        }
+
+        private void fail(Exception e) {
+            log.error("Failed to write message trace to filesystem", e);
+            error = e;
+            closeQuietly();
+        }
+
+        private void open() throws IOException {
+            String traceFileName = gzip ? fileName + GZIP_FILE_ENDING : fileName;
+            boolean append = !writtenFiles.add(traceFileName);
+
+            File traceFile = outputDirectory.createRelative(traceFileName).getFile();
+            FileOutputStream fileOutputStream = new FileOutputStream(traceFile, append);
+
+            if (gzip) {
+                channel = Channels.newChannel(new GZIPOutputStream(fileOutputStream, bufferSize));
+            } else {
+                channel = fileOutputStream.getChannel();
+            }
+
+            buffer = ByteBuffer.allocate(bufferSize);
+            if (!append) {
+                write(separator() + newLine() + newLine());
+            }
+        }
+
+        private void write(String text) throws IOException {
+            byte[] bytes = text.getBytes(Charset.defaultCharset());
+
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void close() throws IOException {
+            if (channel != null && error == null) {
+                flush();
+                channel.close();
+                channel = null;
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                log.error("Error while closing message trace file", e);
+            } finally {
+                channel = null;
+            }
+        }
+
+        /**
+         * Waits for the writer to close the trace file.
+         */
+        private void awaitClosed() {
+            try {
+                while (!closed.await(100L, TimeUnit.MILLISECONDS)) {
+                    if (!writer.isAlive() && closed.getCount() > 0) {
+                        throw new CitrusRuntimeException("Message trace writer has stopped before trace file was written");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CitrusRuntimeException("Interrupted while waiting for message trace to be written", e);
+            }
+
+            if (error != null) {
+                throw new CitrusRuntimeException("Failed to write message trace to filesystem", error);
+            }
+        }
+    }
 }
@@ -16,7 +16,6 @@
 
 package com.consol.citrus.script;
 
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 
 import org.slf4j.Logger;
@@ -29,9 +28,6 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.validation.script.TemplateBasedScriptBuilder;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
-
 /**
  * Action executes groovy scripts either specified inline or from external file resource.
  * 
@@ -51,6 +47,9 @@ public class GroovyAction extends AbstractTestAction {
     
     /** Manage automatic groovy template usage */
     private boolean useScriptTemplate = true;
+
+    /** Cache of compiled script classes */
+    private GroovyScriptCache scriptCache = GroovyScriptCache.getDefault();
     
     /** Executes a script using the TestContext */
     public interface ScriptExecutor {
@@ -70,34 +69,27 @@ public class GroovyAction extends AbstractTestAction {
     @Override
     public void doExecute(TestContext context) {
         try {
-            GroovyClassLoader loader = AccessController.doPrivileged(new PrivilegedAction<GroovyClassLoader>() {
-                public GroovyClassLoader run() {
-                    ClassLoader parent = getClass().getClassLoader();
-                    return new GroovyClassLoader(parent);
-                }
-            });
-
             assertScriptProvided();
 
             String rawCode = StringUtils.hasText(script) ? script.trim() : FileUtils.readToString(FileUtils.getFileResource(scriptResourcePath, context));
             String code = context.replaceDynamicContentInString(rawCode.trim());
 
-            // load groovy code
-            Class<?> groovyClass = loader.parseClass(code);
-            // Instantiate an object from groovy code
-            GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
+            // load groovy code from compiled script cache
+            Class<?> groovyClass = scriptCache.getScriptClass(code);
 
             // only apply default script template in case we have feature enabled and code is not a class, too
-            if (useScriptTemplate && groovyObject.getClass().getSimpleName().startsWith("script")) {
+            if (useScriptTemplate && groovyClass.getSimpleName().startsWith("script")) {
                 // build new script with surrounding template
                 code = TemplateBasedScriptBuilder.fromTemplateResource(FileUtils.getFileResource(scriptTemplatePath, context))
                                                  .withCode(code)
                                                  .build();
 
-                groovyClass = loader.parseClass(code);
-                groovyObject = (GroovyObject) groovyClass.newInstance();
+                groovyClass = scriptCache.getScriptClass(code);
             }
 
+            // Instantiate an object from groovy code
+            GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
+
             if (log.isDebugEnabled()) {
                 log.debug("Executing Groovy script:\n" + code);
             }
@@ -124,6 +116,22 @@ public class GroovyAction extends AbstractTestAction {
         }
     }
 
+    /**
+     * Sets the compiled script cache.
+     * @param scriptCache
+     */
+    public void setScriptCache(GroovyScriptCache scriptCache) {
+        this.scriptCache = scriptCache;
+    }
+
+    /**
+     * Gets the compiled script cache.
+     * @return
+     */
+    public GroovyScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
     /**
      * Set the groovy script code.
      * @param script the script to set
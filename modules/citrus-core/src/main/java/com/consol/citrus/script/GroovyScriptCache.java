@@ -0,0 +1,243 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.script;
+
+import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.Charset;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of compiled Groovy script classes. Scripts are identified by a hash of the complete script source,
+ * which includes the script template, so executing the same script again only has to instantiate the cached class.
+ *
+ * Each cached script is compiled with its own class loader which also holds closures and inner classes generated
+ * by the compilation. Least recently used scripts are evicted when the cache exceeds its maximum size and their
+ * class loader is discarded so all script classes can be garbage collected. A maximum size of zero or less disables
+ * caching and compiles each script with a new class loader.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public class GroovyScriptCache {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(GroovyScriptCache.class);
+
+    /** System property setting the maximum size of the default cache */
+    public static final String MAX_SIZE_PROPERTY = "citrus.groovy.script.cache.size";
+
+    /** Default maximum number of cached script classes */
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    /** Shared default cache instance */
+    private static final GroovyScriptCache DEFAULT_CACHE = new GroovyScriptCache(getDefaultMaxSize());
+
+    /** Maximum number of cached script classes */
+    private final int maxSize;
+
+    /** Compiled scripts by source hash in access order */
+    private final Map<String, CachedScript> scriptClasses;
+
+    /** Cache statistics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructor using maximum cache size.
+     * @param maxSize
+     */
+    public GroovyScriptCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.scriptClasses = new LinkedHashMap<String, CachedScript>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedScript> eldest) {
+                if (size() > GroovyScriptCache.this.maxSize) {
+                    eldest.getValue().discard();
+                    evictions.incrementAndGet();
+
+                    if (log.isDebugEnabled()) {
+                        log.debug("Evicted Groovy script class from cache: " + eldest.getValue().scriptClass.getName());
+                    }
+
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the shared default cache instance.
+     * @return
+     */
+    public static GroovyScriptCache getDefault() {
+        return DEFAULT_CACHE;
+    }
+
+    /**
+     * Gets compiled script class for given script source. Compiles the script on first usage.
+     * @param script the complete script source.
+     * @return
+     * @throws CompilationFailedException
+     */
+    public Class<?> getScriptClass(String script) throws CompilationFailedException {
+        if (maxSize <= 0) {
+            misses.incrementAndGet();
+            return createClassLoader().parseClass(script);
+        }
+
+        String key = DigestUtils.md5DigestAsHex(script.getBytes(Charset.forName("UTF-8")));
+
+        synchronized (scriptClasses) {
+            CachedScript cachedScript = scriptClasses.get(key);
+            if (cachedScript != null) {
+                hits.incrementAndGet();
+                return cachedScript.scriptClass;
+            }
+        }
+
+        misses.incrementAndGet();
+        GroovyClassLoader classLoader = createClassLoader();
+        CachedScript compiled = new CachedScript(classLoader, classLoader.parseClass(script));
+
+        synchronized (scriptClasses) {
+            CachedScript cachedScript = scriptClasses.get(key);
+            if (cachedScript != null) {
+                // compiled concurrently by another thread
+                compiled.discard();
+                return cachedScript.scriptClass;
+            }
+
+            scriptClasses.put(key, compiled);
+        }
+
+        return compiled.scriptClass;
+    }
+
+    /**
+     * Removes all cached script classes.
+     */
+    public void clear() {
+        synchronized (scriptClasses) {
+            for (CachedScript cachedScript : scriptClasses.values()) {
+                cachedScript.discard();
+            }
+
+            scriptClasses.clear();
+        }
+    }
+
+    /**
+     * Creates new Groovy class loader.
+     * @return
+     */
+    private static GroovyClassLoader createClassLoader() {
+        return AccessController.doPrivileged(new PrivilegedAction<GroovyClassLoader>() {
+            public GroovyClassLoader run() {
+                return new GroovyClassLoader(GroovyScriptCache.class.getClassLoader());
+            }
+        });
+    }
+
+    /**
+     * Reads maximum size of default cache from system property. Falls back to default size if property value
+     * is not a number.
+     * @return
+     */
+    private static int getDefaultMaxSize() {
+        String maxSize = System.getProperty(MAX_SIZE_PROPERTY, String.valueOf(DEFAULT_MAX_SIZE));
+        try {
+            return Integer.valueOf(maxSize.trim());
+        } catch (NumberFormatException e) {
+            log.warn(String.format("Invalid Groovy script cache size '%s' - using default size %s", maxSize, DEFAULT_MAX_SIZE));
+            return DEFAULT_MAX_SIZE;
+        }
+    }
+
+    /**
+     * Gets the number of cached script classes.
+     * @return
+     */
+    public int getSize() {
+        synchronized (scriptClasses) {
+            return scriptClasses.size();
+        }
+    }
+
+    /**
+     * Gets the maximum number of cached script classes.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of script executions that reused a cached script class.
+     * @return
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of script compilations.
+     * @return
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of evicted script classes.
+     * @return
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Compiled script class with the class loader holding all classes generated by the compilation.
+     */
+    private static final class CachedScript {
+        private final GroovyClassLoader classLoader;
+        private final Class<?> scriptClass;
+
+        private CachedScript(GroovyClassLoader classLoader, Class<?> scriptClass) {
+            this.classLoader = classLoader;
+            this.scriptClass = scriptClass;
+        }
+
+        /**
+         * Removes all classes of this script from its class loader so they can be garbage collected.
+         */
+        private void discard() {
+            classLoader.clearCache();
+        }
+    }
+}
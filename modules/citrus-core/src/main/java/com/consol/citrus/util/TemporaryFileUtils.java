@@ -0,0 +1,130 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.lang.ref.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages temporary files that back message payload resources. Temporary files are deleted when the resource is
+ * released explicitly or as soon as the resource is no longer referenced. Files still in use are removed
+ * when the JVM shuts down.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public abstract class TemporaryFileUtils {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(TemporaryFileUtils.class);
+
+    /** Tracked temporary files by file */
+    private static final Map<File, TemporaryFileReference> TEMPORARY_FILES = new ConcurrentHashMap<>();
+
+    /** Queue of temporary file resources no longer referenced */
+    private static final ReferenceQueue<Resource> UNREFERENCED = new ReferenceQueue<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (File file : TEMPORARY_FILES.keySet()) {
+                    delete(file);
+                }
+            }
+        }, "citrus-temporary-file-cleanup"));
+    }
+
+    /**
+     * Prevent instantiation.
+     */
+    private TemporaryFileUtils() {
+    }
+
+    /**
+     * Creates resource on given temporary file. The file is deleted as soon as the resource is released
+     * or no longer referenced.
+     * @param file
+     * @return
+     */
+    public static Resource track(File file) {
+        expungeUnreferenced();
+
+        Resource resource = new FileSystemResource(file);
+        TEMPORARY_FILES.put(file, new TemporaryFileReference(resource, file));
+        return resource;
+    }
+
+    /**
+     * Deletes temporary file of given resource. Resources not created by this class are left untouched.
+     * @param resource
+     */
+    public static void release(Resource resource) {
+        if (resource instanceof FileSystemResource) {
+            File file = ((FileSystemResource) resource).getFile();
+            TemporaryFileReference reference = TEMPORARY_FILES.remove(file);
+            if (reference != null) {
+                reference.clear();
+                delete(file);
+            }
+        }
+
+        expungeUnreferenced();
+    }
+
+    /**
+     * Deletes temporary files of resources that are no longer referenced.
+     */
+    public static void expungeUnreferenced() {
+        Reference<? extends Resource> reference;
+        while ((reference = UNREFERENCED.poll()) != null) {
+            File file = ((TemporaryFileReference) reference).file;
+            if (TEMPORARY_FILES.remove(file, reference)) {
+                delete(file);
+            }
+        }
+    }
+
+    /**
+     * Deletes temporary file.
+     * @param file
+     */
+    private static void delete(File file) {
+        if (file.exists() && !file.delete()) {
+            log.warn("Failed to delete temporary file: " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Phantom reference on temporary file resource remembering the file to delete.
+     */
+    private static final class TemporaryFileReference extends PhantomReference<Resource> {
+        private final File file;
+
+        private TemporaryFileReference(Resource resource, File file) {
+            super(resource, UNREFERENCED);
+            this.file = file;
+        }
+    }
+}
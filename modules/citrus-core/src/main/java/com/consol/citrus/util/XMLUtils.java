@@ -18,6 +18,9 @@ package com.consol.citrus.util;
 
 import com.consol.citrus.CitrusConstants;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessagePayloadParser;
+import com.consol.citrus.message.MessagePayloadUtils;
 import com.consol.citrus.xml.LSResolverImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +53,14 @@ public final class XMLUtils {
     public static final String VALIDATE_IF_SCHEMA = "validate-if-schema";
     public static final String RESOURCE_RESOLVER = "resource-resolver";
 
+    /** Message payload parser creating DOM documents, also used as message payload cache key */
+    private static final MessagePayloadParser<Document> DOM_PAYLOAD_PARSER = new MessagePayloadParser<Document>() {
+        @Override
+        public Document parse(Message message) {
+            return parseMessagePayload(message.getPayload(String.class));
+        }
+    };
+
     /** DOM implementation */
     private static DOMImplementationRegistry registry = null;
     private static DOMImplementationLS domImpl = null;
@@ -371,6 +382,17 @@ public final class XMLUtils {
         return namespaces;
     }
 
+    /**
+     * Gets DOM document for message payload. Document is parsed once and cached in the message
+     * until its payload changes, so callers must not modify the returned document.
+     * @param message
+     * @throws CitrusRuntimeException
+     * @return DOM document.
+     */
+    public static Document parseMessagePayload(Message message) {
+        return MessagePayloadUtils.getParsedPayload(message, DOM_PAYLOAD_PARSER);
+    }
+
     /**
      * Parse message payload with DOM implementation.
      * @param messagePayload
@@ -21,6 +21,7 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.*;
 import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.validation.interceptor.MessageConstructionInterceptor;
+import com.consol.citrus.validation.interceptor.MessagePayloadTree;
 import com.consol.citrus.variable.dictionary.DataDictionary;
 
 import java.lang.reflect.Constructor;
@@ -61,15 +62,20 @@ public abstract class AbstractMessageContentBuilder implements MessageContentBui
             Message message = new DefaultMessage(payload, buildMessageHeaders(context));
 
             if (payload != null) {
+                // run all interceptors on shared payload tree and serialize payload once
+                MessagePayloadTree payloadTree = new MessagePayloadTree(message, messageType);
+
                 if (dataDictionary != null) {
-                    message = dataDictionary.interceptMessageConstruction(message, messageType, context);
+                    payloadTree.intercept(dataDictionary, context);
                 }
 
-                message = context.getMessageConstructionInterceptors().interceptMessageConstruction(message, messageType, context);
+                payloadTree.intercept(context.getMessageConstructionInterceptors(), context);
 
                 for (MessageConstructionInterceptor modifyer : messageInterceptors) {
-                    message = modifyer.interceptMessageConstruction(message, messageType, context);
+                    payloadTree.intercept(modifyer, context);
                 }
+
+                message = payloadTree.getMessage();
             }
 
             for (String headerResourcePath : headerResources) {
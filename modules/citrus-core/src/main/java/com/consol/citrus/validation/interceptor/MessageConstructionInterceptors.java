@@ -26,19 +26,25 @@ import java.util.List;
 
 /**
  * List of global message construction interceptors that modify message payload and message headers. User just has to add
- * interceptor implementation as bean to the Spring application context.
+ * interceptor implementation as bean to the Spring application context. Interceptors run as pipeline on a shared
+ * payload tree so the message payload is parsed and serialized only once.
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class MessageConstructionInterceptors implements MessageConstructionInterceptor {
+public class MessageConstructionInterceptors implements MessagePayloadTreeInterceptor {
 
     @Autowired(required = false)
     private List<MessageConstructionInterceptor> messageConstructionInterceptors = new ArrayList<MessageConstructionInterceptor>();
 
     @Override
     public Message interceptMessageConstruction(Message message, String messageType, TestContext context) {
-        Message interceptedMessage = message;
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, messageType);
+        interceptPayloadTree(payloadTree, context);
+        return payloadTree.getMessage();
+    }
 
+    @Override
+    public void interceptPayloadTree(MessagePayloadTree payloadTree, TestContext context) {
         for (MessageConstructionInterceptor interceptor : messageConstructionInterceptors) {
             if (interceptor instanceof DataDictionary &&
                     !((DataDictionary) interceptor).isGlobalScope()) {
@@ -46,10 +52,8 @@ public class MessageConstructionInterceptors implements MessageConstructionInter
                 continue;
             }
 
-            interceptedMessage = interceptor.interceptMessageConstruction(interceptedMessage, messageType, context);
+            payloadTree.intercept(interceptor, context);
         }
-
-        return interceptedMessage;
     }
 
     @Override
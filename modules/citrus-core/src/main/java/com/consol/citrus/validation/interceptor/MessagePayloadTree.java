@@ -0,0 +1,156 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.interceptor;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.util.XMLUtils;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+import org.w3c.dom.Document;
+
+/**
+ * Shared parsed representation of a message payload during message construction. Interceptors supporting
+ * payload trees modify the DOM document or JSON object tree in place, so the payload is parsed once for a sequence of
+ * interceptors and serialized only once when the message is requested. Interceptors without tree support receive the
+ * serialized message as usual.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public class MessagePayloadTree {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(MessagePayloadTree.class);
+
+    /** The message under construction */
+    private Message message;
+
+    /** The message type */
+    private final String messageType;
+
+    /** Parsed XML payload not yet serialized to message */
+    private Document document;
+
+    /** Parsed JSON payload not yet serialized to message */
+    private Object jsonData;
+
+    /**
+     * Default constructor using message and message type.
+     * @param message
+     * @param messageType
+     */
+    public MessagePayloadTree(Message message, String messageType) {
+        this.message = message;
+        this.messageType = messageType;
+    }
+
+    /**
+     * Runs given interceptor on this payload tree. Interceptors supporting payload trees work on the parsed payload
+     * directly. All other interceptors get the serialized message and may replace it.
+     * @param interceptor
+     * @param context
+     */
+    public void intercept(MessageConstructionInterceptor interceptor, TestContext context) {
+        if (interceptor instanceof MessagePayloadTreeInterceptor) {
+            if (interceptor.supportsMessageType(messageType)) {
+                ((MessagePayloadTreeInterceptor) interceptor).interceptPayloadTree(this, context);
+            } else if (log.isDebugEnabled()) {
+                log.debug(String.format("Message interceptor type '%s' skipped for message type: %s", interceptor.getClass().getSimpleName(), messageType));
+            }
+        } else {
+            message = interceptor.interceptMessageConstruction(getMessage(), messageType, context);
+        }
+    }
+
+    /**
+     * Checks if message payload is empty. Parsed payload trees are never empty.
+     * @return
+     */
+    public boolean isEmpty() {
+        if (document != null || jsonData != null) {
+            return false;
+        }
+
+        return message.getPayload() == null || !StringUtils.hasText(message.getPayload(String.class));
+    }
+
+    /**
+     * Gets the payload as DOM document. Payload is parsed on first access and modifications on the document
+     * are written back to the message once the message is requested.
+     * @return
+     */
+    public Document getDocument() {
+        if (document == null) {
+            flush();
+            document = XMLUtils.parseMessagePayload(message.getPayload(String.class));
+        }
+
+        return document;
+    }
+
+    /**
+     * Gets the payload as JSON object tree. Payload is parsed on first access and modifications on the object tree
+     * are written back to the message once the message is requested.
+     * @return
+     * @throws ParseException
+     */
+    public Object getJsonData() throws ParseException {
+        if (jsonData == null) {
+            flush();
+            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+            jsonData = parser.parse(message.getPayload(String.class));
+        }
+
+        return jsonData;
+    }
+
+    /**
+     * Gets the message with all payload tree modifications serialized to the message payload.
+     * @return
+     */
+    public Message getMessage() {
+        flush();
+        return message;
+    }
+
+    /**
+     * Serializes pending payload tree to message payload.
+     */
+    private void flush() {
+        if (document != null) {
+            message.setPayload(XMLUtils.serialize(document));
+            document = null;
+        }
+
+        if (jsonData != null) {
+            message.setPayload(jsonData.toString());
+            jsonData = null;
+        }
+    }
+
+    /**
+     * Gets the message type.
+     * @return
+     */
+    public String getMessageType() {
+        return messageType;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.interceptor;
+
+import com.consol.citrus.context.TestContext;
+
+/**
+ * Message construction interceptor able to work on the shared parsed payload tree. Avoids parsing and serializing
+ * the message payload for each interceptor in a sequence of interceptors.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public interface MessagePayloadTreeInterceptor extends MessageConstructionInterceptor {
+
+    /**
+     * Intercept the message construction working on the parsed payload tree. Only called in case
+     * interceptor supports the message type of the payload tree.
+     * @param payloadTree the shared payload tree to be modified.
+     * @param context the current test context.
+     */
+    void interceptPayloadTree(MessagePayloadTree payloadTree, TestContext context);
+}
@@ -22,12 +22,12 @@ import com.consol.citrus.exceptions.UnknownElementException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
 import com.consol.citrus.validation.interceptor.AbstractMessageConstructionInterceptor;
+import com.consol.citrus.validation.interceptor.MessagePayloadTree;
+import com.consol.citrus.validation.interceptor.MessagePayloadTreeInterceptor;
 import com.jayway.jsonpath.*;
-import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -36,7 +36,7 @@ import java.util.Map;
  * @author Christoph Deppisch
  * @since 2.3
  */
-public class JsonPathMessageConstructionInterceptor extends AbstractMessageConstructionInterceptor {
+public class JsonPathMessageConstructionInterceptor extends AbstractMessageConstructionInterceptor implements MessagePayloadTreeInterceptor {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(JsonPathMessageConstructionInterceptor.class);
@@ -62,22 +62,27 @@ public class JsonPathMessageConstructionInterceptor extends AbstractMessageConst
 
     /**
      * Intercept the message payload construction and replace elements identified
-     * via XPath expressions.
+     * via JSONPath expressions.
      *
-     * Method parses the message payload to DOM document representation, therefore message payload
-     * needs to be XML here.
+     * Method parses the message payload to JSON object representation, therefore message payload
+     * needs to be JSON here.
      */
     @Override
     public Message interceptMessage(Message message, String messageType, TestContext context) {
-        if (message.getPayload() == null || !StringUtils.hasText(message.getPayload(String.class))) {
-            return message;
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, messageType);
+        interceptPayloadTree(payloadTree, context);
+        return payloadTree.getMessage();
+    }
+
+    @Override
+    public void interceptPayloadTree(MessagePayloadTree payloadTree, TestContext context) {
+        if (payloadTree.isEmpty()) {
+            return;
         }
 
         String jsonPathExpression = null;
         try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object jsonData = parser.parse(message.getPayload(String.class));
-            DocumentContext documentContext = JsonPath.parse(jsonData);
+            DocumentContext documentContext = JsonPath.parse(payloadTree.getJsonData());
 
             for (Map.Entry<String, String> entry : jsonPathExpressions.entrySet()) {
                 jsonPathExpression = entry.getKey();
@@ -89,15 +94,11 @@ public class JsonPathMessageConstructionInterceptor extends AbstractMessageConst
                     log.debug("Element " + jsonPathExpression + " was set to value: " + valueExpression);
                 }
             }
-
-            message.setPayload(jsonData.toString());
         } catch (ParseException e) {
             throw new CitrusRuntimeException("Failed to parse JSON text", e);
         } catch (PathNotFoundException e) {
             throw new UnknownElementException(String.format("Could not find element for expression: %s", jsonPathExpression), e);
         }
-
-        return message;
     }
 
     @Override
@@ -17,7 +17,6 @@
 package com.consol.citrus.validation.json;
 
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
@@ -25,8 +24,6 @@ import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.ValidationUtils;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -55,8 +52,7 @@ public class JsonPathMessageValidator extends AbstractMessageValidator<JsonPathM
 
         String jsonPathExpression = null;
         try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(receivedMessage.getPayload(String.class));
+            Object receivedJson = JsonPayloadParser.parseMessagePayload(receivedMessage);
             ReadContext readerContext = JsonPath.parse(receivedJson);
 
             for (Map.Entry<String, String> entry : validationContext.getJsonPathExpressions().entrySet()) {
@@ -84,8 +80,6 @@ public class JsonPathMessageValidator extends AbstractMessageValidator<JsonPathM
             }
 
             log.info("JSONPath element validation finished successfully: All elements OK");
-        } catch (ParseException e) {
-            throw new CitrusRuntimeException("Failed to parse JSON text", e);
         } catch (PathNotFoundException e) {
             throw new ValidationException(String.format("Failed to validate JSON element for path: %s", jsonPathExpression), e);
         }
@@ -22,8 +22,6 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.variable.VariableExtractor;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -64,9 +62,7 @@ public class JsonPathVariableExtractor implements VariableExtractor {
                     log.debug("Evaluating JSONPath expression: " + jsonPathExpression);
                 }
 
-                JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-                Object receivedJson = parser.parse(message.getPayload(String.class));
-                ReadContext readerContext = JsonPath.parse(receivedJson);
+                ReadContext readerContext = JsonPath.parse(JsonPayloadParser.parseMessagePayload(message));
                 String value;
 
                 if (JsonPath.isPathDefinite(jsonPathExpression)) {
@@ -82,8 +78,6 @@ public class JsonPathVariableExtractor implements VariableExtractor {
 
                 context.setVariable(variableName, value);
             }
-        } catch (ParseException e) {
-            throw new CitrusRuntimeException("Failed to parse JSON text", e);
         } catch (PathNotFoundException e) {
             throw new UnknownElementException(String.format("Could not find element for expression: %s", jsonPathExpression), e);
         }
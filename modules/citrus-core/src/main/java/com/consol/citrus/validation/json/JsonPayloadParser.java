@@ -0,0 +1,80 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessagePayloadParser;
+import com.consol.citrus.message.MessagePayloadUtils;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+/**
+ * Message payload parser creating JSON object trees. Shared instance is used as key for the parsed
+ * JSON representation cached in messages.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public final class JsonPayloadParser implements MessagePayloadParser<Object> {
+
+    /** Shared parser instance */
+    public static final JsonPayloadParser INSTANCE = new JsonPayloadParser();
+
+    /** Thread bound JSON parser as parser instances are not thread safe */
+    private static final ThreadLocal<JSONParser> parser = new ThreadLocal<JSONParser>() {
+        @Override
+        protected JSONParser initialValue() {
+            return new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+        }
+    };
+
+    /**
+     * Prevent instantiation.
+     */
+    private JsonPayloadParser() {
+    }
+
+    @Override
+    public Object parse(Message message) {
+        try {
+            return parseJson(message.getPayload(String.class));
+        } catch (ParseException e) {
+            throw new CitrusRuntimeException("Failed to parse JSON text", e);
+        }
+    }
+
+    /**
+     * Gets JSON object tree for message payload. Object tree is parsed once and cached in the message
+     * until its payload changes, so callers must not modify the returned objects.
+     * @param message
+     * @return
+     */
+    public static Object parseMessagePayload(Message message) {
+        return MessagePayloadUtils.getParsedPayload(message, INSTANCE);
+    }
+
+    /**
+     * Parses JSON text with thread bound parser.
+     * @param jsonText
+     * @return
+     * @throws ParseException
+     */
+    public static Object parseJson(String jsonText) throws ParseException {
+        return parser.get().parse(jsonText);
+    }
+}
@@ -25,13 +25,15 @@ import com.consol.citrus.message.MessageType;
 import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.ValidationUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.ReadContext;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
-import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
@@ -53,6 +55,15 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
     /** Should also check exact amount of object fields */
     private boolean strict = true;
 
+    /** Root path of JSON documents */
+    private static final String ROOT_PATH = "$";
+
+    /** Root path of received JSON arrays wrapped in temporary JSON object */
+    private static final String ARRAY_ROOT_PATH = "$['array']";
+
+    /** JsonPath configuration evaluating expressions to normalized paths of selected entries */
+    private static final Configuration PATH_LIST_CONFIGURATION = Configuration.builder().options(Option.AS_PATH_LIST).build();
+
     @Override
     @SuppressWarnings("unchecked")
     public void validateMessagePayload(Message receivedMessage, Message controlMessage,
@@ -76,20 +87,19 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
                 		"expected message contents, but received empty message!");
             }
             
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-        
-            Object receivedJson = parser.parse(receivedJsonText);
-            ReadContext readContext = JsonPath.parse(receivedJson);
-            Object controlJson = parser.parse(controlJsonText);
+            Object receivedJson = JsonPayloadParser.parseMessagePayload(receivedMessage);
+            Object controlJson = JsonPayloadParser.parseJson(controlJsonText);
             if (receivedJson instanceof JSONObject) {
-                validateJson((JSONObject) receivedJson, (JSONObject) controlJson, validationContext, context, readContext);
+                validateJson((JSONObject) receivedJson, (JSONObject) controlJson, validationContext, context,
+                        ROOT_PATH, resolveIgnoredPaths(validationContext.getIgnoreExpressions(), receivedJson, ROOT_PATH));
             } else if (receivedJson instanceof JSONArray) {
                 JSONObject tempReceived = new JSONObject();
                 tempReceived.put("array", receivedJson);
                 JSONObject tempControl = new JSONObject();
                 tempControl.put("array", controlJson);
                 
-                validateJson(tempReceived, tempControl, validationContext, context, readContext);
+                validateJson(tempReceived, tempControl, validationContext, context,
+                        ROOT_PATH, resolveIgnoredPaths(validationContext.getIgnoreExpressions(), receivedJson, ARRAY_ROOT_PATH));
             } else {
                 throw new CitrusRuntimeException("Unsupported json type " + receivedJson.getClass());
             }
@@ -112,8 +122,25 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
      * @param context the current test context.
      * @param readContext the JSONPath read context.
      */
-    @SuppressWarnings("rawtypes")
     public void validateJson(JSONObject receivedJson, JSONObject controlJson, JsonMessageValidationContext validationContext, TestContext context, ReadContext readContext) {
+        validateJson(receivedJson, controlJson, validationContext, context,
+                ROOT_PATH, resolveIgnoredPaths(validationContext.getIgnoreExpressions(), readContext.json(), ROOT_PATH));
+    }
+
+    /**
+     * Validates JSON text with comparison to expected control JSON object. Entries are ignored with ignore placeholder
+     * or when their normalized path is one of the given ignored paths.
+     *
+     * @param receivedJson the received JSON text object.
+     * @param controlJson the expected control JSON text.
+     * @param validationContext the JSON message validation context.
+     * @param context the current test context.
+     * @param path the normalized path of the received JSON object.
+     * @param ignoredPaths normalized paths of received JSON entries selected by ignore expressions.
+     */
+    @SuppressWarnings("rawtypes")
+    private void validateJson(JSONObject receivedJson, JSONObject controlJson, JsonMessageValidationContext validationContext, TestContext context,
+                              String path, Set<String> ignoredPaths) {
         if (strict) {
             Assert.isTrue(controlJson.size() == receivedJson.size(),
                           ValidationUtils.buildValueMismatchErrorMessage("Number of JSON entries not equal", controlJson.size(), receivedJson.size()));
@@ -128,6 +155,8 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
             Assert.isTrue(receivedJson.containsKey(controlKey),
                     "Missing JSON entry: + '" + controlKey + "'");
 
+            String entryPath = ignoredPaths.isEmpty() ? path : path + "['" + controlKey + "']";
+
             if (controlValue == null) {
                 Assert.isTrue(receivedValue == null,
                         ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlKey + "'",
@@ -141,7 +170,7 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
             }
 
             // check if entry is ignored by placeholder
-            if (isIgnored(controlJsonEntry, receivedValue, validationContext.getIgnoreExpressions(), readContext)) {
+            if (isIgnored(controlJsonEntry, entryPath, ignoredPaths)) {
                 continue;
             }
 
@@ -158,7 +187,7 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
                                 JSONObject.class.getSimpleName(), receivedValue.getClass().getSimpleName()));
 
                 validateJson((JSONObject) receivedValue,
-                        (JSONObject) controlValue, validationContext, context, readContext);
+                        (JSONObject) controlValue, validationContext, context, entryPath, ignoredPaths);
             } else if (controlValue instanceof JSONArray) {
                 Assert.isTrue(receivedValue instanceof JSONArray,
                         ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlKey + "'",
@@ -177,13 +206,21 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
                                     jsonArrayControl.size(), jsonArrayReceived.size()));
                 }
                 for (int i = 0; i < jsonArrayControl.size(); i++) {
+                    String elementPath = ignoredPaths.isEmpty() ? entryPath : entryPath + "[" + i + "]";
+                    if (ignoredPaths.contains(elementPath)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("JSON entry: '" + controlKey + "[" + i + "]' is ignored - skip value validation");
+                        }
+                        continue;
+                    }
+
                     if (jsonArrayControl.get(i).getClass().isAssignableFrom(JSONObject.class)) {
                         Assert.isTrue(jsonArrayReceived.get(i).getClass().isAssignableFrom(JSONObject.class),
                                 ValidationUtils.buildValueMismatchErrorMessage("Value types not equal for entry: '" + jsonArrayControl.get(i) + "'",
                                         JSONObject.class.getName(), jsonArrayReceived.get(i).getClass().getName()));
 
                         validateJson((JSONObject) jsonArrayReceived.get(i),
-                                (JSONObject) jsonArrayControl.get(i), validationContext, context, readContext);
+                                (JSONObject) jsonArrayControl.get(i), validationContext, context, elementPath, ignoredPaths);
                     } else {
                         Assert.isTrue(jsonArrayControl.get(i).equals(jsonArrayReceived.get(i)),
                                 ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + jsonArrayControl.get(i) + "'",
@@ -204,43 +241,104 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
 
     /**
      * Checks if given element node is either on ignore list or
-     * contains @ignore@ tag inside control message
+     * contains @ignore@ tag inside control message. Ignore expressions are evaluated on each call and received
+     * values are compared by equality, so entries having the same value as an ignored entry are ignored, too.
      * @param controlJsonEntry
      * @param receivedJson
      * @param ignoreExpressions
      * @param readContext
      * @return
+     * @deprecated ignore expressions are resolved to entry paths once per message in {@link #validateJson(JSONObject, JSONObject, JsonMessageValidationContext, TestContext, ReadContext)}
      */
+    @Deprecated
     public boolean isIgnored(Map.Entry controlJsonEntry, Object receivedJson, Set<String> ignoreExpressions, ReadContext readContext) {
-        if (controlJsonEntry.getValue().toString().trim().equals(CitrusConstants.IGNORE_PLACEHOLDER)) {
-            if (log.isDebugEnabled()) {
-                log.debug("JSON entry: '" + controlJsonEntry.getKey() + "' is ignored by placeholder '" +
-                        CitrusConstants.IGNORE_PLACEHOLDER + "'");
-            }
+        if (isIgnoredByPlaceholder(controlJsonEntry)) {
             return true;
         }
 
         for (String jsonPathExpression : ignoreExpressions) {
             Object foundEntry = readContext.read(jsonPathExpression);
 
-            if (foundEntry instanceof JSONArray && ((JSONArray) foundEntry).contains(receivedJson)) {
+            if ((foundEntry instanceof JSONArray && ((JSONArray) foundEntry).contains(receivedJson)) ||
+                    (foundEntry != null && foundEntry.equals(receivedJson))) {
                 if (log.isDebugEnabled()) {
                     log.debug("JSON entry: '" + controlJsonEntry.getKey() + "' is ignored - skip value validation");
                 }
                 return true;
             }
+        }
 
-            if (foundEntry != null && foundEntry.equals(receivedJson)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("JSON entry: '" + controlJsonEntry.getKey() + "' is ignored - skip value validation");
-                }
-                return true;
+        return false;
+    }
+
+    /**
+     * Checks if given element node is either selected by ignore expressions or
+     * contains @ignore@ tag inside control message.
+     * @param controlJsonEntry
+     * @param entryPath
+     * @param ignoredPaths
+     * @return
+     */
+    private boolean isIgnored(Map.Entry controlJsonEntry, String entryPath, Set<String> ignoredPaths) {
+        if (isIgnoredByPlaceholder(controlJsonEntry)) {
+            return true;
+        }
+
+        if (ignoredPaths.contains(entryPath)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlJsonEntry.getKey() + "' is ignored - skip value validation");
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if control entry contains @ignore@ tag.
+     * @param controlJsonEntry
+     * @return
+     */
+    private boolean isIgnoredByPlaceholder(Map.Entry controlJsonEntry) {
+        if (controlJsonEntry.getValue().toString().trim().equals(CitrusConstants.IGNORE_PLACEHOLDER)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlJsonEntry.getKey() + "' is ignored by placeholder '" +
+                        CitrusConstants.IGNORE_PLACEHOLDER + "'");
             }
+            return true;
         }
 
         return false;
     }
 
+    /**
+     * Evaluates all ignore expressions once on the received JSON document and collects the normalized paths
+     * of all selected entries. Entries are identified by their position in the document rather than their value
+     * so equal values elsewhere in the document are still validated. Paths get the given root path as prefix.
+     * @param ignoreExpressions
+     * @param receivedJson
+     * @param rootPath
+     * @return
+     */
+    private Set<String> resolveIgnoredPaths(Set<String> ignoreExpressions, Object receivedJson, String rootPath) {
+        if (CollectionUtils.isEmpty(ignoreExpressions)) {
+            return Collections.emptySet();
+        }
+
+        Set<String> ignoredPaths = new HashSet<>();
+        ReadContext readContext = JsonPath.using(PATH_LIST_CONFIGURATION).parse(receivedJson);
+
+        for (String jsonPathExpression : ignoreExpressions) {
+            List<String> foundPaths = readContext.read(jsonPathExpression);
+
+            for (String foundPath : foundPaths) {
+                ignoredPaths.add(rootPath + foundPath.substring(ROOT_PATH.length()));
+            }
+        }
+
+        return ignoredPaths;
+    }
+
     @Override
     protected Class<JsonMessageValidationContext> getRequiredValidationContextType() {
         return JsonMessageValidationContext.class;
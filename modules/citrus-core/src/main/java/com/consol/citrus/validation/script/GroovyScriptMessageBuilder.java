@@ -20,7 +20,7 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.validation.builder.AbstractMessageContentBuilder;
-import groovy.lang.GroovyClassLoader;
+import com.consol.citrus.script.GroovyScriptCache;
 import groovy.lang.GroovyObject;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.springframework.core.io.ClassPathResource;
@@ -37,6 +37,9 @@ public class GroovyScriptMessageBuilder extends AbstractMessageContentBuilder {
 
     /** Default path to script template */
     private Resource scriptTemplateResource = new ClassPathResource("com/consol/citrus/script/markup-builder-template.groovy");
+
+    /** Cache of compiled script classes */
+    private GroovyScriptCache scriptCache = GroovyScriptCache.getDefault();
     
     /** Control message payload defined in external file resource as Groovy MarkupBuilder script */
     private String scriptResourcePath;
@@ -72,10 +75,7 @@ public class GroovyScriptMessageBuilder extends AbstractMessageContentBuilder {
      */
     private String buildMarkupBuilderScript(String scriptData) {
         try {
-            ClassLoader parent = GroovyScriptMessageBuilder.class.getClassLoader(); 
-            GroovyClassLoader loader = new GroovyClassLoader(parent);
-            
-            Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+            Class<?> groovyClass = scriptCache.getScriptClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
                                                             .withCode(scriptData)
                                                             .build());
             
@@ -125,4 +125,12 @@ public class GroovyScriptMessageBuilder extends AbstractMessageContentBuilder {
     public String getScriptData() {
         return scriptData;
     }
+
+    /**
+     * Sets the compiled script cache.
+     * @param scriptCache
+     */
+    public void setScriptCache(GroovyScriptCache scriptCache) {
+        this.scriptCache = scriptCache;
+    }
 }
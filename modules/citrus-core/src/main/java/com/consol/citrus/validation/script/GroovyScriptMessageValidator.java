@@ -21,10 +21,10 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
+import com.consol.citrus.script.GroovyScriptCache;
 import com.consol.citrus.script.ScriptTypes;
 import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.context.ValidationContext;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.slf4j.Logger;
@@ -33,8 +33,6 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
 import java.util.List;
 
 /**
@@ -53,6 +51,9 @@ public class GroovyScriptMessageValidator extends AbstractMessageValidator<Scrip
     
     /** Static code snippet for groovy script validation */
     private Resource scriptTemplateResource;
+
+    /** Cache of compiled script classes */
+    private GroovyScriptCache scriptCache = GroovyScriptCache.getDefault();
     
     /**
      * Default constructor using default script template.
@@ -78,12 +79,7 @@ public class GroovyScriptMessageValidator extends AbstractMessageValidator<Scrip
             if (StringUtils.hasText(validationScript)) {
                 log.info("Start groovy message validation");
 
-                GroovyClassLoader loader = AccessController.doPrivileged(new PrivilegedAction<GroovyClassLoader>() {
-                    public GroovyClassLoader run() {
-                        return new GroovyClassLoader(GroovyScriptMessageValidator.class.getClassLoader());
-                    }
-                });
-                Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+                Class<?> groovyClass = scriptCache.getScriptClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
                                                             .withCode(validationScript)
                                                             .build());
                 
@@ -129,4 +125,12 @@ public class GroovyScriptMessageValidator extends AbstractMessageValidator<Scrip
         // support all known message types other than XML
         return MessageType.knows(messageType) && !messageType.equalsIgnoreCase(MessageType.XML.toString());
     }
+
+    /**
+     * Sets the compiled script cache.
+     * @param scriptCache
+     */
+    public void setScriptCache(GroovyScriptCache scriptCache) {
+        this.scriptCache = scriptCache;
+    }
 }
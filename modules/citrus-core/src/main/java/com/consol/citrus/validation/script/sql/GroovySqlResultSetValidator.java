@@ -19,9 +19,9 @@ package com.consol.citrus.validation.script.sql;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.script.GroovyScriptCache;
 import com.consol.citrus.script.ScriptTypes;
 import com.consol.citrus.validation.script.*;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.slf4j.Logger;
@@ -30,8 +30,6 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
 import java.util.List;
 import java.util.Map;
 
@@ -49,6 +47,9 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
     
     /** Static code snippet for groovy script validation */
     private Resource scriptTemplateResource;
+
+    /** Cache of compiled script classes */
+    private GroovyScriptCache scriptCache = GroovyScriptCache.getDefault();
     
     /**
      * Default constructor using a default script template. 
@@ -76,13 +77,7 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
                 if (StringUtils.hasText(validationScript)) {
                     log.info("Start groovy SQL result set validation");
 
-                    GroovyClassLoader loader = AccessController.doPrivileged(new PrivilegedAction<GroovyClassLoader>() {
-                        public GroovyClassLoader run() {
-                            return new GroovyClassLoader(GroovyScriptMessageValidator.class.getClassLoader());
-                        }
-                    });
-
-                    Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+                    Class<?> groovyClass = scriptCache.getScriptClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
                                                                 .withCode(validationScript)
                                                                 .build());
                     
@@ -106,4 +101,12 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
             }
         }
     }
+
+    /**
+     * Sets the compiled script cache.
+     * @param scriptCache
+     */
+    public void setScriptCache(GroovyScriptCache scriptCache) {
+        this.scriptCache = scriptCache;
+    }
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.script.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Read only list view on the result rows of a list of SQL queries. Iterating the view executes the queries and
+ * reads the result sets row by row with the given fetch size, so rows are not held in memory. All iterations share
+ * a single connection which is released when the view is closed. The number of rows is computed once.
+ *
+ * Random access operations such as get(index) or list iterators load all rows into memory on first use, so script
+ * validation should prefer iterating the rows once when result sets are large.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public class SqlResultRowView extends AbstractList<Map<String, Object>> {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SqlResultRowView.class);
+
+    /** Jdbc template providing data source and exception translation */
+    private final JdbcTemplate jdbcTemplate;
+
+    /** SQL queries */
+    private final List<String> statements;
+
+    /** JDBC fetch size */
+    private final int fetchSize;
+
+    /** Maps each row to column map */
+    private final ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+
+    /** Iterations not read to the end */
+    private final List<RowIterator> openIterators = new ArrayList<>();
+
+    /** Connection shared by all iterations */
+    private Connection connection;
+
+    /** Rows loaded on first random access */
+    private List<Map<String, Object>> rows;
+
+    /** Lazy computed number of rows */
+    private int size = -1;
+
+    /**
+     * Default constructor using jdbc template, queries and fetch size.
+     * @param jdbcTemplate
+     * @param statements
+     * @param fetchSize
+     */
+    public SqlResultRowView(JdbcTemplate jdbcTemplate, List<String> statements, int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statements = statements;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        if (rows != null) {
+            return Collections.unmodifiableList(rows).iterator();
+        }
+
+        RowIterator iterator = new RowIterator();
+        openIterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public Map<String, Object> get(int index) {
+        return getRows().get(index);
+    }
+
+    @Override
+    public int size() {
+        if (rows != null) {
+            return rows.size();
+        }
+
+        if (size < 0) {
+            int count = 0;
+            for (Iterator<Map<String, Object>> it = iterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+
+            size = count;
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets all result rows loading them into memory on first call.
+     * @return
+     */
+    private List<Map<String, Object>> getRows() {
+        if (rows == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Random access on SQL result rows - loading all rows into memory");
+            }
+
+            List<Map<String, Object>> loaded = new ArrayList<>(size > 0 ? size : 10);
+            for (Iterator<Map<String, Object>> it = iterator(); it.hasNext();) {
+                loaded.add(it.next());
+            }
+
+            rows = loaded;
+        }
+
+        return rows;
+    }
+
+    /**
+     * Gets the connection shared by all iterations.
+     * @return
+     */
+    private Connection getConnection() {
+        if (connection == null) {
+            connection = DataSourceUtils.getConnection(jdbcTemplate.getDataSource());
+        }
+
+        return connection;
+    }
+
+    /**
+     * Releases result sets of all iterations not read to the end and the shared connection.
+     */
+    public void close() {
+        for (RowIterator iterator : new ArrayList<>(openIterators)) {
+            iterator.close();
+        }
+
+        if (connection != null) {
+            DataSourceUtils.releaseConnection(connection, jdbcTemplate.getDataSource());
+            connection = null;
+        }
+    }
+
+    /**
+     * Forward only iterator reading result rows of all queries one after another.
+     */
+    private class RowIterator implements Iterator<Map<String, Object>> {
+        private int statementIndex = 0;
+        private int rowIndex = 0;
+
+        private Statement statement;
+        private ResultSet resultSet;
+        private String sql;
+
+        private Boolean hasNext;
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                hasNext = advance();
+            }
+
+            return hasNext;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            hasNext = null;
+            try {
+                return rowMapper.mapRow(resultSet, rowIndex++);
+            } catch (SQLException e) {
+                close();
+                throw jdbcTemplate.getExceptionTranslator().translate("SqlResultRowView", sql, e);
+            }
+        }
+
+        /**
+         * Moves result set cursor to next row opening the result set of the next query if necessary.
+         * @return
+         */
+        private boolean advance() {
+            try {
+                while (true) {
+                    if (resultSet != null) {
+                        if (resultSet.next()) {
+                            return true;
+                        }
+
+                        closeResultSet();
+                    }
+
+                    if (statementIndex >= statements.size()) {
+                        close();
+                        return false;
+                    }
+
+                    sql = statements.get(statementIndex++);
+                    statement = getConnection().createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    if (fetchSize > 0) {
+                        statement.setFetchSize(fetchSize);
+                    }
+
+                    if (log.isDebugEnabled()) {
+                        log.debug("Streaming SQL query result rows: " + sql);
+                    }
+
+                    resultSet = statement.executeQuery(sql);
+                }
+            } catch (SQLException e) {
+                close();
+                throw jdbcTemplate.getExceptionTranslator().translate("SqlResultRowView", sql, e);
+            }
+        }
+
+        /**
+         * Closes current result set and statement.
+         */
+        private void closeResultSet() {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+            resultSet = null;
+            statement = null;
+        }
+
+        /**
+         * Closes current result set and ends this iteration.
+         */
+        private void close() {
+            closeResultSet();
+
+            statementIndex = statements.size();
+            hasNext = false;
+            openIterators.remove(this);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("SQL result rows are read only");
+        }
+    }
+}
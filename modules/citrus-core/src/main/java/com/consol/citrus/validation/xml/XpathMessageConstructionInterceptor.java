@@ -23,13 +23,15 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
 import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.validation.interceptor.AbstractMessageConstructionInterceptor;
+import com.consol.citrus.validation.interceptor.MessagePayloadTree;
+import com.consol.citrus.validation.interceptor.MessagePayloadTreeInterceptor;
 import com.consol.citrus.xml.xpath.XPathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.util.StringUtils;
 import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -41,7 +43,7 @@ import java.util.Map.Entry;
  * 
  * @author Christoph Deppisch
  */
-public class XpathMessageConstructionInterceptor extends AbstractMessageConstructionInterceptor {
+public class XpathMessageConstructionInterceptor extends AbstractMessageConstructionInterceptor implements MessagePayloadTreeInterceptor {
 
     /** Overwrites message elements before validating (via XPath expressions) */
     private Map<String, String> xPathExpressions = new HashMap<String, String>();
@@ -74,16 +76,24 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
      */
     @Override
     public Message interceptMessage(Message message, String messageType, TestContext context) {
-        if (message.getPayload() == null || !StringUtils.hasText(message.getPayload(String.class))) {
-            return message;
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, messageType);
+        interceptPayloadTree(payloadTree, context);
+        return payloadTree.getMessage();
+    }
+
+    @Override
+    public void interceptPayloadTree(MessagePayloadTree payloadTree, TestContext context) {
+        if (payloadTree.isEmpty()) {
+            return;
         }
 
-        Document doc = XMLUtils.parseMessagePayload(message.getPayload(String.class));
+        Document doc = payloadTree.getDocument();
 
         if (doc == null) {
             throw new CitrusRuntimeException("Not able to set message elements, because no XML ressource defined");
         }
 
+        SimpleNamespaceContext nsContext = null;
         for (Entry<String, String> entry : xPathExpressions.entrySet()) {
             String pathExpression = entry.getKey();
             String valueExpression = entry.getValue();
@@ -93,8 +103,11 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
 
             Node node;
             if (XPathUtils.isXPathExpression(pathExpression)) {
-                SimpleNamespaceContext nsContext = new SimpleNamespaceContext();
-                nsContext.setBindings(XMLUtils.lookupNamespaces(message.getPayload(String.class)));
+                if (nsContext == null) {
+                    nsContext = new SimpleNamespaceContext();
+                    nsContext.setBindings(lookupNamespaces(doc));
+                }
+
                 node = XPathUtils.evaluateAsNode(doc, pathExpression, nsContext);
             } else {
                 node = XMLUtils.findNodeByName(doc, pathExpression);
@@ -118,9 +131,22 @@ public class XpathMessageConstructionInterceptor extends AbstractMessageConstruc
                 log.debug("Element " +  pathExpression + " was set to value: " + valueExpression);
             }
         }
-        
-        message.setPayload(XMLUtils.serialize(doc));
-        return message;
+    }
+
+    /**
+     * Look up namespace declarations on all elements in document.
+     * @param doc
+     * @return
+     */
+    private Map<String, String> lookupNamespaces(Document doc) {
+        Map<String, String> namespaces = new HashMap<String, String>();
+
+        NodeList elements = doc.getElementsByTagName("*");
+        for (int i = 0; i < elements.getLength(); i++) {
+            namespaces.putAll(XMLUtils.lookupNamespaces(elements.item(i)));
+        }
+
+        return namespaces;
     }
 
     @Override
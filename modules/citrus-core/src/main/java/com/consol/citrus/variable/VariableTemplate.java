@@ -0,0 +1,148 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.variable;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.NoSuchVariableException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsed representation of a string holding variable place holders. String is split once into literal
+ * text and variable references so the template can be rendered many times without scanning the string again.
+ *
+ * Template instances are immutable and may be shared among threads.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public final class VariableTemplate {
+
+    /** Literal text segments, one more than variable names */
+    private final String[] literals;
+
+    /** Variable names in order of appearance */
+    private final String[] variableNames;
+
+    /** Length of all literal segments used as initial render buffer size */
+    private final int literalLength;
+
+    /**
+     * Constructor using fields.
+     * @param literals
+     * @param variableNames
+     */
+    private VariableTemplate(List<String> literals, List<String> variableNames) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.variableNames = variableNames.toArray(new String[variableNames.size()]);
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses given string into literal text and variable references. Nested variable
+     * expressions are treated as part of the outer variable name.
+     * @param str
+     * @return
+     */
+    public static VariableTemplate parse(final String str) {
+        List<String> literals = new ArrayList<>();
+        List<String> variableNames = new ArrayList<>();
+
+        int startIndex = 0;
+        int curIndex;
+        int searchIndex;
+
+        while ((searchIndex = str.indexOf(CitrusConstants.VARIABLE_PREFIX, startIndex)) != -1) {
+            int control = 0;
+            boolean isVarComplete = false;
+
+            int nameIndex = searchIndex + CitrusConstants.VARIABLE_PREFIX.length();
+            curIndex = nameIndex;
+
+            while (curIndex < str.length() && !isVarComplete) {
+                if (str.startsWith(CitrusConstants.VARIABLE_PREFIX, curIndex)) {
+                    control++;
+                }
+
+                if (str.charAt(curIndex) == CitrusConstants.VARIABLE_SUFFIX || curIndex + 1 == str.length()) {
+                    if (control == 0) {
+                        isVarComplete = true;
+                    } else {
+                        control--;
+                    }
+                }
+
+                ++curIndex;
+            }
+
+            literals.add(str.substring(startIndex, searchIndex));
+            variableNames.add(str.substring(nameIndex, isVarComplete ? curIndex - 1 : curIndex));
+
+            startIndex = curIndex;
+        }
+
+        literals.add(str.substring(startIndex));
+
+        return new VariableTemplate(literals, variableNames);
+    }
+
+    /**
+     * Renders template replacing all variable references with respective value from test context.
+     * Variable values are enclosed with quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String render(TestContext context, boolean enableQuoting) {
+        if (variableNames.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder result = new StringBuilder(literalLength + variableNames.length * 16);
+        for (int i = 0; i < variableNames.length; i++) {
+            final String value = context.getVariable(variableNames[i]);
+            if (value == null) {
+                throw new NoSuchVariableException("Variable: " + variableNames[i] + " could not be found");
+            }
+
+            result.append(literals[i]);
+
+            if (enableQuoting) {
+                result.append('\'').append(value).append('\'');
+            } else {
+                result.append(value);
+            }
+        }
+
+        return result.append(literals[variableNames.length]).toString();
+    }
+
+    /**
+     * Checks if this template holds variable references.
+     * @return
+     */
+    public boolean hasVariables() {
+        return variableNames.length > 0;
+    }
+}
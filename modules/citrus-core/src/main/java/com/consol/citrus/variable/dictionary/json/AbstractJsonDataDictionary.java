@@ -20,10 +20,11 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
+import com.consol.citrus.validation.interceptor.MessagePayloadTree;
+import com.consol.citrus.validation.interceptor.MessagePayloadTreeInterceptor;
 import com.consol.citrus.variable.dictionary.AbstractDataDictionary;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
-import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,17 +40,22 @@ import java.util.Map;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public abstract class AbstractJsonDataDictionary extends AbstractDataDictionary<String> {
+public abstract class AbstractJsonDataDictionary extends AbstractDataDictionary<String> implements MessagePayloadTreeInterceptor {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(AbstractJsonDataDictionary.class);
 
     @Override
     protected Message interceptMessage(Message message, String messageType, TestContext context) {
-        JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, messageType);
+        interceptPayloadTree(payloadTree, context);
+        return payloadTree.getMessage();
+    }
 
+    @Override
+    public void interceptPayloadTree(MessagePayloadTree payloadTree, TestContext context) {
         try {
-            Object json = parser.parse(message.getPayload(String.class));
+            Object json = payloadTree.getJsonData();
 
             if (json instanceof JSONObject) {
                 traverseJsonData((JSONObject) json, "", context);
@@ -60,13 +66,9 @@ public abstract class AbstractJsonDataDictionary extends AbstractDataDictionary<
             } else {
                 throw new CitrusRuntimeException("Unsupported json type " + json.getClass());
             }
-
-            message.setPayload(json.toString());
         } catch (ParseException e) {
             log.warn("Data dictionary unable to parse JSON object", e);
         }
-
-        return message;
     }
 
     private void traverseJsonData(JSONObject jsonData, String jsonPath, TestContext context) {
@@ -19,87 +19,67 @@ package com.consol.citrus.variable.dictionary.xml;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageType;
-import com.consol.citrus.util.XMLUtils;
+import com.consol.citrus.validation.interceptor.MessagePayloadTree;
+import com.consol.citrus.validation.interceptor.MessagePayloadTreeInterceptor;
 import com.consol.citrus.variable.dictionary.AbstractDataDictionary;
 import org.springframework.util.StringUtils;
 import org.springframework.util.xml.DomUtils;
 import org.w3c.dom.*;
-import org.w3c.dom.ls.*;
-import org.w3c.dom.traversal.NodeFilter;
-
-import java.io.StringWriter;
 
 /**
  * Abstract data dictionary works on XML message payloads only with parsing the document and translating each element
- * and attribute with respective value in dictionary.
+ * and attribute with respective value in dictionary. Translation works on the shared payload tree of message construction.
  *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<Node> {
+public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<Node> implements MessagePayloadTreeInterceptor {
 
     @Override
     protected Message interceptMessage(Message message, String messageType, TestContext context) {
-        if (message.getPayload() == null || !StringUtils.hasText(message.getPayload(String.class))) {
-            return message;
-        }
-
-        Document doc = XMLUtils.parseMessagePayload(message.getPayload(String.class));
-
-        LSSerializer serializer = XMLUtils.createLSSerializer();
-
-        serializer.setFilter(new TranslateFilter(context));
-
-        LSOutput output = XMLUtils.createLSOutput();
-        String charset = XMLUtils.getTargetCharset(doc).displayName();
-        output.setEncoding(charset);
-
-        StringWriter writer = new StringWriter();
-        output.setCharacterStream(writer);
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, messageType);
+        interceptPayloadTree(payloadTree, context);
+        return payloadTree.getMessage();
+    }
 
-        serializer.write(doc, output);
+    @Override
+    public void interceptPayloadTree(MessagePayloadTree payloadTree, TestContext context) {
+        if (payloadTree.isEmpty()) {
+            return;
+        }
 
-        message.setPayload(writer.toString());
-        return message;
+        Element root = payloadTree.getDocument().getDocumentElement();
+        if (root != null) {
+            translateElement(root, context);
+        }
     }
 
     /**
-     * Serializer filter uses data dictionary translation on elements and attributes.
+     * Translates element and attribute values with data dictionary. Recursively translates all child elements
+     * in document order.
+     * @param element
+     * @param context
      */
-    private class TranslateFilter implements LSSerializerFilter {
-        private TestContext context;
-
-        public TranslateFilter(TestContext context) {
-            this.context = context;
+    private void translateElement(Element element, TestContext context) {
+        if (StringUtils.hasText(DomUtils.getTextValue(element))) {
+            element.setTextContent(translate(element, DomUtils.getTextValue(element), context));
+        } else if (!element.hasChildNodes()) {
+            String translated = translate(element, "", context);
+            if (StringUtils.hasText(translated)) {
+                element.appendChild(element.getOwnerDocument().createTextNode(translated));
+            }
         }
 
-        @Override
-        public int getWhatToShow() {
-            return NodeFilter.SHOW_ALL;
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            attribute.setValue(translate(attribute, attribute.getNodeValue(), context));
         }
 
-        @Override
-        public short acceptNode(Node node) {
-            if (node instanceof Element) {
-                Element element = (Element) node;
-
-                if (StringUtils.hasText(DomUtils.getTextValue(element))) {
-                    element.setTextContent(translate(element, DomUtils.getTextValue(element), context));
-                } else if (!element.hasChildNodes()) {
-                    String translated = translate(element, "", context);
-                    if (StringUtils.hasText(translated)) {
-                        element.appendChild(element.getOwnerDocument().createTextNode(translated));
-                    }
-                }
-
-                NamedNodeMap attributes = element.getAttributes();
-                for (int i = 0; i < attributes.getLength(); i++) {
-                    Attr attribute = (Attr) attributes.item(i);
-                    attribute.setValue(translate(attribute, attribute.getNodeValue(), context));
-                }
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                translateElement((Element) child, context);
             }
-
-            return NodeFilter.FILTER_ACCEPT;
         }
     }
 
@@ -107,6 +87,4 @@ public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<N
     public boolean supportsMessageType(String messageType) {
         return MessageType.XML.toString().equalsIgnoreCase(messageType);
     }
-
-
 }
@@ -28,6 +28,7 @@ import org.springframework.xml.namespace.SimpleNamespaceContext;
 import org.w3c.dom.Node;
 
 import javax.xml.namespace.NamespaceContext;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
@@ -35,6 +36,9 @@ import java.util.Map;
  * in dictionary value is overwritten accordingly. Namespace context is either evaluated on the fly or by global namespace
  * context builder.
  *
+ * Mapping expressions are evaluated once per message document. Translation of each element and attribute then
+ * only looks up the node in the evaluated findings.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -46,33 +50,60 @@ public class XpathMappingDataDictionary extends AbstractXmlDataDictionary implem
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XpathMappingDataDictionary.class);
 
+    /** Document user data key for evaluated mapping findings */
+    private final String findingsKey = XpathMappingDataDictionary.class.getName() + "@" + System.identityHashCode(this);
+
     @Override
     public String translate(Node node, String value, TestContext context) {
-        for (Map.Entry<String, String> expressionEntry : mappings.entrySet()) {
-            String expression = expressionEntry.getKey();
+        Map<Node, String> findings = getMappingFindings(node.getOwnerDocument() != null ? node.getOwnerDocument() : node);
+
+        if (findings.containsKey(node)) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Data dictionary setting element '%s' value: %s", XMLUtils.getNodesPathName(node), findings.get(node)));
+            }
+            return context.replaceDynamicContentInString(findings.get(node));
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the nodes identified by mapping expressions in given document. All expressions are evaluated once per document
+     * and the findings are stored as document user data so translating each node is a simple lookup.
+     * @param document the message document
+     * @return identity map of found nodes and mapping values
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Node, String> getMappingFindings(Node document) {
+        Map<Node, String> findings = (Map<Node, String>) document.getUserData(findingsKey);
 
-            Node finding = XPathUtils.evaluateAsNode(node.getOwnerDocument(), expression, buildNamespaceContext(node));
+        if (findings == null) {
+            findings = new IdentityHashMap<>();
+            NamespaceContext namespaceContext = buildNamespaceContext(document);
 
-            if (finding != null && finding.equals(node)) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Data dictionary setting element '%s' value: %s", XMLUtils.getNodesPathName(node), expressionEntry.getValue()));
+            for (Map.Entry<String, String> expressionEntry : mappings.entrySet()) {
+                Node finding = XPathUtils.evaluateAsNode(document, expressionEntry.getKey(), namespaceContext);
+
+                if (!findings.containsKey(finding)) {
+                    findings.put(finding, expressionEntry.getValue());
                 }
-                return context.replaceDynamicContentInString(expressionEntry.getValue());
             }
+
+            document.setUserData(findingsKey, findings, null);
         }
 
-        return value;
+        return findings;
     }
 
     /**
      * Builds namespace context with dynamic lookup on received node document and global namespace mappings from
      * namespace context builder.
-     * @param node the element node from message
+     * @param document the message document
      * @return
      */
-    private NamespaceContext buildNamespaceContext(Node node) {
+    private NamespaceContext buildNamespaceContext(Node document) {
         SimpleNamespaceContext simpleNamespaceContext = new SimpleNamespaceContext();
-        Map<String, String> namespaces = XMLUtils.lookupNamespaces(node.getOwnerDocument());
+        Map<String, String> namespaces = XMLUtils.lookupNamespaces(document);
 
         // add default namespace mappings
         namespaces.putAll(namespaceContextBuilder.getNamespaceMappings());
@@ -16,19 +16,27 @@
 
 package com.consol.citrus.xml;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.xml.schema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.xml.validation.XmlValidator;
+import org.springframework.xml.validation.XmlValidatorFactory;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -50,6 +58,15 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
 
     /** Mapping strategy */
     private XsdSchemaMappingStrategy schemaMappingStrategy = new TargetNamespaceSchemaMappingStrategy();
+
+    /** Compile schemas to validator on startup */
+    private boolean precompile = false;
+
+    /** Validator compiled from all schemas in this repository */
+    private XmlValidator validator;
+
+    /** Schemas the cached validator was compiled from */
+    private List<XsdSchema> compiledSchemas;
     
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XsdSchemaRepository.class);
@@ -96,6 +113,69 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
         addCitrusSchema("citrus-mail-message");
         addCitrusSchema("citrus-ftp-message");
         addCitrusSchema("citrus-ssh-message");
+
+        if (precompile && !schemas.isEmpty()) {
+            getValidator();
+        }
+    }
+
+    /**
+     * Gets validator for all schemas in this repository. Schema set is compiled once and
+     * compiled again only when the list of schemas has changed. Validator is thread safe as
+     * it creates a new JAXP validator from the compiled schema for each validation.
+     * @return
+     * @throws IOException
+     */
+    public synchronized XmlValidator getValidator() throws IOException {
+        if (validator == null || !schemas.equals(compiledSchemas)) {
+            List<XsdSchema> currentSchemas = new ArrayList<XsdSchema>(schemas);
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Compiling %s XML schemas in schema repository '%s'", currentSchemas.size(), name));
+            }
+
+            validator = createValidator(currentSchemas);
+            compiledSchemas = currentSchemas;
+        }
+
+        return validator;
+    }
+
+    /**
+     * Compiles given schemas to a validator.
+     * @param xsdSchemas
+     * @return
+     * @throws IOException
+     */
+    private XmlValidator createValidator(List<XsdSchema> xsdSchemas) throws IOException {
+        List<Resource> schemaResources = new ArrayList<Resource>();
+        TransformerFactory transformerFactory = null;
+
+        for (XsdSchema xsdSchema : xsdSchemas) {
+            if (xsdSchema instanceof XsdSchemaCollection) {
+                for (Resource resource : ((XsdSchemaCollection) xsdSchema).getSchemaResources()) {
+                    schemaResources.add(resource);
+                }
+            } else if (xsdSchema instanceof WsdlXsdSchema) {
+                for (Resource resource : ((WsdlXsdSchema) xsdSchema).getSchemaResources()) {
+                    schemaResources.add(resource);
+                }
+            } else {
+                if (transformerFactory == null) {
+                    transformerFactory = TransformerFactory.newInstance();
+                }
+
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try {
+                    transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
+                } catch (TransformerException e) {
+                    throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
+                }
+                schemaResources.add(new ByteArrayResource(bos.toByteArray()));
+            }
+        }
+
+        return XmlValidatorFactory.createValidator(schemaResources.toArray(new Resource[schemaResources.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
     }
 
     /**
@@ -124,8 +204,9 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
      * Set the list of known schemas.
      * @param schemas the schemas to set
      */
-    public void setSchemas(List<XsdSchema> schemas) {
+    public synchronized void setSchemas(List<XsdSchema> schemas) {
         this.schemas = schemas;
+        this.validator = null;
     }
 
     /**
@@ -174,5 +255,21 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
     public void setLocations(List<String> locations) {
         this.locations = locations;
     }
+
+    /**
+     * Gets the precompile flag.
+     * @return
+     */
+    public boolean isPrecompile() {
+        return precompile;
+    }
+
+    /**
+     * Enables compilation of all schemas on startup.
+     * @param precompile
+     */
+    public void setPrecompile(boolean precompile) {
+        this.precompile = precompile;
+    }
     
 }
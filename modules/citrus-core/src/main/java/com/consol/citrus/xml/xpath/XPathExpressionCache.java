@@ -0,0 +1,242 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.xpath;
+
+import org.springframework.util.StringUtils;
+import org.springframework.util.xml.SimpleNamespaceContext;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of compiled XPath expressions. As JAXP XPath expressions are not thread safe each thread
+ * holds its own set of compiled expression instances. Cache entries are identified by expression string
+ * and the namespace bindings of the given namespace context.
+ *
+ * Namespace contexts of unknown type do not expose their bindings, so expressions using such
+ * a context are compiled on each call and are not cached.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public class XPathExpressionCache {
+
+    /** Default maximum number of compiled expressions per thread */
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    /** Maximum number of compiled expressions per thread */
+    private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    /** Cache statistics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** Thread bound XPath factory as factory implementations are not guaranteed to be thread safe */
+    private final ThreadLocal<XPathFactory> xPathFactory = new ThreadLocal<XPathFactory>() {
+        @Override
+        protected XPathFactory initialValue() {
+            return XPathFactory.newInstance();
+        }
+    };
+
+    /** Thread bound least recently used map of compiled expressions */
+    private final ThreadLocal<Map<CacheKey, XPathExpression>> expressions = new ThreadLocal<Map<CacheKey, XPathExpression>>() {
+        @Override
+        protected Map<CacheKey, XPathExpression> initialValue() {
+            return new LinkedHashMap<CacheKey, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, XPathExpression> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+    };
+
+    /**
+     * Gets compiled expression for the current thread. Expression is compiled and added to the cache
+     * if not present yet.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    public XPathExpression getExpression(String xPathExpression, NamespaceContext nsContext) throws XPathExpressionException {
+        Map<String, String> bindings = getBindings(nsContext);
+        if (bindings == null || maxSize <= 0) {
+            misses.incrementAndGet();
+            return compile(xPathExpression, nsContext);
+        }
+
+        CacheKey key = new CacheKey(xPathExpression, bindings, nsContext != null);
+        Map<CacheKey, XPathExpression> threadCache = expressions.get();
+        XPathExpression expression = threadCache.get(key);
+
+        if (expression != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            expression = compile(xPathExpression, buildNamespaceContext(bindings, nsContext));
+            threadCache.put(key, expression);
+        }
+
+        return expression;
+    }
+
+    /**
+     * Compiles new expression with given namespace context.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    private XPathExpression compile(String xPathExpression, NamespaceContext nsContext) throws XPathExpressionException {
+        XPath xpath = xPathFactory.get().newXPath();
+
+        if (nsContext != null) {
+            xpath.setNamespaceContext(nsContext);
+        }
+
+        return xpath.compile(xPathExpression);
+    }
+
+    /**
+     * Creates a private copy of the namespace bindings so later changes on the
+     * callers namespace context do not affect the cached expression.
+     * @param bindings
+     * @param nsContext
+     * @return
+     */
+    private NamespaceContext buildNamespaceContext(Map<String, String> bindings, NamespaceContext nsContext) {
+        if (nsContext == null) {
+            return null;
+        }
+
+        SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+        namespaceContext.setBindings(bindings);
+        return namespaceContext;
+    }
+
+    /**
+     * Reads namespace bindings from given namespace context. Returns null when bindings
+     * are not accessible for this type of namespace context.
+     * @param nsContext
+     * @return
+     */
+    private Map<String, String> getBindings(NamespaceContext nsContext) {
+        if (nsContext == null) {
+            return Collections.emptyMap();
+        }
+
+        if (nsContext instanceof SimpleNamespaceContext) {
+            Map<String, String> bindings = new TreeMap<String, String>();
+            Iterator<String> prefixes = ((SimpleNamespaceContext) nsContext).getBoundPrefixes();
+            while (prefixes.hasNext()) {
+                String prefix = prefixes.next();
+                bindings.put(prefix, nsContext.getNamespaceURI(prefix));
+            }
+
+            String defaultNamespaceUri = nsContext.getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX);
+            if (StringUtils.hasText(defaultNamespaceUri)) {
+                bindings.put(XMLConstants.DEFAULT_NS_PREFIX, defaultNamespaceUri);
+            }
+
+            return bindings;
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes all compiled expressions of the current thread and resets the statistics.
+     */
+    public void clear() {
+        expressions.get().clear();
+        hits.set(0L);
+        misses.set(0L);
+    }
+
+    /**
+     * Gets the number of expression lookups served from cache.
+     * @return
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of expression lookups that required compilation.
+     * @return
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the maximum number of compiled expressions per thread.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of compiled expressions per thread. Zero disables caching.
+     * @param maxSize
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Cache key combining expression string and namespace bindings.
+     */
+    private static final class CacheKey {
+        private final String expression;
+        private final Map<String, String> bindings;
+        private final boolean namespaceAware;
+        private final int hashCode;
+
+        private CacheKey(String expression, Map<String, String> bindings, boolean namespaceAware) {
+            this.expression = expression;
+            this.bindings = bindings;
+            this.namespaceAware = namespaceAware;
+            this.hashCode = 31 * (31 * expression.hashCode() + bindings.hashCode()) + (namespaceAware ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+
+            CacheKey other = (CacheKey) o;
+            return namespaceAware == other.namespaceAware && expression.equals(other.expression) && bindings.equals(other.bindings);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -37,8 +37,8 @@ import java.util.Map.Entry;
  */
 public abstract class XPathUtils {
 
-    /** XPath expression factory */
-    private static XPathFactory xPathFactory;
+    /** Compiled XPath expression cache */
+    private static final XPathExpressionCache expressionCache = new XPathExpressionCache();
     
     /** Dynamic namespace prefix suffix */
     public static final String DYNAMIC_NS_START = "{";
@@ -47,10 +47,6 @@ public abstract class XPathUtils {
     /** Dynamic namespace prefix */
     private static final String DYNAMIC_NS_PREFIX = "dns";
 
-    static {
-        xPathFactory = XPathFactory.newInstance();
-    }
-    
     /**
      * Prevent instantiation.
      */
@@ -258,7 +254,7 @@ public abstract class XPathUtils {
     /**
      * Construct a xPath expression instance with given expression string and namespace context.
      * If namespace context is not specified a default context is built from the XML node
-     * that is evaluated against.
+     * that is evaluated against. Compiled expressions are reused from the thread bound expression cache.
      * @param xPathExpression
      * @param nsContext
      * @return
@@ -266,13 +262,16 @@ public abstract class XPathUtils {
      */
     private static XPathExpression buildExpression(String xPathExpression, NamespaceContext nsContext)
             throws XPathExpressionException {
-        XPath xpath = xPathFactory.newXPath();
-        
-        if (nsContext != null) {
-            xpath.setNamespaceContext(nsContext);
-        }
+        return expressionCache.getExpression(xPathExpression, nsContext);
+    }
 
-        return xpath.compile(xPathExpression);
+    /**
+     * Gets the compiled expression cache used for all XPath evaluations. Cache provides
+     * hit and miss statistics as well as size settings.
+     * @return
+     */
+    public static XPathExpressionCache getExpressionCache() {
+        return expressionCache;
     }
 
     /**
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.actions;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class ExecuteSQLActionBatchTest extends AbstractTestNGUnitTest {
+
+    private SingleConnectionDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecuteSQLAction executeSQLAction;
+
+    @BeforeClass
+    public void setupDataSource() {
+        dataSource = new SingleConnectionDataSource("jdbc:hsqldb:mem:citrus-batch", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table ACTORS (FIRST_NAME varchar(20), LAST_NAME varchar(20))");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void destroyDataSource() {
+        jdbcTemplate.execute("drop table ACTORS");
+        dataSource.destroy();
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        jdbcTemplate.execute("delete from ACTORS");
+
+        executeSQLAction = new ExecuteSQLAction();
+        executeSQLAction.setDataSource(dataSource);
+        executeSQLAction.setBatchSize(2);
+    }
+
+    @Test
+    public void testBatchStatements() {
+        executeSQLAction.setStatements(Arrays.asList("INSERT INTO ACTORS VALUES ('${firstName}', 'Cooper');",
+                "INSERT INTO ACTORS VALUES ('Leonard', 'Hofstadter')",
+                "INSERT INTO ACTORS VALUES ('Penny', '${lastName}')",
+                "INSERT INTO ACTORS VALUES ('Howard', '${lastName}')",
+                "INSERT INTO ACTORS VALUES ('Raj', '${lastName}')",
+                "UPDATE ACTORS SET LAST_NAME='citrus:upperCase('wolowitz')' WHERE FIRST_NAME='Howard'"));
+
+        context.setVariable("firstName", "Sheldon");
+        context.setVariable("lastName", "unknown");
+
+        executeSQLAction.execute(context);
+
+        Assert.assertEquals(jdbcTemplate.queryForObject("select count(*) from ACTORS", Integer.class), Integer.valueOf(5));
+        Assert.assertEquals(jdbcTemplate.queryForObject("select LAST_NAME from ACTORS where FIRST_NAME='Sheldon'", String.class), "Cooper");
+        Assert.assertEquals(jdbcTemplate.queryForObject("select LAST_NAME from ACTORS where FIRST_NAME='Howard'", String.class), "WOLOWITZ");
+        Assert.assertEquals(jdbcTemplate.queryForObject("select count(*) from ACTORS where LAST_NAME='unknown'", Integer.class), Integer.valueOf(2));
+    }
+
+    @Test
+    public void testBatchFileResource() {
+        executeSQLAction.setSqlResourcePath("classpath:com/consol/citrus/actions/test-sql-batch.sql");
+
+        context.setVariable("firstName", "Sheldon");
+        context.setVariable("lastName", "unknown");
+
+        List<String> statements = executeSQLAction.getScriptStatements(context);
+        Assert.assertEquals(statements.size(), 3);
+        Assert.assertEquals(statements.get(0), "INSERT INTO ACTORS VALUES ('${firstName}', 'Cooper');");
+        Assert.assertEquals(statements.get(1), "INSERT INTO ACTORS VALUES ('Leonard',\n    'Hofstadter');");
+        Assert.assertSame(executeSQLAction.getScriptStatements(context), statements);
+
+        executeSQLAction.execute(context);
+
+        Assert.assertEquals(jdbcTemplate.queryForObject("select count(*) from ACTORS", Integer.class), Integer.valueOf(3));
+        Assert.assertEquals(jdbcTemplate.queryForObject("select LAST_NAME from ACTORS where FIRST_NAME='Penny'", String.class), "unknown");
+        Assert.assertEquals(executeSQLAction.getStatements().size(), 0);
+    }
+
+    @Test
+    public void testBatchRollback() {
+        executeSQLAction.setStatements(Arrays.asList("INSERT INTO ACTORS VALUES ('Sheldon', 'Cooper')",
+                "INSERT INTO ACTORS VALUES ('Leonard', 'Hofstadter')",
+                "INSERT INTO UNKNOWN VALUES ('Penny', 'unknown')"));
+
+        try {
+            executeSQLAction.execute(context);
+            Assert.fail("Missing exception due to unknown table");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(jdbcTemplate.queryForObject("select count(*) from ACTORS", Integer.class), Integer.valueOf(0));
+        }
+    }
+
+    @Test
+    public void testModifiedFileResource() throws IOException {
+        File sqlFile = File.createTempFile("citrus-sql-script", ".sql");
+        sqlFile.deleteOnExit();
+        FileCopyUtils.copy("INSERT INTO ACTORS VALUES ('Sheldon', 'Cooper');".getBytes(), sqlFile);
+
+        executeSQLAction.setSqlResourcePath("file:" + sqlFile.getAbsolutePath());
+
+        List<String> statements = executeSQLAction.getScriptStatements(context);
+        Assert.assertEquals(statements.size(), 1);
+        Assert.assertSame(executeSQLAction.getScriptStatements(context), statements);
+
+        FileCopyUtils.copy(("INSERT INTO ACTORS VALUES ('Sheldon', 'Cooper');\n" +
+                "INSERT INTO ACTORS VALUES ('Leonard', 'Hofstadter');").getBytes(), sqlFile);
+        Assert.assertTrue(sqlFile.setLastModified(sqlFile.lastModified() + 2000L));
+
+        statements = executeSQLAction.getScriptStatements(context);
+        Assert.assertEquals(statements.size(), 2);
+        Assert.assertSame(executeSQLAction.getScriptStatements(context), statements);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.actions;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.script.ScriptTypes;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.validation.script.ScriptValidationContext;
+import com.consol.citrus.validation.script.sql.SqlResultRowView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class ExecuteSQLQueryActionStreamingTest extends AbstractTestNGUnitTest {
+
+    private SingleConnectionDataSource dataSource;
+
+    private ExecuteSQLQueryAction executeSQLQueryAction;
+
+    @BeforeClass
+    public void setupDataSource() {
+        dataSource = new SingleConnectionDataSource("jdbc:hsqldb:mem:citrus-streaming", "sa", "", true);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table orders (ID integer, ORDERTYPE varchar(20), STATUS varchar(20))");
+        jdbcTemplate.execute("insert into orders values (1, 'small', 'in_progress')");
+        jdbcTemplate.execute("insert into orders values (2, 'big', null)");
+        jdbcTemplate.execute("insert into orders values (3, 'medium', 'done')");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void destroyDataSource() {
+        new JdbcTemplate(dataSource).execute("drop table orders");
+        dataSource.destroy();
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        executeSQLQueryAction = new ExecuteSQLQueryAction();
+        executeSQLQueryAction.setDataSource(dataSource);
+        executeSQLQueryAction.setStreaming(true);
+        executeSQLQueryAction.setFetchSize(2);
+        executeSQLQueryAction.setStatements(Collections.singletonList("select ORDERTYPE, STATUS from orders order by ID"));
+    }
+
+    @Test
+    public void testStreamingValidation() {
+        Map<String, List<String>> controlResultSet = new HashMap<String, List<String>>();
+        controlResultSet.put("ORDERTYPE", Arrays.asList("small", "${type}", "@ignore@"));
+        controlResultSet.put("status", Arrays.asList("in_progress", "NULL", "@startsWith('do')@"));
+        executeSQLQueryAction.setControlResultSet(controlResultSet);
+
+        Map<String, String> extractVariables = new HashMap<String, String>();
+        extractVariables.put("STATUS", "statusValues");
+        executeSQLQueryAction.setExtractVariables(extractVariables);
+
+        context.setVariable("type", "big");
+        executeSQLQueryAction.execute(context);
+
+        Assert.assertEquals(context.getVariable("statusValues"), "in_progress;NULL;done");
+        Assert.assertEquals(context.getVariable("ORDERTYPE"), "small");
+        Assert.assertEquals(context.getVariable("STATUS"), "in_progress");
+    }
+
+    @Test
+    public void testStreamingMultipleStatements() {
+        executeSQLQueryAction.setStatements(Arrays.asList("select ORDERTYPE from orders where ID=1",
+                "select ORDERTYPE from orders where ID>1 order by ID"));
+
+        executeSQLQueryAction.setControlResultSet(Collections.singletonMap("ORDERTYPE", Arrays.asList("small", "big", "medium")));
+        executeSQLQueryAction.execute(context);
+    }
+
+    @Test(expectedExceptions = ValidationException.class)
+    public void testStreamingValidationError() {
+        executeSQLQueryAction.setControlResultSet(Collections.singletonMap("ORDERTYPE", Arrays.asList("small", "medium", "big")));
+        executeSQLQueryAction.execute(context);
+    }
+
+    @Test
+    public void testStreamingRowCountMismatch() {
+        executeSQLQueryAction.setControlResultSet(Collections.singletonMap("ORDERTYPE", Arrays.asList("small", "big")));
+
+        try {
+            executeSQLQueryAction.execute(context);
+            Assert.fail("Missing exception due to row count mismatch");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "Validation failed for column: 'ORDERTYPE' expected rows count: 2 but was 3");
+        }
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Could not find column 'UNKNOWN' in SQL result set")
+    public void testStreamingUnknownColumn() {
+        executeSQLQueryAction.setControlResultSet(Collections.singletonMap("UNKNOWN", Collections.singletonList("foo")));
+        executeSQLQueryAction.execute(context);
+    }
+
+    @Test
+    public void testStreamingScriptValidation() {
+        ScriptValidationContext scriptValidationContext = new ScriptValidationContext(ScriptTypes.GROOVY);
+        scriptValidationContext.setValidationScript("assert rows.size() == 3\n" +
+                "assert rows[0].ORDERTYPE == 'small'\n" +
+                "assert rows[1] == [ORDERTYPE:'big', STATUS:null]\n" +
+                "assert rows.collect { it.ORDERTYPE } == ['small', 'big', 'medium']");
+        executeSQLQueryAction.setScriptValidationContext(scriptValidationContext);
+
+        executeSQLQueryAction.execute(context);
+    }
+
+    @Test(expectedExceptions = ValidationException.class)
+    public void testStreamingScriptValidationError() {
+        ScriptValidationContext scriptValidationContext = new ScriptValidationContext(ScriptTypes.GROOVY);
+        scriptValidationContext.setValidationScript("assert rows.find { it.STATUS == 'unknown' } != null");
+        executeSQLQueryAction.setScriptValidationContext(scriptValidationContext);
+
+        executeSQLQueryAction.execute(context);
+    }
+
+    @Test
+    public void testStreamingScriptValidationIndexedAccess() {
+        ScriptValidationContext scriptValidationContext = new ScriptValidationContext(ScriptTypes.GROOVY);
+        scriptValidationContext.setValidationScript("assert rows[0].ORDERTYPE == 'small'\n" +
+                "assert rows[1].ORDERTYPE == 'big'\n" +
+                "assert rows[2].STATUS == 'done'\n" +
+                "assert rows.lastIndexOf([ORDERTYPE:'medium', STATUS:'done']) == 2\n" +
+                "assert rows.reverse().collect { it.ORDERTYPE } == ['medium', 'big', 'small']");
+        executeSQLQueryAction.setScriptValidationContext(scriptValidationContext);
+
+        executeSQLQueryAction.execute(context);
+    }
+
+    @Test
+    public void testRowViewSharesConnection() {
+        final AtomicInteger connections = new AtomicInteger();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                connections.incrementAndGet();
+                return super.getConnection();
+            }
+        });
+
+        SqlResultRowView rows = new SqlResultRowView(jdbcTemplate, Collections.singletonList("select ORDERTYPE from orders order by ID"), 2);
+        try {
+            Assert.assertEquals(rows.size(), 3);
+            Assert.assertEquals(rows.size(), 3);
+            Assert.assertEquals(rows.iterator().next().get("ORDERTYPE"), "small");
+
+            Assert.assertEquals(rows.get(0).get("ORDERTYPE"), "small");
+            Assert.assertEquals(rows.get(1).get("ORDERTYPE"), "big");
+            Assert.assertEquals(rows.get(2).get("ORDERTYPE"), "medium");
+
+            ListIterator<Map<String, Object>> reverse = rows.listIterator(rows.size());
+            Assert.assertEquals(reverse.previous().get("ORDERTYPE"), "medium");
+        } finally {
+            rows.close();
+        }
+
+        Assert.assertEquals(connections.get(), 1);
+    }
+}
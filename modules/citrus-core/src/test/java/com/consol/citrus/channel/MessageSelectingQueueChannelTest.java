@@ -16,6 +16,7 @@
 
 package com.consol.citrus.channel;
 
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
 import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
 import org.springframework.messaging.Message;
 import org.springframework.integration.core.MessageSelector;
@@ -123,4 +124,67 @@ public class MessageSelectingQueueChannelTest {
         Assert.assertNull(receivedMessage);
         Assert.assertEquals(retries.get(), 4L);
     }
+
+    @Test
+    public void testReceiveSelectedFromIndex() {
+        MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+
+        for (int i = 0; i < 100; i++) {
+            channel.send(MessageBuilder.withPayload("Message" + i).setHeader("index", String.valueOf(i)).build());
+        }
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").setHeader("index", "50").build());
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("index", "50");
+
+        Message<?> receivedMessage = channel.receive(new DispatchingMessageSelector("index = '50'", null));
+        Assert.assertEquals(receivedMessage.getPayload(), "Message50");
+
+        receivedMessage = channel.receive(new HeaderMatchingMessageSelector(headers));
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+
+        Assert.assertNull(channel.receive(new HeaderMatchingMessageSelector(headers)));
+
+        headers.put("index", "99");
+        Assert.assertEquals(channel.receive(new DispatchingMessageSelector("index = '99'", null)).getPayload(), "Message99");
+        Assert.assertNull(channel.receive(new HeaderMatchingMessageSelector(headers)));
+
+        Assert.assertEquals(channel.receive(0L).getPayload(), "Message0");
+        headers.put("index", "0");
+        Assert.assertNull(channel.receive(new HeaderMatchingMessageSelector(headers)));
+        Assert.assertEquals(channel.getQueueSize(), 97);
+    }
+
+    @Test
+    public void testReceiveSelectedWakesOnArrival() throws InterruptedException {
+        final MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.setPollingInterval(5000L);
+
+        Thread sender = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                channel.send(MessageBuilder.withPayload("OtherMessage").setHeader("foo", "other").build());
+                channel.send(MessageBuilder.withPayload("FooMessage").setHeader("foo", "bar").build());
+            }
+        });
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("foo", "bar");
+
+        long start = System.currentTimeMillis();
+        sender.start();
+
+        Message<?> receivedMessage = channel.receive(new HeaderMatchingMessageSelector(headers), 10000L);
+
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+        sender.join();
+    }
 }
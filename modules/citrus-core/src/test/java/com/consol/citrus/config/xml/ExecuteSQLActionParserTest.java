@@ -30,7 +30,7 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
 
     @Test
     public void testSQLActionParser() {
-        assertActionCount(2);
+        assertActionCount(3);
         assertActionClassAndName(ExecuteSQLAction.class, "sqlUpdate:testDataSource");
         
         // 1st action
@@ -49,6 +49,13 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
         Assert.assertEquals(action.getSqlResourcePath(), "classpath:com/consol/citrus/actions/test-sql-statements.sql");
         Assert.assertEquals(action.getStatements().size(), 0);
         Assert.assertEquals(action.isIgnoreErrors(), true);
+        Assert.assertEquals(action.getBatchSize(), 0);
+
+        // 3rd action
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getSqlResourcePath(), "classpath:com/consol/citrus/actions/test-sql-statements.sql");
+        Assert.assertEquals(action.isIgnoreErrors(), false);
+        Assert.assertEquals(action.getBatchSize(), 100);
     }
     
     @Test
@@ -30,7 +30,7 @@ public class ExecuteSQLQueryActionParserTest extends AbstractActionParserTest<Ex
 
     @Test
     public void testSQLActionParser() {
-        assertActionCount(5);
+        assertActionCount(6);
         assertActionClassAndName(ExecuteSQLQueryAction.class, "sqlQuery:testDataSource");
         
         // 1st action
@@ -106,6 +106,12 @@ public class ExecuteSQLQueryActionParserTest extends AbstractActionParserTest<Ex
         Assert.assertNotNull(action.getScriptValidationContext().getValidationScriptResourcePath());
         Assert.assertEquals(action.getScriptValidationContext().getValidationScriptResourcePath(), "classpath:com/consol/citrus/script/example.groovy");
         Assert.assertEquals(action.getScriptValidationContext().getValidationScript(), "");
+
+        // 6th action
+        action = getNextTestActionFromTest();
+        Assert.assertTrue(action.isStreaming());
+        Assert.assertEquals(action.getFetchSize(), 500);
+        Assert.assertEquals(action.getControlResultSet().size(), 1);
     }
     
     @Test
@@ -30,7 +30,7 @@ public class ParallelParserTest extends AbstractActionParserTest<Parallel> {
 
     @Test
     public void testFailActionParser() {
-        assertActionCount(2);
+        assertActionCount(3);
         assertActionClassAndName(Parallel.class, "parallel");
         
         Parallel action = getNextTestActionFromTest();
@@ -44,5 +44,13 @@ public class ParallelParserTest extends AbstractActionParserTest<Parallel> {
         Assert.assertEquals(((Parallel)action.getActions().get(0)).getActionCount(), 2);
         Assert.assertEquals(action.getActions().get(1).getClass(), EchoAction.class);
         Assert.assertEquals(action.getActions().get(2).getClass(), EchoAction.class);
+        Assert.assertFalse(action.isFailFast());
+        Assert.assertEquals(action.getMaxConcurrency(), 0);
+
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getActionCount(), 2);
+        Assert.assertTrue(action.isFailFast());
+        Assert.assertEquals(action.getMaxConcurrency(), 2);
+        Assert.assertEquals(action.getExecutorService(), beanDefinitionContext.getBean("parallelExecutor"));
     }
 }
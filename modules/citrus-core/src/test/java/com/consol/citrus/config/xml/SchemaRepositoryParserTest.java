@@ -51,6 +51,7 @@ public class SchemaRepositoryParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertEquals(schemaRepository.getSchemas().get(4).getClass(), XsdSchemaCollection.class);
         Assert.assertNotNull(schemaRepository.getLocations());
         Assert.assertEquals(schemaRepository.getLocations().size(), 0);
+        Assert.assertTrue(schemaRepository.isPrecompile());
 
         // 2nd schema repository
         schemaRepository = schemaRepositories.get("schemaRepository2");
@@ -59,6 +60,7 @@ public class SchemaRepositoryParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertNotNull(schemaRepository.getLocations());
         Assert.assertEquals(schemaRepository.getLocations().size(), 1);
         Assert.assertEquals(schemaRepository.getLocations().get(0), "classpath:com/consol/citrus/validation/*");
+        Assert.assertFalse(schemaRepository.isPrecompile());
 
         // 3rd schema repository
         schemaRepository = schemaRepositories.get("schemaRepository3");
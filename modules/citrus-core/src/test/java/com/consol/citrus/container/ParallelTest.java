@@ -19,12 +19,17 @@ package com.consol.citrus.container;
 import com.consol.citrus.TestAction;
 import com.consol.citrus.actions.*;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ParallelContainerException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.context.TestContext;
 import org.easymock.EasyMock;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.easymock.EasyMock.*;
 
@@ -160,4 +165,103 @@ public class ParallelTest extends AbstractTestNGUnitTest {
 
         verify(action);
     }
+
+    @Test
+    public void testFailFast() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setFailFast(true);
+
+        final AtomicInteger running = new AtomicInteger();
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new FailAction());
+
+        for (int i = 0; i < 3; i++) {
+            actionList.add(new SleepAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    running.incrementAndGet();
+                    try {
+                        super.doExecute(context);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            }.setMilliseconds("10000"));
+        }
+
+        parallelAction.setActions(actionList);
+
+        long start = System.currentTimeMillis();
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing exception due to failing action");
+        } catch (ParallelContainerException e) {
+            Assert.fail("Cancelled actions must not be reported as failures", e);
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(System.currentTimeMillis() - start < 10000L);
+            Assert.assertEquals(e.getMessage(), "Generated error to interrupt test execution");
+        }
+
+        Assert.assertEquals(running.get(), 0);
+    }
+
+    @Test
+    public void testMaxConcurrency() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setMaxConcurrency(2);
+        parallelAction.setExecutorService(Executors.newCachedThreadPool());
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        for (int i = 0; i < 6; i++) {
+            actionList.add(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    int current = running.incrementAndGet();
+                    synchronized (maxRunning) {
+                        maxRunning.set(Math.max(maxRunning.get(), current));
+                    }
+
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException e) {
+                        throw new CitrusRuntimeException(e);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+        }
+
+        parallelAction.setActions(actionList);
+        parallelAction.execute(context);
+
+        Assert.assertTrue(maxRunning.get() > 0);
+        Assert.assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testRejectedExecution() {
+        Parallel parallelAction = new Parallel();
+        parallelAction.setMaxConcurrency(2);
+        parallelAction.setExecutorService(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>()));
+
+        List<TestAction> actionList = new ArrayList<TestAction>();
+        actionList.add(new SleepAction().setMilliseconds("10000"));
+        actionList.add(new SleepAction().setMilliseconds("10000"));
+
+        parallelAction.setActions(actionList);
+
+        long start = System.currentTimeMillis();
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing exception due to rejected execution");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(System.currentTimeMillis() - start < 10000L);
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DynamicContentTemplateTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testCompile() {
+        DynamicContentTemplate template = DynamicContentTemplate.compile("Hello ${user}, citrus:upperCase('bye')");
+        Assert.assertSame(DynamicContentTemplate.compile("Hello ${user}, citrus:upperCase('bye')"), template);
+        Assert.assertNotSame(DynamicContentTemplate.compile("Hello"), DynamicContentTemplate.compile("Hello"));
+    }
+
+    @Test
+    public void testRender() {
+        context.setVariable("user", "Christoph");
+        context.setVariable("greeting", "citrus:concat('Hello ', ${user})");
+
+        Assert.assertEquals(context.replaceDynamicContentInString("Hello ${user}!"), "Hello Christoph!");
+        Assert.assertEquals(context.replaceDynamicContentInString("Hello ${user}!", true), "Hello 'Christoph'!");
+        Assert.assertEquals(context.replaceDynamicContentInString("citrus:upperCase('Hello')"), "HELLO");
+        Assert.assertEquals(context.replaceDynamicContentInString("citrus:upperCase('Hello')", true), "'HELLO'");
+        Assert.assertEquals(context.replaceDynamicContentInString("citrus:concat('Hello ', '${user}') and citrus:upperCase('${user}')"),
+                "Hello Christoph and CHRISTOPH");
+        Assert.assertEquals(context.replaceDynamicContentInString("citrus:upperCase(citrus:concat('Hello ', ${user}))"), "HELLO CHRISTOPH");
+        Assert.assertEquals(context.replaceDynamicContentInString("${greeting}"), "Hello Christoph");
+        Assert.assertEquals(context.replaceDynamicContentInString("no dynamic content: (none)"), "no dynamic content: (none)");
+
+        context.setVariable("user", "Citrus");
+        Assert.assertEquals(context.replaceDynamicContentInString("citrus:concat('Hello ', '${user}') and citrus:upperCase('${user}')"),
+                "Hello Citrus and CITRUS");
+    }
+
+    @Test
+    public void testRenderNestedVariables() {
+        context.setVariable("user${index}", "Christoph");
+
+        Assert.assertEquals(context.replaceDynamicContentInString("Hello ${user${index}}!"), "Hello Christoph!");
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testRenderUnknownVariable() {
+        context.replaceDynamicContentInString("Hello ${unknown}!");
+    }
+}
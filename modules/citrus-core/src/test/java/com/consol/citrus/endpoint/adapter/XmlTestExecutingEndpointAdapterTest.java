@@ -60,6 +60,45 @@ public class XmlTestExecutingEndpointAdapterTest extends AbstractTestNGUnitTest
         Assert.assertEquals(response.getPayload(String.class).trim(), "<Test name=\"BarTest\">OK</Test>");
     }
 
+    /**
+     * Test for handler routing with cached test definitions
+     */
+    @Test
+    public void testRouteMessageWithCachedTestDefinitions() throws Exception {
+        XPathPayloadMappingKeyExtractor mappingNameExtractor = new XPathPayloadMappingKeyExtractor();
+        mappingNameExtractor.setXpathExpression("//Test/@name");
+        endpointAdapter.setMappingKeyExtractor(mappingNameExtractor);
+        endpointAdapter.setCacheTestDefinitions(true);
+        endpointAdapter.setWarmUp(true);
+
+        try {
+            endpointAdapter.afterPropertiesSet();
+
+            for (int i = 0; i < 2; i++) {
+                Message response = endpointAdapter.handleMessage(
+                        new DefaultMessage("<Test name=\"FooTest\"></Test>"));
+
+                Assert.assertEquals(response.getPayload(String.class).trim(), "<Test name=\"FooTest\">OK</Test>");
+
+                response = endpointAdapter.handleMessage(
+                        new DefaultMessage("<Test name=\"BarTest\"></Test>"));
+
+                Assert.assertEquals(response.getPayload(String.class).trim(), "<Test name=\"BarTest\">OK</Test>");
+            }
+
+            try {
+                endpointAdapter.handleMessage(new DefaultMessage(
+                        "<Test name=\"UNKNOWN_TEST\"></Test>"));
+                Assert.fail("Missing exception due to unknown endpoint adapter");
+            } catch (CitrusRuntimeException e) {
+                Assert.assertEquals(e.getMessage(), "Failed to load test case");
+            }
+        } finally {
+            endpointAdapter.setCacheTestDefinitions(false);
+            endpointAdapter.setWarmUp(false);
+        }
+    }
+
     /**
      * Test for handler routing without Xpath given (implementation takes the value of first node).
      */
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import com.consol.citrus.util.XMLUtils;
+import com.consol.citrus.validation.json.JsonPayloadParser;
+import org.easymock.EasyMock;
+import org.springframework.core.io.ByteArrayResource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class DefaultMessageTest {
+
+    @Test
+    public void testParsedPayloadCache() {
+        Message message = new DefaultMessage("<root><element>Hello</element></root>");
+
+        Document document = XMLUtils.parseMessagePayload(message);
+        Assert.assertEquals(document.getDocumentElement().getLocalName(), "root");
+        Assert.assertSame(XMLUtils.parseMessagePayload(message), document);
+
+        message.setPayload("<root><element>Hello</element></root>");
+        Assert.assertNotSame(XMLUtils.parseMessagePayload(message), document);
+    }
+
+    @Test
+    public void testParsedPayloadCachePerParser() {
+        final AtomicInteger invocations = new AtomicInteger();
+        MessagePayloadParser<String> parser = new MessagePayloadParser<String>() {
+            @Override
+            public String parse(Message message) {
+                invocations.incrementAndGet();
+                return message.getPayload(String.class).toUpperCase();
+            }
+        };
+
+        DefaultMessage message = new DefaultMessage("{\"text\":\"Hello\"}");
+
+        Object json = JsonPayloadParser.parseMessagePayload(message);
+        Assert.assertSame(JsonPayloadParser.parseMessagePayload(message), json);
+
+        Assert.assertEquals(message.getParsedPayload(parser), "{\"TEXT\":\"HELLO\"}");
+        Assert.assertEquals(message.getParsedPayload(parser), "{\"TEXT\":\"HELLO\"}");
+        Assert.assertEquals(invocations.get(), 1);
+        Assert.assertSame(JsonPayloadParser.parseMessagePayload(message), json);
+    }
+
+    @Test
+    public void testParsedPayloadOtherMessageImplementation() {
+        final AtomicInteger invocations = new AtomicInteger();
+        MessagePayloadParser<String> parser = new MessagePayloadParser<String>() {
+            @Override
+            public String parse(Message message) {
+                invocations.incrementAndGet();
+                return message.getPayload(String.class).toUpperCase();
+            }
+        };
+
+        Message message = EasyMock.createMock(Message.class);
+        EasyMock.expect(message.getPayload(String.class)).andReturn("Hello").times(2);
+        EasyMock.replay(message);
+
+        Assert.assertEquals(MessagePayloadUtils.getParsedPayload(message, parser), "HELLO");
+        Assert.assertEquals(MessagePayloadUtils.getParsedPayload(message, parser), "HELLO");
+        Assert.assertEquals(invocations.get(), 2);
+
+        EasyMock.verify(message);
+    }
+
+    @Test
+    public void testParsedPayloadConcurrentAccess() throws Exception {
+        final DefaultMessage message = new DefaultMessage("{\"text\":\"Hello\"}");
+        final Set<Object> parsed = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<Object, Boolean>()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        parsed.add(message.getParsedPayload(JsonPayloadParser.INSTANCE));
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(parsed.size(), 1);
+        Assert.assertSame(parsed.iterator().next(), JsonPayloadParser.parseMessagePayload(message));
+    }
+
+    @Test
+    public void testResourcePayload() {
+        Message message = new DefaultMessage(new ByteArrayResource("Hello Citrus".getBytes()));
+
+        Assert.assertEquals(message.getPayload(String.class), "Hello Citrus");
+        Assert.assertEquals(message.getPayload(byte[].class), "Hello Citrus".getBytes());
+    }
+
+    @Test
+    public void testResourcePayloadToString() {
+        Message message = new DefaultMessage(new ByteArrayResource("Hello Citrus".getBytes(), "test resource"));
+
+        Assert.assertTrue(message.toString().startsWith("DEFAULTMESSAGE [payload: <Byte array resource [test resource], 12 bytes>][headers: "));
+        Assert.assertFalse(message.toString().contains("Hello Citrus"));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import com.consol.citrus.channel.ChannelSyncEndpointConfiguration;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class EventDrivenCorrelationManagerTest {
+
+    @Test
+    public void testFind() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+        pollableEndpointConfiguration.setTimeout(500L);
+
+        EventDrivenCorrelationManager<String> correlationManager = new EventDrivenCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+        Assert.assertNull(correlationManager.find(""));
+
+        correlationManager.store("foo", "bar");
+        Assert.assertNull(correlationManager.find("bar"));
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+
+        //2nd invocation with same correlation key
+        Assert.assertNull(correlationManager.find("foo"));
+    }
+
+    @Test
+    public void testFindWakesOnStore() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(5000L);
+        pollableEndpointConfiguration.setTimeout(10000L);
+
+        final EventDrivenCorrelationManager<String> correlationManager = new EventDrivenCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                correlationManager.store("foo", "bar");
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        producer.start();
+
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+    }
+
+    @Test
+    public void testFindWithExternalObjectStore() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+        pollableEndpointConfiguration.setTimeout(1000L);
+
+        EventDrivenCorrelationManager<String> correlationManager = new EventDrivenCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+        final DefaultObjectStore<String> objectStore = new DefaultObjectStore<String>();
+        correlationManager.setObjectStore(objectStore);
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(200L);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                objectStore.add("foo", "bar");
+            }
+        });
+        producer.start();
+
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+    }
+
+    @Test
+    public void testGetCorrelationKey() throws Exception {
+        ChannelSyncEndpointConfiguration pollableEndpointConfiguration = new ChannelSyncEndpointConfiguration();
+        final EventDrivenCorrelationManager<String> correlationManager = new EventDrivenCorrelationManager<String>(pollableEndpointConfiguration, "Try again");
+        final TestContext context = new TestContext();
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                correlationManager.saveCorrelationKey("correlationKey", "foo", context);
+            }
+        });
+        producer.start();
+
+        Assert.assertEquals(correlationManager.getCorrelationKey("correlationKey", context), "foo");
+
+        try {
+            correlationManager.getCorrelationKey("unknown", context);
+            Assert.fail("Missing exception due to unknown correlation key");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to get correlation key for 'unknown'");
+        }
+    }
+}
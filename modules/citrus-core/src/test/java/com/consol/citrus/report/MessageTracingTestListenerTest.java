@@ -0,0 +1,298 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.report;
+
+import com.consol.citrus.CitrusConstants;
+import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.RawMessage;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class MessageTracingTestListenerTest {
+
+    private File outputDirectory;
+
+    @BeforeMethod
+    public void setup() {
+        outputDirectory = new File("target/trace/" + System.nanoTime());
+    }
+
+    @Test
+    public void testTraceMessagesPerTestContext() throws Exception {
+        MessageTracingTestListener listener = createListener(false);
+
+        TestCase fooTest = createTestCase("FooTest");
+        TestContext fooContext = createTestContext(fooTest);
+        TestCase barTest = createTestCase("BarTest");
+        TestContext barContext = createTestContext(barTest);
+
+        listener.onTestStart(fooTest);
+        listener.onOutboundMessage(new RawMessage("foo request"), fooContext);
+        listener.onTestStart(barTest);
+        listener.onOutboundMessage(new RawMessage("bar request"), barContext);
+        listener.onInboundMessage(new RawMessage("foo response"), fooContext);
+        listener.onTestFinish(fooTest);
+        listener.onInboundMessage(new RawMessage("bar response"), barContext);
+        listener.onTestFinish(barTest);
+
+        String fooTrace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "FooTest.msgs")));
+        Assert.assertTrue(fooTrace.contains("OUTBOUND_MESSAGE:"));
+        Assert.assertTrue(fooTrace.contains("foo request"));
+        Assert.assertTrue(fooTrace.contains("INBOUND_MESSAGE:"));
+        Assert.assertTrue(fooTrace.contains("foo response"));
+        Assert.assertTrue(fooTrace.indexOf("foo request") < fooTrace.indexOf("foo response"));
+        Assert.assertFalse(fooTrace.contains("bar"));
+
+        String barTrace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "BarTest.msgs")));
+        Assert.assertTrue(barTrace.contains("bar request"));
+        Assert.assertTrue(barTrace.contains("bar response"));
+        Assert.assertFalse(barTrace.contains("foo"));
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testTraceMessagesWithoutTestContext() throws Exception {
+        MessageTracingTestListener listener = createListener(false);
+
+        TestCase test = createTestCase("UnboundTest");
+        TestContext context = createTestContext(test);
+
+        listener.onOutboundMessage(new RawMessage("not running"), null);
+        listener.onTestStart(test);
+        listener.onOutboundMessage(new RawMessage("client request"), null);
+        listener.onInboundMessage(new RawMessage("server response"), context);
+        listener.onTestFinish(test);
+
+        String trace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "UnboundTest.msgs")));
+        Assert.assertTrue(trace.contains("client request"));
+        Assert.assertTrue(trace.contains("server response"));
+        Assert.assertFalse(trace.contains("not running"));
+        Assert.assertFalse(new File(outputDirectory, "UnboundTest_1.msgs").exists());
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testTraceMessagesWithoutTestContextInParallel() throws Exception {
+        final MessageTracingTestListener listener = createListener(false);
+
+        final TestCase fooTest = createTestCase("FooTest");
+        final TestCase barTest = createTestCase("BarTest");
+
+        final CountDownLatch started = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> foo = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                listener.onTestStart(fooTest);
+                awaitLatch(started);
+                listener.onOutboundMessage(new RawMessage("foo request"), null);
+                listener.onTestFinish(fooTest);
+            }
+        });
+        Future<?> bar = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                listener.onTestStart(barTest);
+                awaitLatch(started);
+                listener.onOutboundMessage(new RawMessage("bar request"), null);
+                listener.onTestFinish(barTest);
+            }
+        });
+
+        foo.get(5L, TimeUnit.SECONDS);
+        bar.get(5L, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        String fooTrace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "FooTest.msgs")));
+        Assert.assertTrue(fooTrace.contains("foo request"));
+        Assert.assertFalse(fooTrace.contains("bar"));
+
+        String barTrace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "BarTest.msgs")));
+        Assert.assertTrue(barTrace.contains("bar request"));
+        Assert.assertFalse(barTrace.contains("foo"));
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testFinishSameTestName() throws Exception {
+        MessageTracingTestListener listener = createListener(false);
+
+        TestCase test = createTestCase("FooTest");
+        TestContext context = createTestContext(test);
+        TestCase sibling = createTestCase("FooTest");
+        TestContext siblingContext = createTestContext(sibling);
+
+        listener.onTestStart(test);
+        listener.onOutboundMessage(new RawMessage("foo request"), context);
+        listener.onTestStart(sibling);
+        listener.onOutboundMessage(new RawMessage("sibling request"), siblingContext);
+        listener.onTestFinish(test);
+        listener.onInboundMessage(new RawMessage("sibling response"), siblingContext);
+        listener.onTestFinish(sibling);
+
+        String trace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "FooTest.msgs")));
+        Assert.assertTrue(trace.contains("foo request"));
+        Assert.assertFalse(trace.contains("sibling"));
+
+        String siblingTrace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "FooTest_1.msgs")));
+        Assert.assertTrue(siblingTrace.contains("sibling request"));
+        Assert.assertTrue(siblingTrace.contains("sibling response"));
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testTraceMessagesAfterTestFinished() throws Exception {
+        MessageTracingTestListener listener = createListener(false);
+
+        TestCase test = createTestCase("FinallyTest");
+        TestContext context = createTestContext(test);
+
+        listener.onTestStart(test);
+        listener.onOutboundMessage(new RawMessage("test request"), context);
+        listener.onTestFinish(test);
+        listener.onOutboundMessage(new RawMessage("finally request"), context);
+        listener.destroy();
+
+        String trace = FileCopyUtils.copyToString(new FileReader(new File(outputDirectory, "FinallyTest.msgs")));
+        Assert.assertTrue(trace.contains("test request"));
+        Assert.assertTrue(trace.contains("finally request"));
+    }
+
+    @Test(timeOut = 5000L)
+    public void testWriterError() throws Exception {
+        MessageTracingTestListener listener = createListener(false);
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getPath() + "/") {
+            @Override
+            public Resource createRelative(String relativePath) {
+                throw new IllegalStateException("Failed to resolve trace file");
+            }
+        });
+
+        TestCase test = createTestCase("ErrorTest");
+        TestContext context = createTestContext(test);
+
+        listener.onTestStart(test);
+        listener.onOutboundMessage(new RawMessage("Hello Citrus!"), context);
+
+        try {
+            listener.onTestFinish(test);
+            Assert.fail("Missing exception due to trace write error");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        listener.onTestStart(test);
+        listener.onTestFinish(test);
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testGzipTrace() throws Exception {
+        MessageTracingTestListener listener = createListener(true);
+
+        TestCase test = createTestCase("GzipTest");
+        TestContext context = createTestContext(test);
+
+        listener.onTestStart(test);
+        listener.onOutboundMessage(new RawMessage("Hello Citrus!"), context);
+        listener.onTestFinish(test);
+
+        String trace = FileCopyUtils.copyToString(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(new File(outputDirectory, "GzipTest.msgs.gz")))));
+        Assert.assertTrue(trace.contains("Hello Citrus!"));
+
+        listener.destroy();
+    }
+
+    @Test
+    public void testNoTraceWithoutMessages() throws Exception {
+        MessageTracingTestListener listener = createListener(false);
+
+        TestCase test = createTestCase("EmptyTest");
+
+        listener.onTestStart(test);
+        listener.onTestFinish(test);
+
+        Assert.assertFalse(new File(outputDirectory, "EmptyTest.msgs").exists());
+
+        listener.destroy();
+    }
+
+    private void awaitLatch(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new CitrusRuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testListenerNotInitialized() throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getPath() + "/"));
+
+        TestCase fooTest = createTestCase("FooTest");
+        TestContext fooContext = createTestContext(fooTest);
+
+        listener.onTestStart(fooTest);
+        listener.onOutboundMessage(new RawMessage("foo request"), fooContext);
+        listener.onTestFinish(fooTest);
+        listener.destroy();
+
+        Assert.assertFalse(new File(outputDirectory, "FooTest.msgs").exists());
+    }
+
+    private MessageTracingTestListener createListener(boolean gzip) throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory(new FileSystemResource(outputDirectory.getPath() + "/"));
+        listener.setGzip(gzip);
+        listener.setQueueCapacity(1);
+        listener.afterPropertiesSet();
+        return listener;
+    }
+
+    private TestCase createTestCase(String name) {
+        TestCase test = new TestCase();
+        test.setName(name);
+        return test;
+    }
+
+    private TestContext createTestContext(TestCase test) {
+        TestContext context = new TestContext();
+        context.setVariable(CitrusConstants.TEST_NAME_VARIABLE, test.getName());
+        return context;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.script;
+
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import groovy.lang.GroovyClassLoader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class GroovyScriptCacheTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testCachedScriptClass() {
+        GroovyScriptCache cache = new GroovyScriptCache(10);
+
+        Class<?> scriptClass = cache.getScriptClass("return 'Hello Citrus!'");
+        Assert.assertSame(cache.getScriptClass("return 'Hello Citrus!'"), scriptClass);
+        Assert.assertNotSame(cache.getScriptClass("return 'Hello World!'"), scriptClass);
+
+        Assert.assertEquals(cache.getSize(), 2);
+        Assert.assertEquals(cache.getHits(), 1L);
+        Assert.assertEquals(cache.getMisses(), 2L);
+        Assert.assertEquals(cache.getEvictions(), 0L);
+
+        cache.clear();
+        Assert.assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void testEviction() {
+        GroovyScriptCache cache = new GroovyScriptCache(2);
+
+        Class<?> first = cache.getScriptClass("return 1");
+        cache.getScriptClass("return 2");
+        cache.getScriptClass("return 1");
+        cache.getScriptClass("return 3");
+
+        Assert.assertEquals(cache.getSize(), 2);
+        Assert.assertEquals(cache.getEvictions(), 1L);
+
+        // least recently used script has been evicted
+        Assert.assertSame(cache.getScriptClass("return 1"), first);
+        Assert.assertEquals(cache.getMisses(), 3L);
+        cache.getScriptClass("return 2");
+        Assert.assertEquals(cache.getMisses(), 4L);
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        GroovyScriptCache cache = new GroovyScriptCache(0);
+
+        Assert.assertNotSame(cache.getScriptClass("return 1"), cache.getScriptClass("return 1"));
+        Assert.assertEquals(cache.getSize(), 0);
+        Assert.assertEquals(cache.getHits(), 0L);
+        Assert.assertEquals(cache.getMisses(), 2L);
+    }
+
+    @Test
+    public void testGroovyActionUsesCache() {
+        GroovyScriptCache cache = new GroovyScriptCache(10);
+
+        GroovyAction action = new GroovyAction();
+        action.setScriptCache(cache);
+        action.setScript("context.setVariable('greeting', 'Hello Citrus!')");
+
+        action.execute(context);
+        action.execute(context);
+
+        Assert.assertEquals(context.getVariable("greeting"), "Hello Citrus!");
+        Assert.assertEquals(cache.getMisses(), 2L);
+        Assert.assertEquals(cache.getHits(), 2L);
+    }
+
+    @Test
+    public void testEvictionDiscardsGeneratedClasses() {
+        GroovyScriptCache cache = new GroovyScriptCache(1);
+
+        Class<?> first = cache.getScriptClass("return [1, 2].collect { it * 2 }");
+        GroovyClassLoader classLoader = (GroovyClassLoader) first.getClassLoader().getParent();
+        Assert.assertTrue(classLoader.getLoadedClasses().length > 1);
+
+        Class<?> second = cache.getScriptClass("return [1, 2].collect { it * 3 }");
+        Assert.assertEquals(cache.getEvictions(), 1L);
+        Assert.assertEquals(classLoader.getLoadedClasses().length, 0);
+        Assert.assertNotSame(second.getClassLoader().getParent(), classLoader);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.interceptor;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessageType;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.validation.json.JsonPathMessageConstructionInterceptor;
+import com.consol.citrus.validation.xml.XpathMessageConstructionInterceptor;
+import com.consol.citrus.variable.dictionary.json.JsonMappingDataDictionary;
+import com.consol.citrus.variable.dictionary.xml.NodeMappingDataDictionary;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class MessagePayloadTreeTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testXmlPipeline() {
+        Message message = new DefaultMessage("<TestMessage><Text>Hello World!</Text><OtherText name=\"foo\">No changes</OtherText></TestMessage>");
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, MessageType.XML.name());
+
+        XpathMessageConstructionInterceptor xpathInterceptor = new XpathMessageConstructionInterceptor(Collections.singletonMap("//TestMessage/Text", "Hello Citrus!"));
+
+        NodeMappingDataDictionary dictionary = new NodeMappingDataDictionary();
+        dictionary.setMappings(Collections.singletonMap("TestMessage.OtherText.name", "bar"));
+
+        payloadTree.intercept(xpathInterceptor, context);
+        payloadTree.intercept(dictionary, context);
+
+        // payload is not serialized until message is requested
+        Assert.assertTrue(message.getPayload(String.class).contains("Hello World!"));
+        Assert.assertSame(payloadTree.getDocument(), payloadTree.getDocument());
+
+        Message intercepted = payloadTree.getMessage();
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<Text>Hello Citrus!</Text>"));
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<OtherText name=\"bar\">No changes</OtherText>"));
+    }
+
+    @Test
+    public void testJsonPipeline() {
+        Message message = new DefaultMessage("{\"TestMessage\":{\"Text\":\"Hello World!\",\"OtherText\":\"No changes\"}}");
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, MessageType.JSON.name());
+
+        JsonPathMessageConstructionInterceptor jsonPathInterceptor = new JsonPathMessageConstructionInterceptor(Collections.singletonMap("$.TestMessage.Text", "Hello Citrus!"));
+
+        JsonMappingDataDictionary dictionary = new JsonMappingDataDictionary();
+        dictionary.setMappings(Collections.singletonMap("TestMessage.OtherText", "Changed"));
+
+        payloadTree.intercept(jsonPathInterceptor, context);
+        payloadTree.intercept(dictionary, context);
+
+        Assert.assertEquals(payloadTree.getMessage().getPayload(String.class), "{\"TestMessage\":{\"Text\":\"Hello Citrus!\",\"OtherText\":\"Changed\"}}");
+    }
+
+    @Test
+    public void testLegacyInterceptor() {
+        Message message = new DefaultMessage("<TestMessage><Text>Hello World!</Text><OtherText>No changes</OtherText></TestMessage>");
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, MessageType.XML.name());
+
+        payloadTree.intercept(new XpathMessageConstructionInterceptor(Collections.singletonMap("//TestMessage/Text", "Hello Citrus!")), context);
+        payloadTree.intercept(new AbstractMessageConstructionInterceptor() {
+            @Override
+            protected Message interceptMessage(Message message, String messageType, TestContext context) {
+                // legacy interceptor sees serialized tree modifications
+                Assert.assertTrue(message.getPayload(String.class).contains("Hello Citrus!"));
+                return new DefaultMessage(message.getPayload(String.class).replace("Hello Citrus!", "Hello Legacy!"));
+            }
+
+            @Override
+            public boolean supportsMessageType(String messageType) {
+                return true;
+            }
+        }, context);
+        payloadTree.intercept(new XpathMessageConstructionInterceptor(Collections.singletonMap("//TestMessage/OtherText", "Changed")), context);
+
+        Message intercepted = payloadTree.getMessage();
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<Text>Hello Legacy!</Text>"));
+        Assert.assertTrue(intercepted.getPayload(String.class).contains("<OtherText>Changed</OtherText>"));
+    }
+
+    @Test
+    public void testUnsupportedMessageType() {
+        Message message = new DefaultMessage("Hello World!");
+        MessagePayloadTree payloadTree = new MessagePayloadTree(message, MessageType.PLAINTEXT.name());
+
+        payloadTree.intercept(new XpathMessageConstructionInterceptor(Collections.singletonMap("//TestMessage/Text", "Hello Citrus!")), context);
+        payloadTree.intercept(new JsonPathMessageConstructionInterceptor(Collections.singletonMap("$.TestMessage.Text", "Hello Citrus!")), context);
+
+        Assert.assertSame(payloadTree.getMessage(), message);
+        Assert.assertEquals(message.getPayload(String.class), "Hello World!");
+    }
+}
@@ -315,6 +315,57 @@ public class JsonTextMessageValidatorTest extends AbstractTestNGUnitTest {
         validator.validateMessagePayload(receivedMessage, controlMessage, validationContext, context);
     }
     
+    @Test(expectedExceptions = ValidationException.class)
+    public void testJsonValidationIgnoreEntriesByIdentity() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"object\":{\"id\":\"Hello World!\"}}");
+        Message controlMessage = new DefaultMessage("{\"text\":\"Hallo Welt!\", \"object\":{\"id\":\"?\"}}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$.object.id");
+        validator.validateMessagePayload(receivedMessage, controlMessage, validationContext, context);
+    }
+
+    @Test(expectedExceptions = ValidationException.class)
+    public void testJsonValidationIgnoreBooleanEntryByPath() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"active\":true, \"object\":{\"enabled\":true}}");
+        Message controlMessage = new DefaultMessage("{\"active\":false, \"object\":{\"enabled\":false}}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$.object.enabled");
+        validator.validateMessagePayload(receivedMessage, controlMessage, validationContext, context);
+    }
+
+    @Test(expectedExceptions = ValidationException.class)
+    public void testJsonValidationIgnoreNumberEntryByPath() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"index\":5, \"object\":{\"index\":5}, \"values\":[5, 5]}");
+        Message controlMessage = new DefaultMessage("{\"index\":6, \"object\":{\"index\":0}, \"values\":[0, 5]}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$.object.index");
+        validationContext.getIgnoreExpressions().add("$.values[0]");
+        validator.validateMessagePayload(receivedMessage, controlMessage, validationContext, context);
+    }
+
+    @Test
+    public void testJsonValidationIgnoreBooleanAndNumberEntriesByPath() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator();
+
+        Message receivedMessage = new DefaultMessage("{\"active\":true, \"index\":5, \"object\":{\"enabled\":true, \"index\":5}, \"values\":[5, 5]}");
+        Message controlMessage = new DefaultMessage("{\"active\":true, \"index\":5, \"object\":{\"enabled\":false, \"index\":0}, \"values\":[0, 5]}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$.object.enabled");
+        validationContext.getIgnoreExpressions().add("$.object.index");
+        validationContext.getIgnoreExpressions().add("$.values[0]");
+        validator.validateMessagePayload(receivedMessage, controlMessage, validationContext, context);
+    }
+
     @Test
     public void testJsonValidationInvalidJsonText() {
         JsonTextMessageValidator validator = new JsonTextMessageValidator();
@@ -115,6 +115,25 @@ public class XpathMappingDataDictionaryTest extends AbstractTestNGUnitTest {
                 "</TestMessage>");
     }
 
+    @Test
+    public void testTranslateRepeatedElements() throws Exception {
+        Message message = new DefaultMessage("<?xml version=\"1.0\" encoding=\"UTF-8\"?><TestMessage><Text>Hello World!</Text><Text>Hello World!</Text><Text name=\"foo\">Hello World!</Text></TestMessage>");
+
+        Map<String, String> mappings = new HashMap<String, String>();
+        mappings.put("//TestMessage/Text[2]", "Hello!");
+        mappings.put("//Text[3]/@name", "bar");
+
+        XpathMappingDataDictionary dictionary = new XpathMappingDataDictionary();
+        dictionary.setMappings(mappings);
+
+        Message intercepted = dictionary.interceptMessage(message, CitrusConstants.DEFAULT_MESSAGE_TYPE, context);
+        Assert.assertEquals(intercepted.getPayload(String.class).trim(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?><TestMessage>" + System.getProperty("line.separator") +
+                "   <Text>Hello World!</Text>" + System.getProperty("line.separator") +
+                "   <Text>Hello!</Text>" + System.getProperty("line.separator") +
+                "   <Text name=\"bar\">Hello World!</Text>" + System.getProperty("line.separator") +
+                "</TestMessage>");
+    }
+
     @Test
     public void testTranslateFromMappingFile() throws Exception {
         Message message = new DefaultMessage("<?xml version=\"1.0\" encoding=\"UTF-8\"?><TestMessage><Text>Hello World!</Text><OtherText name=\"foo\">No changes</OtherText></TestMessage>");
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.xml;
 
+import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -133,4 +134,21 @@ public class XsdSchemaRepositoryTest {
         Assert.assertEquals(schemaRepository.getSchemas().size(), 1);
         Assert.assertEquals(schemaRepository.getSchemas().get(0).getClass(), SimpleXsdSchema.class);
     }
+
+    @Test
+    public void testCompiledValidator() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/validation/test.xsd");
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/xml/BookStore.wsdl");
+        schemaRepository.setPrecompile(true);
+
+        schemaRepository.afterPropertiesSet();
+
+        XmlValidator validator = schemaRepository.getValidator();
+        Assert.assertNotNull(validator);
+        Assert.assertSame(schemaRepository.getValidator(), validator);
+
+        schemaRepository.getSchemas().remove(0);
+        Assert.assertNotSame(schemaRepository.getValidator(), validator);
+    }
 }
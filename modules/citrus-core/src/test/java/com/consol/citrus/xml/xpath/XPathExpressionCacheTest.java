@@ -0,0 +1,87 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml.xpath;
+
+import org.springframework.util.xml.SimpleNamespaceContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.XPathExpression;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XPathExpressionCacheTest {
+
+    @Test
+    public void testCachedExpression() throws Exception {
+        XPathExpressionCache cache = new XPathExpressionCache();
+
+        XPathExpression expression = cache.getExpression("/ns1:root/ns1:element", namespaceContext("http://citrusframework.org/foo"));
+        Assert.assertSame(cache.getExpression("/ns1:root/ns1:element", namespaceContext("http://citrusframework.org/foo")), expression);
+        Assert.assertNotSame(cache.getExpression("/ns1:root/ns1:element", namespaceContext("http://citrusframework.org/bar")), expression);
+        Assert.assertNotSame(cache.getExpression("/ns1:root", namespaceContext("http://citrusframework.org/foo")), expression);
+
+        Assert.assertEquals(cache.getHits(), 1L);
+        Assert.assertEquals(cache.getMisses(), 3L);
+    }
+
+    @Test
+    public void testCacheSizeLimit() throws Exception {
+        XPathExpressionCache cache = new XPathExpressionCache();
+        cache.setMaxSize(1);
+
+        XPathExpression expression = cache.getExpression("/root/element", null);
+        cache.getExpression("/root", null);
+        Assert.assertNotSame(cache.getExpression("/root/element", null), expression);
+
+        Assert.assertEquals(cache.getHits(), 0L);
+        Assert.assertEquals(cache.getMisses(), 3L);
+    }
+
+    @Test
+    public void testCacheThreadBound() throws Exception {
+        final XPathExpressionCache cache = new XPathExpressionCache();
+        final XPathExpression[] expressions = new XPathExpression[1];
+
+        XPathExpression expression = cache.getExpression("/root/element", null);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    expressions[0] = cache.getExpression("/root/element", null);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertNotNull(expressions[0]);
+        Assert.assertNotSame(expressions[0], expression);
+        Assert.assertEquals(cache.getMisses(), 2L);
+    }
+
+    private NamespaceContext namespaceContext(String namespaceUri) {
+        SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+        namespaceContext.bindNamespaceUri("ns1", namespaceUri);
+        return namespaceContext;
+    }
+}
@@ -0,0 +1,5 @@
+--Test SQL batch statements with variables
+INSERT INTO ACTORS VALUES ('${firstName}', 'Cooper');
+INSERT INTO ACTORS VALUES ('Leonard',
+    'Hofstadter');
+INSERT INTO ACTORS VALUES ('Penny', '${lastName}');
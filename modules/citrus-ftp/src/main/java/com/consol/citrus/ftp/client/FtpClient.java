@@ -23,8 +23,9 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ftp.message.FtpMessage;
 import com.consol.citrus.message.*;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.EventDrivenCorrelationManager;
 import com.consol.citrus.messaging.*;
+import com.consol.citrus.util.TemporaryFileUtils;
 import org.apache.commons.net.ProtocolCommandEvent;
 import org.apache.commons.net.ProtocolCommandListener;
 import org.apache.commons.net.ftp.*;
@@ -32,10 +33,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.util.StringUtils;
 
-import java.io.IOException;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Ftp client sends commands to a ftp server. Apache ftp clients are not thread safe so each command borrows a connection
+ * from a connection pool. Pool size is limited by the endpoint configuration, with more than one connection commands
+ * and file transfers may run in parallel.
+ *
+ * File transfer commands STOR, APPE and RETR stream file content between local file and passive mode data connection
+ * without loading the file into memory. LIST command returns the file names in the reply payload.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -43,9 +58,18 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(FtpClient.class);
 
-    /** Apache ftp client */
+    /** Buffer size used for file transfers */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Apache ftp client, first connection in pool */
     private FTPClient ftpClient;
 
+    /** All pooled connections */
+    private final List<FTPClient> connections = new ArrayList<>();
+
+    /** Pooled connections not in use */
+    private final BlockingQueue<FTPClient> idleConnections = new LinkedBlockingQueue<>();
+
     /** Apache ftp client configuration */
     private FTPClientConfig config = new FTPClientConfig();
 
@@ -66,7 +90,7 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     protected FtpClient(FtpEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new EventDrivenCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -90,27 +114,277 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
         log.info(String.format("Sending FTP message to: ftp://'%s:%s'", getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
 
         if (log.isDebugEnabled()) {
-            log.debug("Message to be sent:\n" + ftpMessage.getPayload(String.class));
+            Object payload = ftpMessage.getPayload();
+            if (payload instanceof InputStream || payload instanceof InputStreamSource || payload instanceof File) {
+                log.debug("Message to be sent:\n" + payload);
+            } else {
+                log.debug("Message to be sent:\n" + ftpMessage.getPayload(String.class));
+            }
         }
 
+        FTPClient client = borrowConnection();
+        boolean broken = true;
         try {
-            connectAndLogin();
-
-            int reply = ftpClient.sendCommand(ftpMessage.getCommand(), ftpMessage.getArguments());
-
-            if(!FTPReply.isPositiveCompletion(reply) && !FTPReply.isPositivePreliminary(reply)) {
-                throw new CitrusRuntimeException(String.format("Failed to send FTP command - reply is: %s:%s", reply, ftpClient.getReplyString()));
+            connectAndLogin(client);
+            broken = false;
+
+            FTPCmd command = ftpMessage.getCommand();
+            FtpMessage reply;
+            if (FTPCmd.STOR.equals(command) || FTPCmd.APPE.equals(command)) {
+                reply = storeFile(client, ftpMessage);
+            } else if (FTPCmd.RETR.equals(command)) {
+                reply = retrieveFile(client, ftpMessage);
+            } else if (FTPCmd.LIST.equals(command)) {
+                reply = listFiles(client, ftpMessage);
+            } else {
+                reply = sendCommand(client, ftpMessage);
             }
 
             log.info(String.format("FTP message was successfully sent to: '%s:%s'", getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
 
-            correlationManager.store(correlationKey, new FtpMessage(ftpMessage.getCommand(), ftpMessage.getArguments())
-                    .replyCode(reply)
-                    .replyString(ftpClient.getReplyString()));
+            correlationManager.store(correlationKey, reply);
         } catch (IOException e) {
+            broken = true;
             throw new CitrusRuntimeException("Failed to execute ftp command", e);
+        } finally {
+            if (broken) {
+                discardConnection(client);
+            } else {
+                releaseConnection(client);
+            }
+        }
+    }
+
+    /**
+     * Sends raw ftp command on control connection.
+     * @param client
+     * @param ftpMessage
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage sendCommand(FTPClient client, FtpMessage ftpMessage) throws IOException {
+        int reply = client.sendCommand(ftpMessage.getCommand(), ftpMessage.getArguments());
+
+        if(!FTPReply.isPositiveCompletion(reply) && !FTPReply.isPositivePreliminary(reply)) {
+            throw new CitrusRuntimeException(String.format("Failed to send FTP command - reply is: %s:%s", reply, client.getReplyString()));
+        }
+
+        return new FtpMessage(ftpMessage.getCommand(), ftpMessage.getArguments())
+                .replyCode(reply)
+                .replyString(client.getReplyString());
+    }
+
+    /**
+     * Uploads local file or resource payload to remote path given in command arguments.
+     * @param client
+     * @param ftpMessage
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage storeFile(FTPClient client, FtpMessage ftpMessage) throws IOException {
+        String remotePath = ftpMessage.getArguments();
+
+        try (InputStream inputStream = getLocalInputStream(ftpMessage)) {
+            prepareDataTransfer(client);
+
+            boolean stored;
+            if (FTPCmd.APPE.equals(ftpMessage.getCommand())) {
+                stored = client.appendFile(remotePath, inputStream);
+            } else {
+                stored = client.storeFile(remotePath, inputStream);
+            }
+
+            if (!stored) {
+                throw new CitrusRuntimeException(String.format("Failed to store file '%s' - reply is: %s:%s", remotePath, client.getReplyCode(), client.getReplyString()));
+            }
+        }
+
+        return new FtpMessage(ftpMessage.getCommand(), remotePath)
+                .localPath(ftpMessage.getLocalPath())
+                .replyCode(client.getReplyCode())
+                .replyString(client.getReplyString());
+    }
+
+    /**
+     * Downloads remote file given in command arguments to local file. Uses temporary file when no
+     * local path is set. Reply message payload is backed by the local file. Temporary files are deleted as soon as
+     * the reply payload is no longer referenced.
+     * @param client
+     * @param ftpMessage
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage retrieveFile(FTPClient client, FtpMessage ftpMessage) throws IOException {
+        String remotePath = ftpMessage.getArguments();
+
+        boolean temporary = !StringUtils.hasText(ftpMessage.getLocalPath());
+        File localFile;
+        if (temporary) {
+            localFile = File.createTempFile("citrus-ftp", ".tmp");
+        } else {
+            localFile = new File(ftpMessage.getLocalPath());
+            if (localFile.getParentFile() != null && !localFile.getParentFile().exists() && !localFile.getParentFile().mkdirs()) {
+                throw new CitrusRuntimeException("Failed to create local directory for file: " + localFile.getAbsolutePath());
+            }
+        }
+
+        boolean retrieved = false;
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(localFile), BUFFER_SIZE)) {
+            prepareDataTransfer(client);
+            retrieved = client.retrieveFile(remotePath, outputStream);
+        } finally {
+            if (!retrieved && temporary) {
+                localFile.delete();
+            }
+        }
+
+        if (!retrieved) {
+            throw new CitrusRuntimeException(String.format("Failed to retrieve file '%s' - reply is: %s:%s", remotePath, client.getReplyCode(), client.getReplyString()));
+        }
+
+        FtpMessage reply = new FtpMessage(ftpMessage.getCommand(), remotePath)
+                .localPath(localFile.getAbsolutePath())
+                .replyCode(client.getReplyCode())
+                .replyString(client.getReplyString());
+        reply.setPayload(temporary ? TemporaryFileUtils.track(localFile) : new FileSystemResource(localFile));
+
+        return reply;
+    }
+
+    /**
+     * Lists files in remote directory given in command arguments. Reply message payload holds one file name per line.
+     * @param client
+     * @param ftpMessage
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage listFiles(FTPClient client, FtpMessage ftpMessage) throws IOException {
+        client.enterLocalPassiveMode();
+        FTPFile[] files = client.listFiles(ftpMessage.getArguments());
+
+        if (!FTPReply.isPositiveCompletion(client.getReplyCode())) {
+            throw new CitrusRuntimeException(String.format("Failed to list files - reply is: %s:%s", client.getReplyCode(), client.getReplyString()));
+        }
+
+        List<String> fileNames = new ArrayList<>();
+        for (FTPFile file : files) {
+            if (file != null) {
+                fileNames.add(file.getName());
+            }
+        }
+
+        FtpMessage reply = new FtpMessage(ftpMessage.getCommand(), ftpMessage.getArguments())
+                .replyCode(client.getReplyCode())
+                .replyString(client.getReplyString());
+        reply.setPayload(StringUtils.collectionToDelimitedString(fileNames, "\n"));
+
+        return reply;
+    }
+
+    /**
+     * Opens input stream on local file or resource payload of given file transfer message.
+     * @param ftpMessage
+     * @return
+     * @throws IOException
+     */
+    private InputStream getLocalInputStream(FtpMessage ftpMessage) throws IOException {
+        if (StringUtils.hasText(ftpMessage.getLocalPath())) {
+            return new BufferedInputStream(new FileInputStream(ftpMessage.getLocalPath()), BUFFER_SIZE);
+        } else if (ftpMessage.getPayload() instanceof InputStreamSource) {
+            return ((InputStreamSource) ftpMessage.getPayload()).getInputStream();
+        } else if (ftpMessage.getPayload() instanceof File) {
+            return new BufferedInputStream(new FileInputStream((File) ftpMessage.getPayload()), BUFFER_SIZE);
+        }
+
+        throw new CitrusRuntimeException(String.format("Missing local file path for FTP command %s", ftpMessage.getCommand()));
+    }
+
+    /**
+     * Switches to binary file type and passive data connection mode.
+     * @param client
+     * @throws IOException
+     */
+    private void prepareDataTransfer(FTPClient client) throws IOException {
+        if (!client.setFileType(FTP.BINARY_FILE_TYPE)) {
+            throw new CitrusRuntimeException(String.format("Failed to switch to binary file type - reply is: %s:%s", client.getReplyCode(), client.getReplyString()));
+        }
+
+        client.enterLocalPassiveMode();
+    }
+
+    /**
+     * Gets connection from pool. Creates new connection if pool is not exhausted yet otherwise waits
+     * for a connection to be released.
+     * @return
+     */
+    protected FTPClient borrowConnection() {
+        FTPClient client;
+        synchronized (connections) {
+            client = idleConnections.poll();
+
+            if (client == null && connections.size() < Math.max(1, getEndpointConfiguration().getMaxConnections())) {
+                if (connections.isEmpty()) {
+                    if (ftpClient == null) {
+                        ftpClient = createFtpClient();
+                    }
+
+                    client = ftpClient;
+                } else {
+                    client = createFtpClient();
+                }
+
+                connections.add(client);
+            }
+        }
+
+        if (client == null) {
+            try {
+                client = idleConnections.poll(getEndpointConfiguration().getTimeout(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CitrusRuntimeException("Interrupted while waiting for pooled FTP connection", e);
+            }
+
+            if (client == null) {
+                throw new ActionTimeoutException("Action timeout while waiting for pooled FTP connection");
+            }
+        }
+
+        return client;
+    }
+
+    /**
+     * Returns connection to pool. Connections closed by the server or in service not available state
+     * are discarded.
+     * @param client
+     */
+    protected void releaseConnection(FTPClient client) {
+        if (!client.isConnected() || client.getReplyCode() == FTPReply.SERVICE_NOT_AVAILABLE) {
+            discardConnection(client);
+        } else {
+            idleConnections.offer(client);
+        }
+    }
+
+    /**
+     * Disconnects broken connection and removes it from pool. A disconnected client takes its place in the pool
+     * so commands waiting for a connection open a fresh one.
+     * @param client
+     */
+    protected void discardConnection(FTPClient client) {
+        try {
+            client.disconnect();
+        } catch (IOException e) {
+            log.warn("Failed to disconnect from FTP server", e);
         }
 
+        synchronized (connections) {
+            if (connections.remove(client)) {
+                FTPClient replacement = client == ftpClient ? client : createFtpClient();
+                connections.add(replacement);
+                idleConnections.offer(replacement);
+            }
+        }
     }
 
     /**
@@ -118,6 +392,15 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
      * @throws IOException
      */
     protected void connectAndLogin() throws IOException {
+        connectAndLogin(ftpClient);
+    }
+
+    /**
+     * Opens a new connection on given client and performs login with user name and password if set.
+     * @param ftpClient
+     * @throws IOException
+     */
+    protected void connectAndLogin(FTPClient ftpClient) throws IOException {
         if (!ftpClient.isConnected()) {
             ftpClient.connect(getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
 
@@ -176,6 +459,24 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
             ftpClient = new FTPClient();
         }
 
+        configure(ftpClient);
+    }
+
+    /**
+     * Creates new configured apache ftp client.
+     * @return
+     */
+    private FTPClient createFtpClient() {
+        FTPClient client = new FTPClient();
+        configure(client);
+        return client;
+    }
+
+    /**
+     * Applies client configuration and adds command logging.
+     * @param ftpClient
+     */
+    private void configure(FTPClient ftpClient) {
         ftpClient.configure(config);
 
         ftpClient.addProtocolCommandListener(new ProtocolCommandListener() {
@@ -193,16 +494,33 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
 
     @Override
     public void destroy() throws Exception {
-        if (ftpClient.isConnected()) {
-            ftpClient.logout();
+        Set<FTPClient> clients;
+        synchronized (connections) {
+            clients = new LinkedHashSet<>(connections);
+            connections.clear();
+            idleConnections.clear();
+        }
 
-            try {
-                ftpClient.disconnect();
-            } catch (IOException e) {
-                log.warn("Failed to disconnect from FTP server", e);
-            }
+        if (ftpClient != null) {
+            clients.add(ftpClient);
+        }
+
+        for (FTPClient client : clients) {
+            if (client.isConnected()) {
+                try {
+                    client.logout();
+                } catch (IOException e) {
+                    log.warn("Failed to logout from FTP server", e);
+                }
+
+                try {
+                    client.disconnect();
+                } catch (IOException e) {
+                    log.warn("Failed to disconnect from FTP server", e);
+                }
 
-            log.info("Successfully closed connection to FTP server");
+                log.info("Successfully closed connection to FTP server");
+            }
         }
     }
 
@@ -38,6 +38,9 @@ public class FtpEndpointConfiguration extends AbstractPollableEndpointConfigurat
     /** User password used for login */
     private String password;
 
+    /** Maximum number of pooled connections used for parallel commands and file transfers */
+    private int maxConnections = 1;
+
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
@@ -120,4 +123,20 @@ public class FtpEndpointConfiguration extends AbstractPollableEndpointConfigurat
     public String getPassword() {
         return password;
     }
+
+    /**
+     * Sets the maximum number of pooled connections.
+     * @param maxConnections
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections.
+     * @return
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
 }
@@ -21,6 +21,10 @@ import com.consol.citrus.message.Message;
 import org.apache.commons.net.ftp.FTPCmd;
 
 /**
+ * Ftp message holds the command, its arguments and the reply. File transfer commands (STOR, APPE and RETR) use
+ * an optional local file path as source or target of the transfer. File content is then streamed
+ * between disk and the data connection and reply messages carry a file-backed payload.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -73,6 +77,15 @@ public class FtpMessage extends DefaultMessage {
         return this;
     }
 
+    /**
+     * Sets the local file path used as source or target of a file transfer.
+     * @param localPath
+     */
+    public FtpMessage localPath(String localPath) {
+        setHeader(FtpMessageHeaders.FTP_LOCAL_PATH, localPath);
+        return this;
+    }
+
     /**
      * Sets the reply code.
      * @param replyCode
@@ -108,6 +121,19 @@ public class FtpMessage extends DefaultMessage {
         return null;
     }
 
+    /**
+     * Gets the local file path.
+     */
+    public String getLocalPath() {
+        Object localPath = getHeader(FtpMessageHeaders.FTP_LOCAL_PATH);
+
+        if (localPath != null) {
+            return localPath.toString();
+        }
+
+        return null;
+    }
+
     /**
      * Gets the reply code.
      */
@@ -37,6 +37,9 @@ public final class FtpMessageHeaders {
     public static final String FTP_COMMAND = FTP_PREFIX + "command";
     public static final String FTP_ARGS = FTP_PREFIX + "arguments";
 
+    /** Local file path used as source or target of file transfer commands */
+    public static final String FTP_LOCAL_PATH = FTP_PREFIX + "local_path";
+
     /** Reply headers */
     public static final String FTP_REPLY_CODE = FTP_PREFIX + "reply_code";
     public static final String FTP_REPLY_STRING = FTP_PREFIX + "reply_string";
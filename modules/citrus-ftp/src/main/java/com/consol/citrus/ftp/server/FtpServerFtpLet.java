@@ -19,9 +19,12 @@ package com.consol.citrus.ftp.server;
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.ftp.message.FtpMessage;
 import org.apache.commons.net.ftp.FTPCmd;
+import org.apache.commons.net.ftp.FTPReply;
+import org.apache.ftpserver.filesystem.nativefs.impl.NativeFtpFile;
 import org.apache.ftpserver.ftplet.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
 
 import java.io.IOException;
 
@@ -31,6 +34,9 @@ import java.io.IOException;
  *
  * Test case can manage the Ftp command result by providing a Ftp result message.
  *
+ * File upload commands are forwarded after the upload has completed. The message payload is then backed by the
+ * uploaded file so large files are not loaded into memory.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -66,16 +72,50 @@ public class FtpServerFtpLet implements Ftplet {
 
         log.info(String.format("Received FTP command: '%s'", command));
 
-        endpointAdapter.handleMessage(new FtpMessage(FTPCmd.valueOf(command), request.getArgument()));
+        if (isUpload(command)) {
+            log.debug("Forwarding upload command when file transfer has completed");
+        } else {
+            endpointAdapter.handleMessage(new FtpMessage(FTPCmd.valueOf(command), request.getArgument()));
+        }
 
         return FtpletResult.DEFAULT;
     }
 
     @Override
     public FtpletResult afterCommand(FtpSession session, FtpRequest request, FtpReply reply) throws FtpException, IOException {
+        String command = request.getCommand().toUpperCase();
+
+        if (isUpload(command)) {
+            FtpMessage ftpMessage = new FtpMessage(FTPCmd.valueOf(command), request.getArgument())
+                    .replyCode(reply.getCode())
+                    .replyString(reply.getMessage());
+
+            if (FTPReply.isPositiveCompletion(reply.getCode())) {
+                FtpFile file = session.getFileSystemView().getFile(request.getArgument());
+
+                if (file instanceof NativeFtpFile) {
+                    ftpMessage.localPath(((NativeFtpFile) file).getPhysicalFile().getAbsolutePath());
+                    ftpMessage.setPayload(new FileSystemResource(((NativeFtpFile) file).getPhysicalFile()));
+                }
+            }
+
+            log.info(String.format("Received FTP file upload: '%s'", request.getArgument()));
+
+            endpointAdapter.handleMessage(ftpMessage);
+        }
+
         return FtpletResult.DEFAULT;
     }
 
+    /**
+     * Checks for file upload command.
+     * @param command
+     * @return
+     */
+    private boolean isUpload(String command) {
+        return FTPCmd.STOR.getCommand().equals(command) || FTPCmd.APPE.getCommand().equals(command);
+    }
+
     @Override
     public FtpletResult onConnect(FtpSession session) throws FtpException, IOException {
         log.info(String.format("Received new FTP connection: '%s'", session.getSessionId()));
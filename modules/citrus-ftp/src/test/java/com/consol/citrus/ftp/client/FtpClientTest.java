@@ -16,16 +16,23 @@
 
 package com.consol.citrus.ftp.client;
 
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.ftp.message.FtpMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.util.TemporaryFileUtils;
 import org.apache.commons.net.ProtocolCommandListener;
 import org.apache.commons.net.ftp.*;
 import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.*;
+
 import static org.easymock.EasyMock.*;
 
 /**
@@ -80,13 +87,15 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
 
         reset(apacheFtpClient);
 
-        expect(apacheFtpClient.isConnected()).andReturn(false).once();
+        expect(apacheFtpClient.isConnected())
+                .andReturn(false).once()
+                .andReturn(true).once();
 
         apacheFtpClient.connect("localhost", 22222);
         expectLastCall().once();
 
         expect(apacheFtpClient.getReplyString()).andReturn("OK").times(2);
-        expect(apacheFtpClient.getReplyCode()).andReturn(200).once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(200).times(2);
 
         expect(apacheFtpClient.sendCommand(FTPCmd.PWD, null)).andReturn(200).once();
 
@@ -121,7 +130,7 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
 
         expect(apacheFtpClient.isConnected())
                 .andReturn(false).once()
-                .andReturn(true).once();
+                .andReturn(true).times(3);
 
         apacheFtpClient.connect("localhost", 22222);
         expectLastCall().once();
@@ -129,7 +138,7 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
         expect(apacheFtpClient.login("admin", "consol")).andReturn(true).once();
 
         expect(apacheFtpClient.getReplyString()).andReturn("OK").times(3);
-        expect(apacheFtpClient.getReplyCode()).andReturn(200).once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(200).times(3);
 
         expect(apacheFtpClient.sendCommand(FTPCmd.PWD, null)).andReturn(200).once();
         expect(apacheFtpClient.sendCommand(FTPCmd.MKD, "testDir")).andReturn(201).once();
@@ -165,6 +174,131 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
         verify(apacheFtpClient);
     }
 
+    @Test
+    public void testStoreFile() throws Exception {
+        FtpClient ftpClient = new FtpClient();
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        final File localFile = File.createTempFile("citrus-ftp-test", ".txt");
+        localFile.deleteOnExit();
+        FileCopyUtils.copy("Hello Citrus".getBytes(), localFile);
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected())
+                .andReturn(false).once()
+                .andReturn(true).once();
+
+        apacheFtpClient.connect("localhost", 22222);
+        expectLastCall().once();
+
+        expect(apacheFtpClient.getReplyString()).andReturn("OK").times(2);
+        expect(apacheFtpClient.getReplyCode()).andReturn(226).times(3);
+
+        expect(apacheFtpClient.setFileType(FTP.BINARY_FILE_TYPE)).andReturn(true).once();
+        apacheFtpClient.enterLocalPassiveMode();
+        expectLastCall().once();
+
+        expect(apacheFtpClient.storeFile(eq("upload.txt"), anyObject(InputStream.class))).andAnswer(new IAnswer<Boolean>() {
+            @Override
+            public Boolean answer() throws Throwable {
+                InputStream inputStream = (InputStream) getCurrentArguments()[1];
+                Assert.assertEquals(FileCopyUtils.copyToByteArray(inputStream), "Hello Citrus".getBytes());
+                return true;
+            }
+        }).once();
+
+        replay(apacheFtpClient);
+
+        ftpClient.send(new FtpMessage(FTPCmd.STOR, "upload.txt").localPath(localFile.getAbsolutePath()), context);
+
+        FtpMessage ftpReply = (FtpMessage) ftpClient.receive(context);
+
+        Assert.assertEquals(ftpReply.getCommand(), FTPCmd.STOR);
+        Assert.assertEquals(ftpReply.getArguments(), "upload.txt");
+        Assert.assertEquals(ftpReply.getLocalPath(), localFile.getAbsolutePath());
+        Assert.assertEquals(ftpReply.getReplyCode(), new Integer(226));
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testRetrieveFile() throws Exception {
+        FtpClient ftpClient = new FtpClient();
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        File localFile = new File(System.getProperty("java.io.tmpdir"), "citrus-ftp-download/download.txt");
+        localFile.deleteOnExit();
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected())
+                .andReturn(false).once()
+                .andReturn(true).once();
+
+        apacheFtpClient.connect("localhost", 22222);
+        expectLastCall().once();
+
+        expect(apacheFtpClient.getReplyString()).andReturn("OK").times(2);
+        expect(apacheFtpClient.getReplyCode()).andReturn(226).times(3);
+
+        expect(apacheFtpClient.setFileType(FTP.BINARY_FILE_TYPE)).andReturn(true).once();
+        apacheFtpClient.enterLocalPassiveMode();
+        expectLastCall().once();
+
+        expect(apacheFtpClient.retrieveFile(eq("download.txt"), anyObject(OutputStream.class))).andAnswer(new IAnswer<Boolean>() {
+            @Override
+            public Boolean answer() throws Throwable {
+                OutputStream outputStream = (OutputStream) getCurrentArguments()[1];
+                outputStream.write("Hello Citrus".getBytes());
+                return true;
+            }
+        }).once();
+
+        replay(apacheFtpClient);
+
+        ftpClient.send(new FtpMessage(FTPCmd.RETR, "download.txt").localPath(localFile.getPath()), context);
+
+        FtpMessage ftpReply = (FtpMessage) ftpClient.receive(context);
+
+        Assert.assertEquals(ftpReply.getCommand(), FTPCmd.RETR);
+        Assert.assertEquals(ftpReply.getLocalPath(), localFile.getAbsolutePath());
+        Assert.assertEquals(ftpReply.getPayload(String.class), "Hello Citrus");
+        Assert.assertTrue(localFile.exists());
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testConnectionPool() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setTimeout(100L);
+        FtpClient ftpClient = new FtpClient(endpointConfiguration);
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(true).once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(200).once();
+
+        replay(apacheFtpClient);
+
+        FTPClient connection = ftpClient.borrowConnection();
+        Assert.assertSame(connection, apacheFtpClient);
+
+        try {
+            ftpClient.borrowConnection();
+            Assert.fail("Missing timeout exception for exhausted connection pool");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().contains("pooled FTP connection"));
+        }
+
+        ftpClient.releaseConnection(connection);
+        Assert.assertSame(ftpClient.borrowConnection(), apacheFtpClient);
+
+        verify(apacheFtpClient);
+    }
+
     @Test(expectedExceptions = CitrusRuntimeException.class)
     public void testCommandWithUserLoginFailed() throws Exception {
         FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
@@ -186,6 +320,9 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
 
         expect(apacheFtpClient.login("admin", "consol")).andReturn(false).once();
 
+        apacheFtpClient.disconnect();
+        expectLastCall().once();
+
         replay(apacheFtpClient);
 
         ftpClient.send(new FtpMessage(FTPCmd.PWD, null), context);
@@ -200,13 +337,15 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
 
         reset(apacheFtpClient);
 
-        expect(apacheFtpClient.isConnected()).andReturn(false).once();
+        expect(apacheFtpClient.isConnected())
+                .andReturn(false).once()
+                .andReturn(true).once();
 
         apacheFtpClient.connect("localhost", 22222);
         expectLastCall().once();
 
         expect(apacheFtpClient.getReplyString()).andReturn("OK").times(2);
-        expect(apacheFtpClient.getReplyCode()).andReturn(200).once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(200).times(2);
 
         expect(apacheFtpClient.sendCommand(FTPCmd.PWD, null)).andReturn(500).once();
 
@@ -216,4 +355,106 @@ public class FtpClientTest extends AbstractTestNGUnitTest {
 
         verify(apacheFtpClient);
     }
+
+    @Test
+    public void testRetrieveTemporaryFile() throws Exception {
+        FtpClient ftpClient = new FtpClient();
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected())
+                .andReturn(false).once()
+                .andReturn(true).once();
+
+        apacheFtpClient.connect("localhost", 22222);
+        expectLastCall().once();
+
+        expect(apacheFtpClient.getReplyString()).andReturn("OK").times(2);
+        expect(apacheFtpClient.getReplyCode()).andReturn(226).times(3);
+
+        expect(apacheFtpClient.setFileType(FTP.BINARY_FILE_TYPE)).andReturn(true).once();
+        apacheFtpClient.enterLocalPassiveMode();
+        expectLastCall().once();
+
+        expect(apacheFtpClient.retrieveFile(eq("download.txt"), anyObject(OutputStream.class))).andAnswer(new IAnswer<Boolean>() {
+            @Override
+            public Boolean answer() throws Throwable {
+                OutputStream outputStream = (OutputStream) getCurrentArguments()[1];
+                outputStream.write("Hello Citrus".getBytes());
+                return true;
+            }
+        }).once();
+
+        replay(apacheFtpClient);
+
+        ftpClient.send(new FtpMessage(FTPCmd.RETR, "download.txt"), context);
+
+        FtpMessage ftpReply = (FtpMessage) ftpClient.receive(context);
+        File localFile = new File(ftpReply.getLocalPath());
+
+        Assert.assertTrue(localFile.exists());
+        Assert.assertEquals(ftpReply.getPayload(String.class), "Hello Citrus");
+
+        TemporaryFileUtils.release(ftpReply.getPayload(Resource.class));
+        Assert.assertFalse(localFile.exists());
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testBrokenConnectionDiscarded() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setTimeout(100L);
+        FtpClient ftpClient = new FtpClient(endpointConfiguration);
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(false).once();
+
+        apacheFtpClient.connect("localhost", 22222);
+        expectLastCall().once();
+
+        expect(apacheFtpClient.getReplyString()).andReturn("OK").once();
+        expect(apacheFtpClient.getReplyCode()).andReturn(200).once();
+
+        expect(apacheFtpClient.sendCommand(FTPCmd.PWD, null)).andThrow(new FTPConnectionClosedException("Connection closed")).once();
+
+        apacheFtpClient.disconnect();
+        expectLastCall().once();
+
+        replay(apacheFtpClient);
+
+        try {
+            ftpClient.send(new FtpMessage(FTPCmd.PWD, null), context);
+            Assert.fail("Missing exception for broken connection");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof FTPConnectionClosedException);
+        }
+
+        Assert.assertSame(ftpClient.borrowConnection(), apacheFtpClient);
+
+        verify(apacheFtpClient);
+    }
+
+    @Test
+    public void testDestroyLogoutFailed() throws Exception {
+        FtpClient ftpClient = new FtpClient();
+        ftpClient.setFtpClient(apacheFtpClient);
+
+        reset(apacheFtpClient);
+
+        expect(apacheFtpClient.isConnected()).andReturn(true).once();
+        expect(apacheFtpClient.logout()).andThrow(new IOException("Connection reset")).once();
+
+        apacheFtpClient.disconnect();
+        expectLastCall().once();
+
+        replay(apacheFtpClient);
+
+        ftpClient.destroy();
+
+        verify(apacheFtpClient);
+    }
 }
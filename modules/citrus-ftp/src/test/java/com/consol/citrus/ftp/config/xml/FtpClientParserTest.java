@@ -43,6 +43,7 @@ public class FtpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getPort(), new Integer(22222));
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getMaxConnections(), 1);
 
         // 2nd ftp client
         ftpClient = clients.get("ftpClient2");
@@ -51,6 +52,7 @@ public class FtpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getUser(), "user");
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getPassword(), "consol");
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getMaxConnections(), 4);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getTimeout(), 10000L);
 
         // 3rd ftp client
@@ -19,12 +19,16 @@ package com.consol.citrus.ftp.server;
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.ftp.message.FtpMessage;
 import org.apache.commons.net.ftp.FTPCmd;
+import org.apache.ftpserver.filesystem.nativefs.impl.NativeFtpFile;
 import org.apache.ftpserver.ftplet.*;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.io.IOException;
 
 import static org.easymock.EasyMock.*;
@@ -38,6 +42,8 @@ public class FtpServerLetTest {
     private EndpointAdapter endpointAdapter = EasyMock.createMock(EndpointAdapter.class);
     private FtpSession ftpSession = EasyMock.createMock(FtpSession.class);
     private FtpRequest ftpRequest = EasyMock.createMock(FtpRequest.class);
+    private FtpReply ftpReply = EasyMock.createMock(FtpReply.class);
+    private FileSystemView fileSystemView = EasyMock.createMock(FileSystemView.class);
 
     private FtpServerFtpLet ftpLet = new FtpServerFtpLet(endpointAdapter);
 
@@ -74,4 +80,44 @@ public class FtpServerLetTest {
         verify(endpointAdapter, ftpSession, ftpRequest);
     }
 
+    @Test
+    public void testFileUpload() throws Exception {
+        final File uploaded = File.createTempFile("citrus-ftp-upload", ".txt");
+        uploaded.deleteOnExit();
+        FileCopyUtils.copy("Hello Citrus".getBytes(), uploaded);
+
+        reset(endpointAdapter, ftpSession, ftpRequest, ftpReply, fileSystemView);
+
+        expect(ftpRequest.getCommand()).andReturn(FTPCmd.STOR.getCommand()).times(2);
+        expect(ftpRequest.getArgument()).andReturn("upload.txt").times(3);
+        expect(ftpReply.getCode()).andReturn(226).times(2);
+        expect(ftpReply.getMessage()).andReturn("Transfer complete").once();
+        expect(ftpSession.getFileSystemView()).andReturn(fileSystemView).once();
+        expect(fileSystemView.getFile("upload.txt")).andReturn(new NativeFtpFile("/upload.txt", uploaded, null) {}).once();
+
+        expect(endpointAdapter.handleMessage(anyObject(FtpMessage.class))).andAnswer(new IAnswer<FtpMessage>() {
+            @Override
+            public FtpMessage answer() throws Throwable {
+                FtpMessage ftpMessage = (FtpMessage) getCurrentArguments()[0];
+
+                Assert.assertTrue(ftpMessage.getPayload() instanceof Resource);
+                Assert.assertEquals(ftpMessage.getPayload(String.class), "Hello Citrus");
+
+                Assert.assertEquals(ftpMessage.getCommand(), FTPCmd.STOR);
+                Assert.assertEquals(ftpMessage.getArguments(), "upload.txt");
+                Assert.assertEquals(ftpMessage.getLocalPath(), uploaded.getAbsolutePath());
+                Assert.assertEquals(ftpMessage.getReplyCode(), new Integer(226));
+
+                return null;
+            }
+        }).once();
+
+        replay(endpointAdapter, ftpSession, ftpRequest, ftpReply, fileSystemView);
+
+        Assert.assertEquals(ftpLet.beforeCommand(ftpSession, ftpRequest), FtpletResult.DEFAULT);
+        Assert.assertEquals(ftpLet.afterCommand(ftpSession, ftpRequest, ftpReply), FtpletResult.DEFAULT);
+
+        verify(endpointAdapter, ftpSession, ftpRequest, ftpReply, fileSystemView);
+    }
+
 }
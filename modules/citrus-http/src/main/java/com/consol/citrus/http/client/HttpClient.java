@@ -24,34 +24,46 @@ import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.message.*;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.EventDrivenCorrelationManager;
 import com.consol.citrus.messaging.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
+import java.io.*;
 import java.util.Arrays;
 
 /**
  * Http client sends messages via Http protocol to some Http server instance, defined by a request endpoint url. Synchronous response
  * messages are cached in local memory and receive operations are able to fetch responses from this cache later on.
  *
+ * In asynchronous mode send operations return immediately and requests are executed on the endpoint's executor
+ * using the pooled connections of the request factory. Responses get cached as soon as they arrive. Asynchronous mode
+ * offers bounded concurrency and is not a non-blocking client: each request in flight occupies an executor thread
+ * and a blocking pooled connection, so the number of concurrent requests is limited by the executor and the
+ * connection pool size.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HttpClient.class);
 
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
+    /** Rest template that has already been initialized with response error handler */
+    private volatile RestTemplate initializedRestTemplate;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -66,7 +78,7 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
     public HttpClient(HttpEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new EventDrivenCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -76,12 +88,7 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
     @Override
     public void send(Message message, TestContext context) {
-        if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
-            LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
-            loggingClientInterceptor.setMessageListener(context.getMessageListeners());
-
-            getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
-        }
+        RestTemplate restTemplate = getRestTemplate(context);
 
         HttpMessage httpMessage;
         if (message instanceof HttpMessage) {
@@ -104,7 +111,12 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         log.info("Sending HTTP message to: '" + endpointUri + "'");
 
         if (log.isDebugEnabled()) {
-            log.debug("Message to be sent:\n" + httpMessage.getPayload(String.class));
+            Object payload = httpMessage.getPayload();
+            if (payload instanceof InputStream || payload instanceof InputStreamSource || payload instanceof File) {
+                log.debug("Message to be sent:\n" + payload);
+            } else {
+                log.debug("Message to be sent:\n" + httpMessage.getPayload(String.class));
+            }
         }
 
         HttpMethod method = getEndpointConfiguration().getRequestMethod();
@@ -114,14 +126,87 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
         HttpEntity<?> requestEntity = getEndpointConfiguration().getMessageConverter().convertOutbound(httpMessage, getEndpointConfiguration());
 
-        getEndpointConfiguration().getRestTemplate().setErrorHandler(new InternalResponseErrorHandler(correlationKey));
-        ResponseEntity<?> response = getEndpointConfiguration().getRestTemplate().exchange(endpointUri, method, requestEntity, String.class);
+        if (getEndpointConfiguration().isAsync()) {
+            sendAsync(restTemplate, endpointUri, method, requestEntity, correlationKey);
+        } else {
+            exchange(restTemplate, endpointUri, method, requestEntity, correlationKey);
+        }
+    }
+
+    /**
+     * Sends request on the asynchronous executor. Send operation returns immediately. Errors are stored
+     * with the correlation key so waiting receive operations fail right away.
+     * @param restTemplate
+     * @param endpointUri
+     * @param method
+     * @param requestEntity
+     * @param correlationKey
+     */
+    private void sendAsync(final RestTemplate restTemplate, final String endpointUri, final HttpMethod method, final HttpEntity<?> requestEntity, final String correlationKey) {
+        getEndpointConfiguration().getAsyncExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    exchange(restTemplate, endpointUri, method, requestEntity, correlationKey);
+                } catch (RuntimeException e) {
+                    log.error("Failed to send HTTP message to endpoint: '" + endpointUri + "'", e);
+                    correlationManager.store(correlationKey, new AsyncErrorMessage(e));
+                }
+
+                if (log.isDebugEnabled() && getEndpointConfiguration().getConnectionPoolStats() != null) {
+                    log.debug("HTTP client connection pool: " + getEndpointConfiguration().getConnectionPoolStats());
+                }
+            }
+        });
+
+        log.info("HTTP message was scheduled for sending to endpoint: '" + endpointUri + "'");
+    }
+
+    /**
+     * Exchanges request with the server and stores response with given correlation key.
+     * @param restTemplate
+     * @param endpointUri
+     * @param method
+     * @param requestEntity
+     * @param correlationKey
+     */
+    private void exchange(RestTemplate restTemplate, String endpointUri, HttpMethod method, HttpEntity<?> requestEntity, String correlationKey) {
+        ResponseEntity<?> response = restTemplate.exchange(endpointUri, method, requestEntity, getEndpointConfiguration().getResponseType());
 
         log.info("HTTP message was successfully sent to endpoint: '" + endpointUri + "'");
 
         correlationManager.store(correlationKey, getEndpointConfiguration().getMessageConverter().convertInbound(response, getEndpointConfiguration()));
     }
 
+    /**
+     * Gets the rest template from endpoint configuration. The logging interceptor and the response error handler are
+     * set once per rest template instance as they do not hold any request specific state. Initialization happens on the
+     * calling thread before any asynchronous request uses the rest template.
+     * @param context
+     * @return
+     */
+    private RestTemplate getRestTemplate(TestContext context) {
+        RestTemplate restTemplate = getEndpointConfiguration().getRestTemplate();
+
+        if (restTemplate != initializedRestTemplate) {
+            synchronized (this) {
+                if (restTemplate != initializedRestTemplate) {
+                    if (CollectionUtils.isEmpty(getEndpointConfiguration().getClientInterceptors())) {
+                        LoggingClientInterceptor loggingClientInterceptor = new LoggingClientInterceptor();
+                        loggingClientInterceptor.setMessageListener(context.getMessageListeners());
+
+                        getEndpointConfiguration().setClientInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(loggingClientInterceptor));
+                    }
+
+                    restTemplate.setErrorHandler(new InternalResponseErrorHandler());
+                    initializedRestTemplate = restTemplate;
+                }
+            }
+        }
+
+        return restTemplate;
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
@@ -143,6 +228,10 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
     public Message receive(String selector, TestContext context, long timeout) {
         Message message = correlationManager.find(selector, timeout);
 
+        if (message instanceof AsyncErrorMessage) {
+            throw ((AsyncErrorMessage) message).getError();
+        }
+
         if (message == null) {
             throw new ActionTimeoutException("Action timeout while receiving synchronous reply message from http server");
         }
@@ -151,29 +240,21 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
     }
 
     /**
-     * Handles error response messages constructing a proper response message
-     * which will be propagated to the respective reply handler for
-     * further processing.
+     * Handles error response messages according to the error handling strategy. Propagated error responses
+     * are extracted like any other response message and stored for further processing. Error handler is
+     * free of request state and therefore safe to share among concurrent requests.
      */
     private class InternalResponseErrorHandler implements ResponseErrorHandler {
 
-        /** Request message associated with this response error handler */
-        private String correlationKey;
-
-        /**
-         * Default constructor provided with request message
-         * associated with this error handler.
-         */
-        public InternalResponseErrorHandler(String correlationKey) {
-            this.correlationKey = correlationKey;
-        }
+        /** Default Spring error handler */
+        private final DefaultResponseErrorHandler defaultErrorHandler = new DefaultResponseErrorHandler();
 
         /**
          * Check for error HTTP status code in response message.
          * Delegates to default Spring implementation.
          */
         public boolean hasError(ClientHttpResponse response) throws IOException {
-            return new DefaultResponseErrorHandler().hasError(response);
+            return defaultErrorHandler.hasError(response);
         }
 
         /**
@@ -181,11 +262,9 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
          */
         public void handleError(ClientHttpResponse response) throws IOException {
             if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
-                Message responseMessage = getEndpointConfiguration().getMessageConverter().convertInbound(
-                        new ResponseEntity(response.getBody(), response.getHeaders(), response.getStatusCode()), getEndpointConfiguration());
-                correlationManager.store(correlationKey, responseMessage);
+                log.debug("Propagating HTTP error response with status: " + response.getStatusCode());
             } else if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
-                new DefaultResponseErrorHandler().handleError(response);
+                defaultErrorHandler.handleError(response);
             } else {
                 throw new CitrusRuntimeException("Unsupported error strategy: " + getEndpointConfiguration().getErrorHandlingStrategy());
             }
@@ -193,6 +272,22 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
     }
 
+    /**
+     * Error marker stored instead of a response message when an asynchronous request fails.
+     */
+    private static final class AsyncErrorMessage extends DefaultMessage {
+        private final RuntimeException error;
+
+        private AsyncErrorMessage(RuntimeException error) {
+            super(error.getMessage() != null ? error.getMessage() : error.getClass().getName());
+            this.error = error;
+        }
+
+        private RuntimeException getError() {
+            return error;
+        }
+    }
+
     /**
      * Creates a message producer for this endpoint for sending messages
      * to this endpoint.
@@ -221,4 +316,9 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         this.correlationManager = correlationManager;
     }
 
+    @Override
+    public void destroy() throws Exception {
+        getEndpointConfiguration().destroy();
+    }
+
 }
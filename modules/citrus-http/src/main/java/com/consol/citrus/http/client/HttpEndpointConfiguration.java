@@ -20,7 +20,11 @@ import com.consol.citrus.endpoint.AbstractPollableEndpointConfiguration;
 import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
 import com.consol.citrus.http.message.HttpMessageConverter;
+import com.consol.citrus.http.message.SpillingResourceHttpMessageConverter;
 import com.consol.citrus.message.*;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.*;
@@ -29,6 +33,8 @@ import org.springframework.integration.mapping.HeaderMapper;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Christoph Deppisch
@@ -72,6 +78,28 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
+    /** Send requests on bounded executor and store responses on completion */
+    private boolean async = false;
+
+    /** Connection pool sizing of default request factory */
+    private int maxConnections = 20;
+    private int maxConnectionsPerRoute = 20;
+
+    /** Connection manager of default request factory */
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    /** Executor running asynchronous requests */
+    private ExecutorService asyncExecutor;
+
+    /** Whether async executor has been created by this configuration */
+    private boolean defaultAsyncExecutor = false;
+
+    /** Response body type read by rest template */
+    private Class<?> responseType = String.class;
+
+    /** Resource converter of default rest template spilling large response bodies to disk */
+    private final SpillingResourceHttpMessageConverter resourceMessageConverter = new SpillingResourceHttpMessageConverter();
+
     /**
      * Get the complete request URL.
      * @return the urlPath
@@ -184,6 +212,7 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
         if (restTemplate == null) {
             restTemplate = new RestTemplate();
             restTemplate.setRequestFactory(getRequestFactory());
+            restTemplate.getMessageConverters().add(0, resourceMessageConverter);
         }
 
         return restTemplate;
@@ -242,9 +271,16 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
      * Gets the client request factory.
      * @return
      */
-    public ClientHttpRequestFactory getRequestFactory() {
+    public synchronized ClientHttpRequestFactory getRequestFactory() {
         if (requestFactory == null) {
-            requestFactory = new HttpComponentsClientHttpRequestFactory();
+            connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+            requestFactory = new HttpComponentsClientHttpRequestFactory(HttpClientBuilder.create()
+                    .useSystemProperties()
+                    .setConnectionManager(connectionManager)
+                    .build());
         }
 
         return requestFactory;
@@ -274,4 +310,145 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
         this.messageConverter = messageConverter;
     }
 
+    /**
+     * Gets connection pool statistics of the default request factory. Returns null
+     * when custom request factory or rest template is used.
+     * @return
+     */
+    public PoolStats getConnectionPoolStats() {
+        PoolingHttpClientConnectionManager manager = connectionManager;
+        return manager != null ? manager.getTotalStats() : null;
+    }
+
+    /**
+     * Gets the executor running asynchronous requests. Default executor uses a daemon thread per pooled connection.
+     * @return
+     */
+    public synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newFixedThreadPool(maxConnections, new ThreadFactory() {
+                private final AtomicInteger threadCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "citrus-http-client-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            defaultAsyncExecutor = true;
+        }
+
+        return asyncExecutor;
+    }
+
+    /**
+     * Shuts down default async executor and closes pooled connections of default request factory.
+     * Custom executor services and request factories are left untouched.
+     */
+    public synchronized void destroy() {
+        if (asyncExecutor != null && defaultAsyncExecutor) {
+            asyncExecutor.shutdownNow();
+            asyncExecutor = null;
+            defaultAsyncExecutor = false;
+        }
+
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+            connectionManager = null;
+        }
+    }
+
+    /**
+     * Sets the executor running asynchronous requests.
+     * @param asyncExecutor
+     */
+    public synchronized void setAsyncExecutor(ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        this.defaultAsyncExecutor = false;
+    }
+
+    /**
+     * Gets the async.
+     * @return the async
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Enables asynchronous requests. Send operation returns immediately and response is stored on completion.
+     * Requests still use blocking pooled connections on the async executor, so concurrency is bounded by executor
+     * threads and max connections rather than being non-blocking.
+     * @param async the async to set
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Gets the maxConnections.
+     * @return the maxConnections
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections of the default request factory.
+     * @param maxConnections the maxConnections to set
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the maxConnectionsPerRoute.
+     * @return the maxConnectionsPerRoute
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections per route of the default request factory.
+     * @param maxConnectionsPerRoute the maxConnectionsPerRoute to set
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Gets the response body type.
+     * @return
+     */
+    public Class<?> getResponseType() {
+        return responseType;
+    }
+
+    /**
+     * Sets the response body type. Supported types are String, byte array and resource. Binary types
+     * skip character decoding and resource responses can be spilled to disk.
+     * @param responseType
+     */
+    public void setResponseType(Class<?> responseType) {
+        this.responseType = responseType;
+    }
+
+    /**
+     * Gets the maximum number of resource response body bytes held in memory.
+     * @return
+     */
+    public long getInMemoryThreshold() {
+        return resourceMessageConverter.getInMemoryThreshold();
+    }
+
+    /**
+     * Sets the maximum number of resource response body bytes held in memory. Larger bodies are spilled
+     * to a temporary file. Negative value disables spilling.
+     * @param inMemoryThreshold
+     */
+    public void setInMemoryThreshold(long inMemoryThreshold) {
+        resourceMessageConverter.setInMemoryThreshold(inMemoryThreshold);
+    }
 }
@@ -56,6 +56,15 @@ public class HttpServerParser extends AbstractServerParser {
 
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("message-converter"), "messageConverter");
 
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("min-threads"), "minThreads");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-threads"), "maxThreads");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-queue-size"), "maxQueueSize");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("thread-idle-timeout"), "threadIdleTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("acceptors"), "acceptors");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("selectors"), "selectors");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("idle-timeout"), "idleTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("in-memory-threshold"), "inMemoryThreshold");
+
         ManagedList<RuntimeBeanReference> webSocketReferences = new ManagedList<>();
 
         Element socketsElement = DomUtils.getChildElementByTagName(element, "websockets");
@@ -19,16 +19,22 @@ package com.consol.citrus.http.controller;
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
+import com.consol.citrus.http.message.HttpBodyCache;
 import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
 import com.consol.citrus.message.Message;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.util.UrlPathHelper;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
@@ -46,58 +52,81 @@ public class HttpMessageController {
     /** Endpoint configuration */
     private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
 
-    /** Hold the latest response message for message tracing reasons */
-    private ResponseEntity<String> responseCache;
-    
+    /** Request attribute holding the response entity for message tracing reasons */
+    public static final String RESPONSE_ATTRIBUTE = HttpMessageController.class.getName() + ".response";
+
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
-    public ResponseEntity<String> handleGetRequest(HttpEntity<String> requestEntity) {
+    public ResponseEntity<?> handleGetRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.GET, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.POST })
     @ResponseBody
-    public ResponseEntity<String> handlePostRequest(HttpEntity<String> requestEntity) {
+    public ResponseEntity<?> handlePostRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.POST, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.PUT })
     @ResponseBody
-    public ResponseEntity<String> handlePutRequest(HttpEntity<String> requestEntity) {
+    public ResponseEntity<?> handlePutRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.PUT, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.DELETE })
     @ResponseBody
-    public ResponseEntity<String> handleDeleteRequest(HttpEntity<String> requestEntity) {
+    public ResponseEntity<?> handleDeleteRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.DELETE, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.OPTIONS })
     @ResponseBody
-    public ResponseEntity<String> handleOptionsRequest(HttpEntity<String> requestEntity) {
+    public ResponseEntity<?> handleOptionsRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.OPTIONS, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.HEAD })
     @ResponseBody
-    public ResponseEntity<String> handleHeadRequest(HttpEntity<String> requestEntity) {
+    public ResponseEntity<?> handleHeadRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.HEAD, requestEntity);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.TRACE })
     @ResponseBody
-    public ResponseEntity<String> handleTraceRequest(HttpEntity<String> requestEntity) {
+    public ResponseEntity<?> handleTraceRequest(HttpEntity<String> requestEntity) {
         return handleRequestInternal(HttpMethod.TRACE, requestEntity);
     }
-    
+
+    /**
+     * Handles requests with binary content. Request body is not converted to String but passed as cached resource
+     * to the endpoint adapter. Body is only read into memory when someone actually needs the data.
+     * @param request
+     * @return
+     * @throws IOException
+     */
+    @RequestMapping(value= "**", consumes = { MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*", "audio/*", "video/*",
+            "application/zip", "application/gzip", "application/pdf" })
+    @ResponseBody
+    public ResponseEntity<?> handleBinaryRequest(HttpServletRequest request) throws IOException {
+        Resource body;
+        if (request instanceof CachingHttpServletRequestWrapper) {
+            body = ((CachingHttpServletRequestWrapper) request).getBodyResource();
+        } else {
+            body = HttpBodyCache.cache(request.getInputStream(), request.getContentLengthLong(), -1L);
+        }
+
+        return handleRequestInternal(HttpMethod.valueOf(request.getMethod()),
+                new HttpEntity<>(body, new ServletServerHttpRequest(request).getHeaders()));
+    }
+
     /**
      * Handles requests with endpoint adapter implementation. Previously sets Http request method as header parameter.
+     * Controller is shared by all concurrent requests so response entity is bound to the current request only.
      * @param method
      * @param requestEntity
      * @return
      */
-    private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
+    private ResponseEntity<?> handleRequestInternal(HttpMethod method, HttpEntity<?> requestEntity) {
         HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration);
 
         HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
@@ -118,8 +147,9 @@ public class HttpMessageController {
                 .method(method);
 
         Message response = endpointAdapter.handleMessage(request);
+        ResponseEntity<?> responseEntity;
         if (response == null) {
-            responseCache = new ResponseEntity(HttpStatus.OK);
+            responseEntity = new ResponseEntity(HttpStatus.OK);
         } else {
             HttpMessage httpResponse;
             if (response instanceof HttpMessage) {
@@ -132,12 +162,13 @@ public class HttpMessageController {
                 httpResponse.status(HttpStatus.OK);
             }
 
-            responseCache = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
+            responseEntity = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration);
         }
 
-        return responseCache;
+        servletRequest.setAttribute(RESPONSE_ATTRIBUTE, responseEntity);
+        return responseEntity;
     }
-    
+
     /**
      * Sets the endpointAdapter.
      * @param endpointAdapter the endpointAdapter to set
@@ -171,10 +202,26 @@ public class HttpMessageController {
     }
 
     /**
-     * Gets the responseCache.
-     * @return the responseCache the responseCache to get.
+     * Gets the response entity that has been created for given request.
+     * @param request the current servlet request.
+     * @return the response entity or null if request has not been handled by this controller.
+     */
+    public ResponseEntity<?> getResponseCache(HttpServletRequest request) {
+        return (ResponseEntity<?>) request.getAttribute(RESPONSE_ATTRIBUTE);
+    }
+
+    /**
+     * Gets the response entity that has been created for the request bound to the current thread.
+     * @return the response entity or null if no request is bound to the current thread.
+     * @deprecated use {@link #getResponseCache(HttpServletRequest)} instead.
      */
-    public ResponseEntity<String> getResponseCache() {
-        return responseCache;
+    @Deprecated
+    public ResponseEntity<?> getResponseCache() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        return (ResponseEntity<?>) requestAttributes.getAttribute(RESPONSE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
     }
 }
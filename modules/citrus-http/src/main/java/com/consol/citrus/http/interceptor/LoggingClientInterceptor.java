@@ -16,6 +16,7 @@
 
 package com.consol.citrus.http.interceptor;
 
+import com.consol.citrus.http.message.HttpBodyCache;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
 import org.slf4j.Logger;
@@ -51,11 +52,20 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, 
         ClientHttpRequestExecution execution) throws IOException {
-        handleRequest(getRequestContent(request, new String(body)));
+        if (HttpBodyCache.isBinaryContent(request.getHeaders().getContentType())) {
+            handleRequest(getRequestContent(request, String.format("<binary content of %s bytes>", body.length)));
+        } else {
+            handleRequest(getRequestContent(request, new String(body)));
+        }
         
         ClientHttpResponse response = execution.execute(request, body);
+        if (HttpBodyCache.isBinaryContent(response.getHeaders().getContentType())) {
+            handleResponse(getResponseContent(response, String.format("<binary content of %s bytes>", response.getHeaders().getContentLength())));
+            return response;
+        }
+
         CachingClientHttpResponseWrapper bufferedResponse = new CachingClientHttpResponseWrapper(response);
-        handleResponse(getResponseContent(bufferedResponse));
+        handleResponse(getResponseContent(bufferedResponse, bufferedResponse.getBodyContent()));
 
         return bufferedResponse;
     }
@@ -111,10 +121,11 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
     /**
      * Builds response content string from response object.
      * @param response
+     * @param body
      * @return
      * @throws IOException
      */
-    private String getResponseContent(CachingClientHttpResponseWrapper response) throws IOException {
+    private String getResponseContent(ClientHttpResponse response, String body) throws IOException {
         if (response != null) {
             StringBuilder builder = new StringBuilder();
             
@@ -127,7 +138,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
             appendHeaders(response.getHeaders(), builder);
             
             builder.append(NEWLINE);
-            builder.append(response.getBodyContent());
+            builder.append(body);
             
             return builder.toString();
         } else {
@@ -17,13 +17,16 @@
 package com.consol.citrus.http.interceptor;
 
 import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.message.HttpBodyCache;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
@@ -68,7 +71,7 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public void postHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        handleResponse(getResponseContent(response, handler));
+        handleResponse(getResponseContent(request, response, handler));
     }
 
     /**
@@ -141,16 +144,22 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
         }
         
         builder.append(NEWLINE);
-        builder.append(FileUtils.readToString(request.getInputStream()));
+        if (StringUtils.hasText(request.getContentType()) && HttpBodyCache.isBinaryContent(MediaType.parseMediaType(request.getContentType()))) {
+            builder.append(String.format("<binary content of %s bytes>", request.getContentLengthLong()));
+        } else {
+            builder.append(FileUtils.readToString(request.getInputStream()));
+        }
         
         return builder.toString();
     }
     
     /**
+     * @param request
      * @param response
+     * @param handler
      * @return
      */
-    private String getResponseContent(HttpServletResponse response, Object handler) {
+    private String getResponseContent(HttpServletRequest request, HttpServletResponse response, Object handler) {
         StringBuilder builder = new StringBuilder();
 
         builder.append(response);
@@ -158,11 +167,15 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
         if (handler instanceof HandlerMethod) {
             HandlerMethod handlerMethod = (HandlerMethod) handler;
             if (handlerMethod.getBean() instanceof HttpMessageController) {
-                ResponseEntity<String> responseEntity =
-                        ((HttpMessageController) handlerMethod.getBean()).getResponseCache();
+                ResponseEntity<?> responseEntity =
+                        ((HttpMessageController) handlerMethod.getBean()).getResponseCache(request);
                 if (responseEntity != null) {
                     builder.append(NEWLINE);
-                    builder.append(responseEntity.getBody());
+                    if (responseEntity.getBody() == null || responseEntity.getBody() instanceof String) {
+                        builder.append(responseEntity.getBody());
+                    } else {
+                        builder.append("<binary content>");
+                    }
                 }
             }
         }
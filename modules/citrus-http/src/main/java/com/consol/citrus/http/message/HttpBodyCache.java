@@ -0,0 +1,173 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.message;
+
+import com.consol.citrus.util.TemporaryFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads Http message bodies into a reusable resource. Bodies up to the given in memory threshold are held
+ * in a byte array sized by the content length if known. Larger bodies are spilled to a temporary file so
+ * huge binary payloads do not have to be held in memory.
+ *
+ * Temporary files are deleted when the body resource is released explicitly or as soon as the resource is no longer
+ * referenced by any message. Files still in use are removed when the JVM shuts down.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public final class HttpBodyCache {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(HttpBodyCache.class);
+
+    /** Copy buffer size */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Content types treated as binary data */
+    private static final List<MediaType> BINARY_MEDIA_TYPES = Arrays.asList(MediaType.APPLICATION_OCTET_STREAM,
+            MediaType.parseMediaType("image/*"), MediaType.parseMediaType("audio/*"), MediaType.parseMediaType("video/*"),
+            MediaType.parseMediaType("application/zip"), MediaType.parseMediaType("application/gzip"), MediaType.parseMediaType("application/pdf"));
+
+    /**
+     * Prevent instantiation.
+     */
+    private HttpBodyCache() {
+    }
+
+    /**
+     * Reads given input stream to resource. Negative threshold keeps all data in memory.
+     * @param inputStream the body input stream, may be null.
+     * @param contentLength the announced content length or negative value if unknown.
+     * @param threshold maximum number of bytes held in memory.
+     * @return byte array resource or file system resource for spilled bodies.
+     * @throws IOException
+     */
+    public static Resource cache(InputStream inputStream, long contentLength, long threshold) throws IOException {
+        TemporaryFileUtils.expungeUnreferenced();
+
+        if (inputStream == null) {
+            return new ByteArrayResource(new byte[] {});
+        }
+
+        try {
+            if (threshold < 0 || (contentLength >= 0 && contentLength <= threshold)) {
+                return new ByteArrayResource(readFully(inputStream, contentLength));
+            }
+
+            ByteArrayOutputStream memory = new ByteArrayOutputStream((int) Math.min(threshold, BUFFER_SIZE));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                if (memory.size() + read > threshold) {
+                    return TemporaryFileUtils.track(spill(memory, buffer, read, inputStream));
+                }
+
+                memory.write(buffer, 0, read);
+            }
+
+            return new ByteArrayResource(memory.toByteArray());
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Checks if content type denotes binary data that should not be decoded to String.
+     * @param contentType
+     * @return
+     */
+    public static boolean isBinaryContent(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+
+        for (MediaType binaryMediaType : BINARY_MEDIA_TYPES) {
+            if (binaryMediaType.includes(contentType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes temporary file of spilled body resource.
+     * @param body
+     */
+    public static void release(Resource body) {
+        TemporaryFileUtils.release(body);
+    }
+
+    /**
+     * Reads stream into byte array using content length as initial buffer size.
+     * @param inputStream
+     * @param contentLength
+     * @return
+     * @throws IOException
+     */
+    private static byte[] readFully(InputStream inputStream, long contentLength) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(contentLength > 0 && contentLength < Integer.MAX_VALUE ? (int) contentLength : BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes data read so far and remaining stream content to temporary file.
+     * @param memory
+     * @param buffer
+     * @param pending
+     * @param inputStream
+     * @return
+     * @throws IOException
+     */
+    private static File spill(ByteArrayOutputStream memory, byte[] buffer, int pending, InputStream inputStream) throws IOException {
+        File file = File.createTempFile("citrus-http-body", ".tmp");
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE)) {
+            memory.writeTo(out);
+            out.write(buffer, 0, pending);
+
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            file.delete();
+            throw e;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Spilled Http body of %s bytes to temporary file", file.length()));
+        }
+
+        return file;
+    }
+}
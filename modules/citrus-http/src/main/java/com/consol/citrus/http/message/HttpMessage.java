@@ -20,10 +20,12 @@ import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.*;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.*;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 /**
@@ -323,4 +325,55 @@ public class HttpMessage extends DefaultMessage {
         return null;
     }
 
+
+    /**
+     * Converts binary payloads such as byte arrays, input streams and resources only when a different payload type
+     * is requested. Input stream payloads can only be read once so stream content is kept as byte array payload.
+     * @param type
+     * @param <T>
+     * @return
+     */
+    @Override
+    public <T> T getPayload(Class<T> type) {
+        Object payload = getPayload();
+        if (payload == null || type.isInstance(payload)) {
+            return super.getPayload(type);
+        }
+
+        try {
+            if (payload instanceof InputStream) {
+                payload = FileCopyUtils.copyToByteArray((InputStream) payload);
+                setPayload(payload);
+
+                if (type.isInstance(payload)) {
+                    return type.cast(payload);
+                }
+            }
+
+            if (String.class.equals(type) && payload instanceof byte[]) {
+                return type.cast(new String((byte[]) payload, getPayloadCharset()));
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read Http message payload", e);
+        }
+
+        return super.getPayload(type);
+    }
+
+    /**
+     * Gets charset from content type header. Defaults to UTF-8 if not set.
+     * @return
+     */
+    @Override
+    protected Charset getPayloadCharset() {
+        Object contentType = getHeader("Content-Type");
+        if (contentType != null && StringUtils.hasText(contentType.toString())) {
+            Charset charset = MediaType.parseMediaType(contentType.toString()).getCharSet();
+            if (charset != null) {
+                return charset;
+            }
+        }
+
+        return Charset.forName("UTF-8");
+    }
 }
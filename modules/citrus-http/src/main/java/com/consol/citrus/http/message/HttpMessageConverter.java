@@ -18,9 +18,13 @@ package com.consol.citrus.http.message;
 
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
 import com.consol.citrus.message.*;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
 import org.springframework.util.StringUtils;
 
+import java.io.File;
+import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -58,7 +62,7 @@ public class HttpMessageConverter implements MessageConverter<HttpEntity, HttpEn
                     endpointConfiguration.getContentType() : endpointConfiguration.getContentType() + ";charset=" + endpointConfiguration.getCharset()));
         }
 
-        Object payload = httpMessage.getPayload();
+        Object payload = getBody(httpMessage.getPayload());
         if (httpMessage.getStatusCode() != null) {
             return new ResponseEntity(payload, httpHeaders, httpMessage.getStatusCode());
         }
@@ -75,6 +79,22 @@ public class HttpMessageConverter implements MessageConverter<HttpEntity, HttpEn
         return new HttpEntity<>(httpHeaders);
     }
 
+    /**
+     * Wraps streaming payloads in resources so message body is streamed to the connection
+     * without being read into memory.
+     * @param payload
+     * @return
+     */
+    private Object getBody(Object payload) {
+        if (payload instanceof InputStream) {
+            return new InputStreamResource((InputStream) payload);
+        } else if (payload instanceof File) {
+            return new FileSystemResource((File) payload);
+        }
+
+        return payload;
+    }
+
     private boolean httpMethodSupportsBody(HttpMethod method) {
         return HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method) || HttpMethod.DELETE.equals(method);
     }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.message;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Resource message converter reading response bodies with {@link HttpBodyCache} so large bodies
+ * are spilled to a temporary file instead of being held in memory. Writing resources streams the
+ * resource content as usual.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public class SpillingResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    /** Maximum number of body bytes held in memory, negative value disables spilling */
+    private volatile long inMemoryThreshold = -1L;
+
+    @Override
+    protected Resource readInternal(Class<? extends Resource> clazz, HttpInputMessage inputMessage) throws IOException {
+        return HttpBodyCache.cache(inputMessage.getBody(), inputMessage.getHeaders().getContentLength(), inMemoryThreshold);
+    }
+
+    /**
+     * Gets the in memory threshold.
+     * @return
+     */
+    public long getInMemoryThreshold() {
+        return inMemoryThreshold;
+    }
+
+    /**
+     * Sets the in memory threshold.
+     * @param inMemoryThreshold
+     */
+    public void setInMemoryThreshold(long inMemoryThreshold) {
+        this.inMemoryThreshold = inMemoryThreshold;
+    }
+}
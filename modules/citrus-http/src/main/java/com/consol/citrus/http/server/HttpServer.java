@@ -22,10 +22,11 @@ import com.consol.citrus.http.servlet.CitrusDispatcherServlet;
 import com.consol.citrus.http.servlet.RequestCachingServletFilter;
 import com.consol.citrus.server.AbstractServer;
 import org.eclipse.jetty.security.SecurityHandler;
-import org.eclipse.jetty.server.Connector;
-import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.*;
 import org.eclipse.jetty.server.handler.*;
 import org.eclipse.jetty.servlet.*;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -95,6 +96,30 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     /** Message converter */
     private HttpMessageConverter messageConverter = new HttpMessageConverter();
 
+    /** Minimum number of request handling threads */
+    private int minThreads = 8;
+
+    /** Maximum number of request handling threads */
+    private int maxThreads = 200;
+
+    /** Maximum number of requests waiting for a free thread, unbounded when not positive */
+    private int maxQueueSize = -1;
+
+    /** Idle time in milliseconds before request handling threads above minimum are stopped */
+    private int threadIdleTimeout = 60000;
+
+    /** Number of connector acceptor threads, Jetty computes default when negative */
+    private int acceptors = -1;
+
+    /** Number of connector selector threads, Jetty computes default when negative */
+    private int selectors = -1;
+
+    /** Connection idle timeout in milliseconds */
+    private long idleTimeout = 30000L;
+
+    /** Maximum number of request body bytes held in memory before spilling to disk, negative value disables spilling */
+    private long inMemoryThreshold = -1L;
+
     @Override
     protected void shutdown() {
         if (jettyServer != null) {
@@ -111,14 +136,17 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     @Override
     protected void startup() {
         synchronized (serverLock) {
+            jettyServer = new Server(createThreadPool());
+
             if (connectors != null && connectors.length > 0) {
-                jettyServer = new Server();
                 jettyServer.setConnectors(connectors);
             } else if (connector != null) {
-                jettyServer = new Server();
                 jettyServer.addConnector(connector);
             } else {
-                jettyServer = new Server(port);
+                ServerConnector serverConnector = new ServerConnector(jettyServer, acceptors, selectors);
+                serverConnector.setPort(port);
+                serverConnector.setIdleTimeout(idleTimeout);
+                jettyServer.addConnector(serverConnector);
             }
             
             HandlerCollection handlers = new HandlerCollection();
@@ -165,6 +193,26 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         }
     }
 
+    /**
+     * Creates request handling thread pool with optional bounded request queue.
+     * @return
+     */
+    private QueuedThreadPool createThreadPool() {
+        QueuedThreadPool threadPool;
+        if (maxQueueSize > 0) {
+            threadPool = new QueuedThreadPool(maxThreads, minThreads, threadIdleTimeout,
+                    new BlockingArrayQueue<Runnable>(Math.min(minThreads, maxQueueSize), minThreads, maxQueueSize));
+        } else {
+            threadPool = new QueuedThreadPool(maxThreads, minThreads, threadIdleTimeout);
+        }
+
+        if (StringUtils.hasText(getName())) {
+            threadPool.setName(getName() + "-qtp");
+        }
+
+        return threadPool;
+    }
+
     /**
      * Adds default Spring dispatcher servlet with servlet mapping.
      */
@@ -199,7 +247,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         filterMapping.setFilterName("request-caching-filter");
         filterMapping.setPathSpec("/*");
 
-        FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter());
+        FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter(inMemoryThreshold));
         filterHolder.setName("request-caching-filter");
         servletHandler.addFilter(filterHolder, filterMapping);
     }
@@ -550,4 +598,132 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     public void setMessageConverter(HttpMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the minimum number of request handling threads.
+     * @return
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the minimum number of request handling threads.
+     * @param minThreads
+     */
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Gets the maximum number of request handling threads.
+     * @return
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the maximum number of request handling threads.
+     * @param maxThreads
+     */
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Gets the maximum number of queued requests.
+     * @return
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of queued requests. Not positive values use an unbounded queue.
+     * @param maxQueueSize
+     */
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Gets the thread idle timeout.
+     * @return
+     */
+    public int getThreadIdleTimeout() {
+        return threadIdleTimeout;
+    }
+
+    /**
+     * Sets the thread idle timeout.
+     * @param threadIdleTimeout
+     */
+    public void setThreadIdleTimeout(int threadIdleTimeout) {
+        this.threadIdleTimeout = threadIdleTimeout;
+    }
+
+    /**
+     * Gets the number of acceptor threads.
+     * @return
+     */
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * Sets the number of acceptor threads.
+     * @param acceptors
+     */
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    /**
+     * Gets the number of selector threads.
+     * @return
+     */
+    public int getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Sets the number of selector threads.
+     * @param selectors
+     */
+    public void setSelectors(int selectors) {
+        this.selectors = selectors;
+    }
+
+    /**
+     * Gets the connection idle timeout.
+     * @return
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the connection idle timeout.
+     * @param idleTimeout
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets the request body in memory threshold.
+     * @return
+     */
+    public long getInMemoryThreshold() {
+        return inMemoryThreshold;
+    }
+
+    /**
+     * Sets the request body in memory threshold. Larger request bodies are spilled to a temporary file.
+     * @param inMemoryThreshold
+     */
+    public void setInMemoryThreshold(long inMemoryThreshold) {
+        this.inMemoryThreshold = inMemoryThreshold;
+    }
 }
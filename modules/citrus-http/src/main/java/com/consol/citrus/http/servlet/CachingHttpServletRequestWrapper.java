@@ -16,8 +16,8 @@
 
 package com.consol.citrus.http.servlet;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
@@ -25,47 +25,92 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
-import org.springframework.util.FileCopyUtils;
+import com.consol.citrus.http.message.HttpBodyCache;
+import org.springframework.core.io.Resource;
 
 /**
- * Caching wrapper saves request body data to cache when read.
+ * Caching wrapper saves request body data to cache when read. Bodies larger than the in memory threshold
+ * are spilled to a temporary file.
  * @author Christoph Deppisch
  */
 public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper {
     /** Cached request data initialized when first read from input stream */
-    private byte[] body;
+    private Resource body;
+
+    /** Maximum number of body bytes held in memory, negative value disables spilling */
+    private final long inMemoryThreshold;
+
+    /** Body resource has been handed out and must not be released with the request */
+    private boolean detached = false;
     
     /**
      * Default constructor using initial servlet request.
      * @param request
      */
     public CachingHttpServletRequestWrapper(HttpServletRequest request) {
+        this(request, -1L);
+    }
+
+    /**
+     * Constructor using initial servlet request and in memory threshold.
+     * @param request
+     * @param inMemoryThreshold
+     */
+    public CachingHttpServletRequestWrapper(HttpServletRequest request, long inMemoryThreshold) {
         super(request);
+        this.inMemoryThreshold = inMemoryThreshold;
     }
     
     @Override
     public ServletInputStream getInputStream() throws IOException {
+        return new RequestCachingInputStream(getBody().getInputStream());
+    }
+
+    /**
+     * Gets the cached request body as resource. Caller is responsible for the resource from now on so
+     * spilled body data is not removed when the request has been processed.
+     * @return
+     * @throws IOException
+     */
+    public Resource getBodyResource() throws IOException {
+        detached = true;
+        return getBody();
+    }
+
+    /**
+     * Removes spilled body data unless body resource has been handed out.
+     */
+    public void release() {
+        if (body != null && !detached) {
+            HttpBodyCache.release(body);
+        }
+    }
+
+    /**
+     * Reads request body to cache on first access.
+     * @return
+     * @throws IOException
+     */
+    private Resource getBody() throws IOException {
         if (body == null) {
-            if (super.getInputStream() != null) {
-                body = FileCopyUtils.copyToByteArray(super.getInputStream());
-            } else {
-                body = new byte[] {};
-            }
+            body = HttpBodyCache.cache(super.getInputStream(), getContentLengthLong(), inMemoryThreshold);
         }
-        return new RequestCachingInputStream();
+
+        return body;
     }
     
     /** Input stream uses cached request data */
-    private final class RequestCachingInputStream extends ServletInputStream {
-        private final ByteArrayInputStream is;
+    private static final class RequestCachingInputStream extends ServletInputStream {
+        private final InputStream is;
+        private boolean finished = false;
 
-        private RequestCachingInputStream() {
-            this.is = new ByteArrayInputStream(body);
+        private RequestCachingInputStream(InputStream is) {
+            this.is = is;
         }
 
         @Override
         public boolean isFinished() {
-            return is.available() == 0;
+            return finished;
         }
 
         @Override
@@ -80,8 +125,27 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
 
         @Override
         public int read() throws IOException {
-            return is.read();
+            int b = is.read();
+            finished = b == -1;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = is.read(b, off, len);
+            finished = read == -1;
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return is.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            is.close();
         }
     }
     
-}
\ No newline at end of file
+}
@@ -35,10 +35,33 @@ import org.springframework.web.filter.OncePerRequestFilter;
  */
 public class RequestCachingServletFilter extends OncePerRequestFilter {
 
+    /** Maximum number of request body bytes held in memory, negative value disables spilling to disk */
+    private long inMemoryThreshold = -1L;
+
+    /**
+     * Default constructor.
+     */
+    public RequestCachingServletFilter() {
+        super();
+    }
+
+    /**
+     * Constructor using in memory threshold.
+     * @param inMemoryThreshold
+     */
+    public RequestCachingServletFilter(long inMemoryThreshold) {
+        this.inMemoryThreshold = inMemoryThreshold;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
             FilterChain filterChain) throws ServletException, IOException {
-        filterChain.doFilter(new CachingHttpServletRequestWrapper(request), response);
+        CachingHttpServletRequestWrapper cachingRequest = new CachingHttpServletRequestWrapper(request, inMemoryThreshold);
+        try {
+            filterChain.doFilter(cachingRequest, response);
+        } finally {
+            cachingRequest.release();
+        }
     }
     
 }
@@ -28,6 +28,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.easymock.EasyMock.*;
 
@@ -496,4 +499,141 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
             verify(restTemplate);
         }
     }
+
+    @Test
+    public void testAsyncHttpPostRequest() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        final String responseBody = "<TestResponse><Message>Hello World!</Message></TestResponse>";
+        final CountDownLatch responseLatch = new CountDownLatch(1);
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setAsync(true);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        restTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
+        expectLastCall().once();
+
+        expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andAnswer(new IAnswer<ResponseEntity<String>>() {
+                    public ResponseEntity<String> answer() throws Throwable {
+                        responseLatch.await(5000L, TimeUnit.MILLISECONDS);
+                        return new ResponseEntity<String>(responseBody, HttpStatus.OK);
+                    }
+                }).once();
+
+        replay(restTemplate);
+
+        httpClient.send(requestMessage, context);
+        responseLatch.countDown();
+
+        HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, 5000L);
+        Assert.assertEquals(responseMessage.getPayload(), responseBody);
+        Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.OK);
+
+        verify(restTemplate);
+    }
+
+    @Test
+    public void testAsyncRequestsInitializeRestTemplateOnce() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        final String responseBody = "<TestResponse><Message>Hello World!</Message></TestResponse>";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setAsync(true);
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        restTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
+        expectLastCall().once();
+
+        expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andReturn(new ResponseEntity<String>(responseBody, HttpStatus.OK)).times(3);
+
+        replay(restTemplate);
+
+        for (int i = 0; i < 3; i++) {
+            httpClient.send(new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>"), context);
+            Assert.assertEquals(httpClient.receive(context, 5000L).getPayload(), responseBody);
+        }
+
+        Assert.assertEquals(endpointConfiguration.getClientInterceptors().size(), 1L);
+
+        verify(restTemplate);
+    }
+
+    @Test
+    public void testAsyncErrorResponseExceptionStrategy() {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        String requestUrl = "http://localhost:8088/test";
+
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl(requestUrl);
+        endpointConfiguration.setAsync(true);
+
+        endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.THROWS_EXCEPTION);
+
+        Message requestMessage = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        endpointConfiguration.setRestTemplate(restTemplate);
+
+        reset(restTemplate);
+
+        restTemplate.setInterceptors(anyObject(List.class));
+        expectLastCall().once();
+        restTemplate.setErrorHandler(anyObject(ResponseErrorHandler.class));
+        expectLastCall().once();
+
+        expect(restTemplate.exchange(eq(requestUrl), eq(HttpMethod.POST), anyObject(HttpEntity.class), eq(String.class)))
+                .andThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN)).once();
+
+        replay(restTemplate);
+
+        httpClient.send(requestMessage, context);
+
+        long start = System.currentTimeMillis();
+        try {
+            httpClient.receive(context, 10000L);
+            Assert.fail("Missing exception due to http error status code");
+        } catch (HttpClientErrorException e) {
+            Assert.assertEquals(e.getMessage(), "403 FORBIDDEN");
+            Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+        }
+
+        verify(restTemplate);
+    }
+
+    @Test
+    public void testDestroy() throws Exception {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+
+        endpointConfiguration.getRestTemplate();
+        ExecutorService asyncExecutor = endpointConfiguration.getAsyncExecutor();
+        Assert.assertNotNull(endpointConfiguration.getConnectionPoolStats());
+
+        httpClient.destroy();
+
+        Assert.assertTrue(asyncExecutor.isShutdown());
+        Assert.assertNull(endpointConfiguration.getConnectionPoolStats());
+    }
 }
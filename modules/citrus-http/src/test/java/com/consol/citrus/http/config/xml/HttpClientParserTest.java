@@ -49,6 +49,9 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestMethod(), HttpMethod.POST);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertFalse(httpClient.getEndpointConfiguration().isAsync());
+        Assert.assertNotNull(httpClient.getEndpointConfiguration().getConnectionPoolStats());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getResponseType(), String.class);
 
 
         // 2nd message sender
@@ -80,6 +83,12 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNotNull(httpClient.getEndpointConfiguration().getClientInterceptors());
         Assert.assertEquals(httpClient.getEndpointConfiguration().getClientInterceptors().get(0), beanDefinitionContext.getBean("clientInterceptor"));
         Assert.assertEquals(httpClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(httpClient.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 50);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 10);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getConnectionPoolStats().getMax(), 50);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getResponseType(), byte[].class);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getInMemoryThreshold(), 1024L);
     }
 
     @Test
@@ -59,6 +59,12 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getContextPath(), "/");
         Assert.assertEquals(server.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(server.getServletMappingPath(), "/*");
+        Assert.assertEquals(server.getMinThreads(), 8);
+        Assert.assertEquals(server.getMaxThreads(), 200);
+        Assert.assertEquals(server.getMaxQueueSize(), -1);
+        Assert.assertEquals(server.getAcceptors(), -1);
+        Assert.assertEquals(server.getSelectors(), -1);
+        Assert.assertEquals(server.getIdleTimeout(), 30000L);
 
         // 2nd message sender
         server = servers.get("httpServer2");
@@ -101,6 +107,13 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
         Assert.assertEquals(server.getServletName(), "httpServer4-servlet");
+        Assert.assertEquals(server.getMinThreads(), 2);
+        Assert.assertEquals(server.getMaxThreads(), 10);
+        Assert.assertEquals(server.getMaxQueueSize(), 50);
+        Assert.assertEquals(server.getThreadIdleTimeout(), 5000);
+        Assert.assertEquals(server.getAcceptors(), 1);
+        Assert.assertEquals(server.getSelectors(), 2);
+        Assert.assertEquals(server.getIdleTimeout(), 10000L);
         Assert.assertNotNull(server.getInterceptors());
         Assert.assertEquals(server.getInterceptors().size(), 0L);
         
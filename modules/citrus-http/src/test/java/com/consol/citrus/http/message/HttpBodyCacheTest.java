@@ -0,0 +1,100 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.message;
+
+import org.springframework.core.io.*;
+import org.springframework.http.MediaType;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class HttpBodyCacheTest {
+
+    private byte[] data = "Hello Citrus binary body".getBytes();
+
+    @Test
+    public void testCacheInMemory() throws Exception {
+        Resource body = HttpBodyCache.cache(new ByteArrayInputStream(data), data.length, -1L);
+
+        Assert.assertTrue(body instanceof ByteArrayResource);
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(body.getInputStream()), data);
+
+        body = HttpBodyCache.cache(new ByteArrayInputStream(data), -1L, 1024L);
+        Assert.assertTrue(body instanceof ByteArrayResource);
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(body.getInputStream()), data);
+    }
+
+    @Test
+    public void testSpillToDisk() throws Exception {
+        Resource body = HttpBodyCache.cache(new ByteArrayInputStream(data), -1L, 8L);
+
+        Assert.assertTrue(body instanceof FileSystemResource);
+        File file = body.getFile();
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(FileCopyUtils.copyToByteArray(body.getInputStream()), data);
+        Assert.assertEquals(new HttpMessage(body).getPayload(String.class), "Hello Citrus binary body");
+
+        HttpBodyCache.release(body);
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testReleaseUnreferenced() throws Exception {
+        File file = HttpBodyCache.cache(new ByteArrayInputStream(data), -1L, 8L).getFile();
+        Assert.assertTrue(file.exists());
+
+        for (int i = 0; i < 50 && file.exists(); i++) {
+            System.gc();
+            Thread.sleep(10L);
+            HttpBodyCache.cache(new ByteArrayInputStream(data), data.length, -1L);
+        }
+
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testBinaryContent() {
+        Assert.assertTrue(HttpBodyCache.isBinaryContent(MediaType.APPLICATION_OCTET_STREAM));
+        Assert.assertTrue(HttpBodyCache.isBinaryContent(MediaType.IMAGE_PNG));
+        Assert.assertFalse(HttpBodyCache.isBinaryContent(MediaType.TEXT_PLAIN));
+        Assert.assertFalse(HttpBodyCache.isBinaryContent(MediaType.APPLICATION_XML));
+        Assert.assertFalse(HttpBodyCache.isBinaryContent(null));
+    }
+
+    @Test
+    public void testStreamPayload() {
+        HttpMessage message = new HttpMessage(new ByteArrayInputStream(data));
+
+        Assert.assertEquals(message.getPayload(byte[].class), data);
+        Assert.assertEquals(message.getPayload(String.class), "Hello Citrus binary body");
+    }
+
+    @Test
+    public void testResourcePayloadCharset() throws Exception {
+        HttpMessage message = new HttpMessage(new ByteArrayResource("Grüße".getBytes("ISO-8859-1")))
+                .contentType("text/plain;charset=ISO-8859-1");
+
+        Assert.assertEquals(message.getPayload(String.class), "Grüße");
+        Assert.assertEquals(message.getPayload(byte[].class), "Grüße".getBytes("ISO-8859-1"));
+    }
+}
@@ -18,20 +18,32 @@ package com.consol.citrus.http.server;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
 import com.consol.citrus.http.client.HttpClient;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
+import com.consol.citrus.http.controller.HttpMessageController;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.http.message.HttpMessageHeaders;
+import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Simple unit test for HttpServer
@@ -81,4 +93,181 @@ public class HttpServerTest extends AbstractTestNGUnitTest {
             Assert.assertTrue(e.getMessage().contains("Connection refused"));
         }
     }
+
+    @Test
+    public void startupWithThreadPoolSettingsTest() throws IOException {
+        HttpServer server = new HttpServer();
+        server.setName("threadPoolServer");
+        server.setPort(port);
+        server.setMinThreads(2);
+        server.setMaxThreads(10);
+        server.setMaxQueueSize(20);
+        server.setAcceptors(1);
+        server.setSelectors(1);
+        server.setIdleTimeout(5000L);
+        server.setApplicationContext(applicationContext);
+        server.setContextConfigLocation("classpath:com/consol/citrus/http/HttpServerTest-http-servlet.xml");
+
+        server.startup();
+
+        try {
+            TestContext context = testContextFactory.getObject();
+            client.send(new HttpMessage("Hello")
+                    .method(HttpMethod.GET), context);
+
+            Assert.assertEquals(client.receive(context).getHeader(HttpMessageHeaders.HTTP_STATUS_CODE), HttpStatus.OK.value());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void binaryPayloadTest() throws IOException {
+        HttpServer server = new HttpServer();
+        server.setPort(port);
+        server.setInMemoryThreshold(16L);
+        server.setApplicationContext(applicationContext);
+        server.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message request) {
+                Assert.assertTrue(request.getPayload() instanceof Resource);
+                return new HttpMessage(request.getPayload(byte[].class))
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            }
+        });
+
+        byte[] data = new byte[1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setRequestUrl(uri);
+        endpointConfiguration.setResponseType(byte[].class);
+        HttpClient binaryClient = new HttpClient(endpointConfiguration);
+
+        server.startup();
+
+        try {
+            TestContext context = testContextFactory.getObject();
+            binaryClient.send(new HttpMessage(new ByteArrayInputStream(data))
+                    .method(HttpMethod.POST)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE), context);
+
+            Message response = binaryClient.receive(context);
+            Assert.assertEquals(response.getHeader(HttpMessageHeaders.HTTP_STATUS_CODE), HttpStatus.OK.value());
+            Assert.assertEquals(response.getPayload(byte[].class), data);
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void resourceResponsePayloadTest() throws IOException {
+        HttpServer server = new HttpServer();
+        server.setPort(port);
+        server.setInMemoryThreshold(16L);
+        server.setApplicationContext(applicationContext);
+        server.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message request) {
+                // spilled request body is streamed back as response body
+                return new HttpMessage(request.getPayload(Resource.class))
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            }
+        });
+
+        byte[] data = new byte[4096];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setRequestUrl(uri);
+        endpointConfiguration.setResponseType(byte[].class);
+        HttpClient binaryClient = new HttpClient(endpointConfiguration);
+
+        server.startup();
+
+        try {
+            TestContext context = testContextFactory.getObject();
+            binaryClient.send(new HttpMessage(new ByteArrayInputStream(data))
+                    .method(HttpMethod.POST)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE), context);
+
+            Message response = binaryClient.receive(context);
+            Assert.assertEquals(response.getHeader(HttpMessageHeaders.HTTP_STATUS_CODE), HttpStatus.OK.value());
+            Assert.assertEquals(response.getPayload(byte[].class), data);
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentRequestsKeepOwnResponseTest() throws Exception {
+        final int requests = 5;
+        final CyclicBarrier inFlight = new CyclicBarrier(requests);
+        final CountDownLatch completed = new CountDownLatch(requests);
+        final List<String> mismatches = Collections.synchronizedList(new ArrayList<String>());
+
+        HttpServer server = new HttpServer();
+        server.setPort(port);
+        server.setApplicationContext(applicationContext);
+        server.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message request) {
+                try {
+                    inFlight.await(5000L, TimeUnit.MILLISECONDS);
+                } catch (Exception e) {
+                    mismatches.add("Requests were not handled concurrently: " + e);
+                }
+
+                return new HttpMessage(request.getHeader(HttpMessageHeaders.HTTP_QUERY_PARAMS).toString());
+            }
+        });
+        server.setInterceptors(Collections.<Object>singletonList(new HandlerInterceptorAdapter() {
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                ResponseEntity<?> responseEntity = (ResponseEntity<?>) request.getAttribute(HttpMessageController.RESPONSE_ATTRIBUTE);
+                String expected = "id=" + request.getParameter("id");
+                if (responseEntity == null || !expected.equals(responseEntity.getBody())) {
+                    mismatches.add("Expected response '" + expected + "' but was " + responseEntity);
+                }
+
+                completed.countDown();
+            }
+        }));
+
+        server.startup();
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<Object>> responses = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                final String id = String.valueOf(i);
+                responses.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+                        endpointConfiguration.setRequestUrl(uri + "?id=" + id);
+                        HttpClient requestClient = new HttpClient(endpointConfiguration);
+
+                        TestContext context = testContextFactory.getObject();
+                        requestClient.send(new HttpMessage("Hello").method(HttpMethod.GET), context);
+                        return requestClient.receive(context).getPayload();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < requests; i++) {
+                Assert.assertEquals(responses.get(i).get(10000L, TimeUnit.MILLISECONDS), "id=" + i);
+            }
+
+            Assert.assertTrue(completed.await(5000L, TimeUnit.MILLISECONDS));
+            Assert.assertTrue(mismatches.isEmpty(), mismatches.toString());
+        } finally {
+            executor.shutdownNow();
+            server.shutdown();
+        }
+    }
 }
@@ -119,4 +119,14 @@ public class ExecuteSQLBuilder extends AbstractTestActionBuilder<ExecuteSQLActio
 		action.setIgnoreErrors(ignoreErrors);
 		return this;
 	}
+
+    /**
+     * Executes statements in JDBC batches of given size.
+     * @param batchSize
+     * @return
+     */
+    public ExecuteSQLBuilder batchSize(int batchSize) {
+        action.setBatchSize(batchSize);
+        return this;
+    }
 }
@@ -192,4 +192,24 @@ public class ExecuteSQLQueryBuilder extends AbstractTestActionBuilder<ExecuteSQL
 		action.setValidator(validator);
 		return this;
 	}
+
+    /**
+     * Streams result rows with incremental validation using the default fetch size.
+     * @return
+     */
+    public ExecuteSQLQueryBuilder streaming() {
+        action.setStreaming(true);
+        return this;
+    }
+
+    /**
+     * Streams result rows with incremental validation using given JDBC fetch size.
+     * @param fetchSize
+     * @return
+     */
+    public ExecuteSQLQueryBuilder streaming(int fetchSize) {
+        action.setStreaming(true);
+        action.setFetchSize(fetchSize);
+        return this;
+    }
 }
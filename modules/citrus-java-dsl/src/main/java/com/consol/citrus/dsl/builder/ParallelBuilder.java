@@ -20,6 +20,8 @@ import com.consol.citrus.container.*;
 import com.consol.citrus.dsl.design.TestDesigner;
 import com.consol.citrus.dsl.runner.TestRunner;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * @author Christoph Deppisch
  * @since 2.3
@@ -60,4 +62,32 @@ public class ParallelBuilder extends AbstractTestContainerBuilder<Parallel> {
         this(runner, new Parallel());
     }
 
+    /**
+     * Enables fail fast mode so first failing action cancels all sibling actions.
+     * @return
+     */
+    public ParallelBuilder failFast() {
+        action.setFailFast(true);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrently running nested actions.
+     * @param maxConcurrency
+     * @return
+     */
+    public ParallelBuilder maxConcurrency(int maxConcurrency) {
+        action.setMaxConcurrency(maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Sets the executor service running the nested actions.
+     * @param executorService
+     * @return
+     */
+    public ParallelBuilder executor(ExecutorService executorService) {
+        action.setExecutorService(executorService);
+        return this;
+    }
 }
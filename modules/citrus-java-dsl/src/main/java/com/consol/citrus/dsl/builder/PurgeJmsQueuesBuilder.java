@@ -135,6 +135,35 @@ public class PurgeJmsQueuesBuilder extends AbstractTestActionBuilder<PurgeJmsQue
 		return this;
 	}
 
+	/**
+	 * Enables bulk purge mode draining all queues concurrently without sleep time.
+	 * @return
+	 */
+	public PurgeJmsQueuesBuilder bulkPurge() {
+		action.setBulkPurge(true);
+		return this;
+	}
+
+	/**
+	 * Sets the number of messages acknowledged at once in bulk purge mode.
+	 * @param batchSize
+	 * @return
+	 */
+	public PurgeJmsQueuesBuilder batchSize(int batchSize) {
+		action.setBatchSize(batchSize);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of queues purged at the same time in bulk purge mode.
+	 * @param maxConcurrency
+	 * @return
+	 */
+	public PurgeJmsQueuesBuilder maxConcurrency(int maxConcurrency) {
+		action.setMaxConcurrency(maxConcurrency);
+		return this;
+	}
+
 	/**
 	 * Checks if connection factory is set properly.
 	 * @return
@@ -83,6 +83,28 @@ public class ExecuteSQLQueryTestDesignerTest extends AbstractTestNGUnitTest {
         verify(resource, file);
     }
     
+    @Test
+    public void testExecuteSQLQueryStreaming() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext) {
+            @Override
+            public void configure() {
+                query(dataSource)
+                    .statement("stmt")
+                    .validate("COLUMN", "value")
+                    .streaming(500);
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        Assert.assertEquals(test.getActionCount(), 1);
+
+        ExecuteSQLQueryAction action = (ExecuteSQLQueryAction)test.getActions().get(0);
+        Assert.assertTrue(action.isStreaming());
+        Assert.assertEquals(action.getFetchSize(), 500);
+    }
+
     @Test
     public void testExecuteSQLQueryWithStatements() {
         MockTestDesigner builder = new MockTestDesigner(applicationContext) {
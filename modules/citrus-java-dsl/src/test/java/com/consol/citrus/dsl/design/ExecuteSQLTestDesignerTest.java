@@ -66,6 +66,26 @@ public class ExecuteSQLTestDesignerTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(action.getDataSource(), dataSource);
     }
     
+    @Test
+    public void TestExecuteSQLBuilderBatch() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext) {
+            @Override
+            public void configure() {
+                sql(dataSource)
+                    .statement("TEST_STMT_1")
+                    .statement("TEST_STMT_2")
+                    .batchSize(50);
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        ExecuteSQLAction action = (ExecuteSQLAction)test.getActions().get(0);
+        Assert.assertEquals(action.getStatements().size(), 2);
+        Assert.assertEquals(action.getBatchSize(), 50);
+    }
+
     @Test
     public void TestExecuteSQLBuilderWithResource() throws IOException {
         MockTestDesigner builder = new MockTestDesigner(applicationContext) {
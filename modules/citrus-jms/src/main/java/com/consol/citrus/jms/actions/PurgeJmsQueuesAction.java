@@ -23,10 +23,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.support.JmsUtils;
 import org.springframework.jms.support.destination.DynamicDestinationResolver;
+import org.springframework.util.Assert;
 
 import javax.jms.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 
 /**
  * Action to purge JMS queue destinations by simply consuming 
@@ -36,6 +38,9 @@ import java.util.List;
  *
  * Consumer will continue to receive messages until message receive timeout is reached,
  * so no messages are left.
+ *
+ * In bulk purge mode messages are drained without sleeping between messages. Each queue is purged concurrently
+ * on its own client acknowledged session and messages get acknowledged in batches.
  *  
  * @author Christoph Deppisch
  * @since 2007
@@ -57,6 +62,15 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     /** Wait some time between message consumption in ms */
     private long sleepTime = 350;
 
+    /** Drain queues concurrently without sleeping between messages */
+    private boolean bulkPurge = false;
+
+    /** Number of messages acknowledged at once in bulk purge mode */
+    private int batchSize = 100;
+
+    /** Maximum number of queues purged at the same time in bulk purge mode, zero means all queues at once */
+    private int maxConcurrency = 0;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(PurgeJmsQueuesAction.class);
 
@@ -71,7 +85,13 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     @Override
     public void doExecute(TestContext context) {
         log.info("Purging JMS queues...");
-        
+
+        if (bulkPurge) {
+            bulkPurgeQueues();
+            log.info("JMS queues purged successfully");
+            return;
+        }
+
         Connection connection = null;
         Session session = null;
         
@@ -98,6 +118,93 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         log.info("JMS queues purged successfully");
     }
 
+    /**
+     * Purges all queues concurrently each on a separate session of a shared connection.
+     */
+    @SuppressWarnings("PMD.CloseResource") //suppress since connection closed via JmsUtils
+    private void bulkPurgeQueues() {
+        List<Callable<Integer>> purgeTasks = new ArrayList<>();
+
+        Connection connection = null;
+        ExecutorService executor = null;
+        try {
+            connection = createConnection();
+            connection.start();
+
+            for (Queue queue : queues) {
+                purgeTasks.add(new BulkPurgeTask(connection, queue, null));
+            }
+            for (String queueName : queueNames) {
+                purgeTasks.add(new BulkPurgeTask(connection, null, queueName));
+            }
+
+            if (purgeTasks.isEmpty()) {
+                return;
+            }
+
+            int threads = maxConcurrency > 0 ? Math.min(maxConcurrency, purgeTasks.size()) : purgeTasks.size();
+            executor = Executors.newFixedThreadPool(threads);
+
+            for (Future<Integer> result : executor.invokeAll(purgeTasks)) {
+                result.get();
+            }
+        } catch (JMSException e) {
+            log.error("Error while establishing jms connection", e);
+            throw new CitrusRuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while purging JMS queues", e);
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to purge JMS queues", e.getCause());
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+
+            JmsUtils.closeConnection(connection, true);
+        }
+    }
+
+    /**
+     * Drains destination without sleeping between messages. Messages are acknowledged in batches
+     * and draining stops as soon as no message arrives within the receive timeout.
+     * @param destination
+     * @param session
+     * @param destinationName
+     * @return number of purged messages
+     * @throws JMSException
+     */
+    private int drainDestination(Destination destination, Session session, String destinationName) throws JMSException {
+        long start = System.currentTimeMillis();
+        int messagesPurged = 0;
+
+        MessageConsumer messageConsumer = session.createConsumer(destination);
+        try {
+            javax.jms.Message lastMessage = null;
+            javax.jms.Message message;
+            while ((message = (receiveTimeout >= 0) ? messageConsumer.receive(receiveTimeout) : messageConsumer.receiveNoWait()) != null) {
+                messagesPurged++;
+                lastMessage = message;
+
+                if (messagesPurged % batchSize == 0) {
+                    message.acknowledge();
+                    lastMessage = null;
+                }
+            }
+
+            if (lastMessage != null) {
+                lastMessage.acknowledge();
+            }
+        } finally {
+            JmsUtils.closeMessageConsumer(messageConsumer);
+        }
+
+        log.info(String.format("Purged %s messages from destination '%s' in %s ms",
+                messagesPurged, destinationName, System.currentTimeMillis() - start));
+
+        return messagesPurged;
+    }
+
     /**
      * Purges a queue destination identified by its name.
      * @param queueName
@@ -187,10 +294,21 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
      * @throws JMSException
      */
     protected Session createSession(Connection connection) throws JMSException {
+        return createSession(connection, Session.AUTO_ACKNOWLEDGE);
+    }
+
+    /**
+     * Create non transacted queue session with given acknowledge mode.
+     * @param connection
+     * @param acknowledgeMode
+     * @return
+     * @throws JMSException
+     */
+    protected Session createSession(Connection connection, int acknowledgeMode) throws JMSException {
         if (connection instanceof QueueConnection) {
-            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+            return ((QueueConnection) connection).createQueueSession(false, acknowledgeMode);
         }
-        return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        return connection.createSession(false, acknowledgeMode);
     }
 
     /**
@@ -272,4 +390,82 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         return sleepTime;
     }
 
+    /**
+     * Gets the bulkPurge.
+     * @return the bulkPurge
+     */
+    public boolean isBulkPurge() {
+        return bulkPurge;
+    }
+
+    /**
+     * Enables bulk purge mode draining queues concurrently without sleep time between messages.
+     * @param bulkPurge the bulkPurge to set
+     */
+    public void setBulkPurge(boolean bulkPurge) {
+        this.bulkPurge = bulkPurge;
+    }
+
+    /**
+     * Gets the batchSize.
+     * @return the batchSize
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of messages acknowledged at once in bulk purge mode.
+     * @param batchSize the batchSize to set
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than zero");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maxConcurrency.
+     * @return the maxConcurrency
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of queues purged at the same time in bulk purge mode.
+     * @param maxConcurrency the maxConcurrency to set
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Purges a single queue on its own client acknowledged session.
+     */
+    private final class BulkPurgeTask implements Callable<Integer> {
+        private final Connection connection;
+        private final Queue queue;
+        private final String queueName;
+
+        private BulkPurgeTask(Connection connection, Queue queue, String queueName) {
+            this.connection = connection;
+            this.queue = queue;
+            this.queueName = queueName;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.CloseResource") //suppress since session closed via JmsUtils
+        public Integer call() throws JMSException {
+            Session session = createSession(connection, Session.CLIENT_ACKNOWLEDGE);
+            try {
+                if (queue != null) {
+                    return drainDestination(queue, session, queue.getQueueName());
+                } else {
+                    return drainDestination(getDestination(session, queueName), session, queueName);
+                }
+            } finally {
+                JmsUtils.closeSession(session);
+            }
+        }
+    }
 }
@@ -16,15 +16,35 @@
 
 package com.consol.citrus.jms.endpoint;
 
+import com.consol.citrus.channel.MessageSelectingQueueChannel;
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.AbstractSelectiveMessageConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.messaging.support.GenericMessage;
 import org.springframework.util.StringUtils;
 
+import javax.jms.MessageListener;
+import java.util.List;
+
 /**
+ * JMS consumer receives messages from the endpoint destination. By default each receive operation creates
+ * a new JMS message consumer with optional JMS message selector via {@link JmsTemplate}.
+ *
+ * When message buffering is enabled on the endpoint configuration the consumer subscribes once to the destination with
+ * a message listener container and buffers all inbound messages in a local message selecting queue. Receive operations
+ * then evaluate the Citrus message selector on that buffer and wait for matching messages to arrive. Receive timeouts
+ * have the same meaning as with {@link JmsTemplate}: zero waits indefinitely and a negative timeout does not wait at all.
+ *
+ * The endpoint subscribes on initialization so topic messages published before the first receive operation are not
+ * lost. Synchronous endpoints subscribe on the first receive operation as their role is only known then.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -36,6 +56,13 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
     /** Endpoint configuration */
     private final JmsEndpointConfiguration endpointConfiguration;
 
+    /** Wait time used for indefinite receive operations on the local buffer, large enough to never expire */
+    private static final long INDEFINITE_WAIT = Long.MAX_VALUE / 2;
+
+    /** Listener container and local buffer used when message buffering is enabled */
+    private DefaultMessageListenerContainer listenerContainer;
+    private MessageSelectingQueueChannel messageBuffer;
+
     /**
      * Default constructor using endpoint.
      * @param name
@@ -58,25 +85,137 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
 
         log.info("Waiting for JMS message on destination: '" + destinationName + "'");
 
-        endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
-        javax.jms.Message receivedJmsMessage;
-
-        if (StringUtils.hasText(selector)) {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receiveSelected(selector);
+        Message receivedMessage;
+        if (endpointConfiguration.isBufferMessages()) {
+            receivedMessage = receiveBuffered(selector, context, timeout);
         } else {
-            receivedJmsMessage = endpointConfiguration.getJmsTemplate().receive();
+            endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
+            javax.jms.Message receivedJmsMessage;
+
+            if (StringUtils.hasText(selector)) {
+                receivedJmsMessage = endpointConfiguration.getJmsTemplate().receiveSelected(selector);
+            } else {
+                receivedJmsMessage = endpointConfiguration.getJmsTemplate().receive();
+            }
+
+            receivedMessage = endpointConfiguration.getMessageConverter().convertInbound(receivedJmsMessage, endpointConfiguration);
         }
 
-        if (receivedJmsMessage == null) {
+        if (receivedMessage == null) {
             throw new ActionTimeoutException("Action timed out while receiving JMS message on '" + destinationName + "'");
         }
 
-        Message receivedMessage = endpointConfiguration.getMessageConverter().convertInbound(receivedJmsMessage, endpointConfiguration);
-
         log.info("Received JMS message on destination: '" + destinationName + "'");
         context.onInboundMessage(receivedMessage);
 
         return receivedMessage;
     }
 
+    /**
+     * Receives message from local message buffer. Message selector is evaluated on the buffered messages.
+     * @param selector
+     * @param context
+     * @param timeout
+     * @return the received message or null if no matching message arrived within timeout.
+     */
+    private Message receiveBuffered(String selector, TestContext context, long timeout) {
+        MessageSelectingQueueChannel buffer = getMessageBuffer();
+
+        long waitTime = timeout == 0 ? INDEFINITE_WAIT : timeout;
+
+        org.springframework.messaging.Message<?> bufferedMessage;
+        if (StringUtils.hasText(selector)) {
+            MessageSelector messageSelector = new DispatchingMessageSelector(selector, context.getApplicationContext());
+
+            if (waitTime < 0) {
+                bufferedMessage = buffer.receive(messageSelector);
+            } else {
+                bufferedMessage = buffer.receive(messageSelector, waitTime);
+            }
+        } else {
+            bufferedMessage = buffer.receive(Math.max(0L, waitTime));
+        }
+
+        return bufferedMessage != null ? ((BufferedMessage) bufferedMessage).message : null;
+    }
+
+    /**
+     * Gets the local message buffer. Subscribes to the destination if not done yet.
+     * @return
+     */
+    private MessageSelectingQueueChannel getMessageBuffer() {
+        subscribe();
+        return messageBuffer;
+    }
+
+    /**
+     * Subscribes to the destination with a message listener container and starts buffering inbound messages.
+     * Does nothing if already subscribed.
+     */
+    public synchronized void subscribe() {
+        if (messageBuffer == null) {
+            final MessageSelectingQueueChannel buffer = new MessageSelectingQueueChannel();
+            JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+
+            DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+            container.setBeanName(getName());
+            container.setConnectionFactory(jmsTemplate.getConnectionFactory());
+            container.setDestinationResolver(jmsTemplate.getDestinationResolver());
+            container.setPubSubDomain(jmsTemplate.isPubSubDomain());
+
+            if (jmsTemplate.getDefaultDestination() != null) {
+                container.setDestination(jmsTemplate.getDefaultDestination());
+            } else {
+                container.setDestinationName(jmsTemplate.getDefaultDestinationName());
+            }
+
+            container.setMessageListener(new MessageListener() {
+                @Override
+                public void onMessage(javax.jms.Message jmsMessage) {
+                    Message message = endpointConfiguration.getMessageConverter().convertInbound(jmsMessage, endpointConfiguration);
+                    buffer.send(new BufferedMessage(message));
+                }
+            });
+
+            container.afterPropertiesSet();
+            container.start();
+
+            log.info("Started buffering JMS messages on destination: '" + endpointConfiguration.getDefaultDestinationName() + "'");
+
+            listenerContainer = container;
+            messageBuffer = buffer;
+        }
+    }
+
+    /**
+     * Stops message listener container. Messages left in the local buffer are discarded.
+     */
+    public synchronized void destroy() {
+        if (listenerContainer != null) {
+            listenerContainer.shutdown();
+            listenerContainer = null;
+        }
+
+        if (messageBuffer != null) {
+            List<org.springframework.messaging.Message<?>> discarded = messageBuffer.clear();
+            if (!discarded.isEmpty()) {
+                log.warn("Discarding " + discarded.size() + " buffered JMS message(s) on destination: '" + endpointConfiguration.getDefaultDestinationName() + "'");
+            }
+
+            messageBuffer = null;
+        }
+    }
+
+    /**
+     * Buffered message exposes payload and headers of the converted inbound message to message selectors and
+     * keeps the converted message for the receiving test action.
+     */
+    private static final class BufferedMessage extends GenericMessage<Object> {
+        private final Message message;
+
+        private BufferedMessage(Message message) {
+            super(message.getPayload(), message.copyHeaders());
+            this.message = message;
+        }
+    }
 }
@@ -19,6 +19,8 @@ package com.consol.citrus.jms.endpoint;
 import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.messaging.SelectiveConsumer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
 /**
  * Jms message endpoint capable of sending/receiving messages from Jms message destination. Either uses a Jms connection factory or
@@ -27,7 +29,7 @@ import com.consol.citrus.messaging.SelectiveConsumer;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class JmsEndpoint extends AbstractEndpoint {
+public class JmsEndpoint extends AbstractEndpoint implements InitializingBean, DisposableBean {
 
     /** Cached producer or consumer */
     private JmsProducer jmsProducer;
@@ -70,4 +72,23 @@ public class JmsEndpoint extends AbstractEndpoint {
     public JmsEndpointConfiguration getEndpointConfiguration() {
         return (JmsEndpointConfiguration) super.getEndpointConfiguration();
     }
+
+    /**
+     * Subscribes consumer to the destination when message buffering is enabled, so messages
+     * are buffered from endpoint startup on.
+     * @throws Exception
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (getEndpointConfiguration().isBufferMessages()) {
+            ((JmsConsumer) createConsumer()).subscribe();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (jmsConsumer != null) {
+            jmsConsumer.destroy();
+        }
+    }
 }
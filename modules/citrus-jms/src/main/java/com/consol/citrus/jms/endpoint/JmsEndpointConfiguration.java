@@ -64,6 +64,9 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Should always use object messages */
     private boolean useObjectMessages = false;
 
+    /** Subscribe once with message listener and buffer inbound messages for receive operations */
+    private boolean bufferMessages = false;
+
     /**
      * Gets the destination name.
      * @return the destinationName
@@ -260,4 +263,21 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setUseObjectMessages(boolean useObjectMessages) {
         this.useObjectMessages = useObjectMessages;
     }
+
+    /**
+     * Gets the bufferMessages.
+     * @return the bufferMessages
+     */
+    public boolean isBufferMessages() {
+        return bufferMessages;
+    }
+
+    /**
+     * Enables message buffering. Consumer subscribes once to the destination with a message listener container and
+     * evaluates message selectors on locally buffered messages instead of creating a JMS consumer per receive operation.
+     * @param bufferMessages the bufferMessages to set
+     */
+    public void setBufferMessages(boolean bufferMessages) {
+        this.bufferMessages = bufferMessages;
+    }
 }
@@ -79,11 +79,26 @@ public class JmsSyncEndpoint extends JmsEndpoint implements DisposableBean {
         return jmsSyncMessageProducer;
     }
 
+    /**
+     * Synchronous endpoints act as producer or consumer depending on their first usage, so the buffering
+     * consumer subscribes on its first receive operation instead of on endpoint initialization.
+     * @throws Exception
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+    }
+
     @Override
     public void destroy() throws Exception {
         if (jmsSyncMessageProducer != null) {
             jmsSyncMessageProducer.destroy();
         }
+
+        if (jmsSyncMessageConsumer != null) {
+            jmsSyncMessageConsumer.destroy();
+        }
+
+        super.destroy();
     }
 
 }
@@ -43,6 +43,9 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500L;
 
+    /** Use one long lived reply destination with message listener instead of a reply consumer per request */
+    private boolean sharedReplyListener = false;
+
     /**
      * Set the reply message correlator.
      * @param correlator the correlator to set
@@ -107,4 +110,20 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
         this.pollingInterval = pollingInterval;
     }
 
+    /**
+     * Gets the sharedReplyListener.
+     * @return the sharedReplyListener
+     */
+    public boolean isSharedReplyListener() {
+        return sharedReplyListener;
+    }
+
+    /**
+     * Enables shared reply listener. Synchronous producer then uses one reply destination per endpoint and
+     * dispatches reply messages via their JMS correlation id instead of creating a reply consumer for each request.
+     * @param sharedReplyListener the sharedReplyListener to set
+     */
+    public void setSharedReplyListener(boolean sharedReplyListener) {
+        this.sharedReplyListener = sharedReplyListener;
+    }
 }
@@ -21,7 +21,7 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.EventDrivenCorrelationManager;
 import com.consol.citrus.messaging.ReplyConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,8 +32,19 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import javax.jms.*;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Synchronous JMS producer sends request messages and waits for reply messages on a reply destination.
+ *
+ * By default each request creates a message consumer on the reply destination, which may be a temporary destination
+ * created for this very request. When shared reply listener is enabled in endpoint configuration the producer
+ * uses one long lived reply destination and message listener instead. Replies are dispatched via their JMS correlation id
+ * to the request with that JMS message id. Request sessions and message producers are pooled so that
+ * multiple test threads are able to have requests in flight concurrently.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -45,6 +56,32 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     /** JMS session */
     private Session session = null;
 
+    /** Idle request sessions with cached message producer used in shared reply listener mode */
+    private final ConcurrentLinkedQueue<PooledSession> sessionPool = new ConcurrentLinkedQueue<>();
+
+    /** Requests waiting for reply by JMS message id */
+    private final ConcurrentMap<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+    /** Requests waiting for reply by correlation key */
+    private final ConcurrentMap<String, PendingRequest> pendingRequestsByCorrelationKey = new ConcurrentHashMap<>();
+
+    /** Replies that arrived before their request was registered, by JMS correlation id */
+    private final ConcurrentMap<String, EarlyReply> earlyReplies = new ConcurrentHashMap<>();
+
+    /** Next time expired requests and replies get removed */
+    private final AtomicLong nextExpirySweep = new AtomicLong();
+
+    /** Minimum interval between sweeps for expired requests and replies */
+    private static final long EXPIRY_SWEEP_INTERVAL = 1000L;
+
+    /** Dedicated session, consumer and destination of shared reply listener */
+    private Session replySession;
+    private MessageConsumer replyConsumer;
+    private Destination sharedReplyDestination;
+
+    /** Marks this producer as destroyed so borrowed sessions get closed on release */
+    private volatile boolean destroyed = false;
+
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
@@ -63,7 +100,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         super(name, endpointConfiguration);
         this.endpointConfiguration = endpointConfiguration;
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new EventDrivenCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -79,6 +116,12 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
         context.onOutboundMessage(message);
 
+        if (endpointConfiguration.isSharedReplyListener() &&
+                message.getHeader(org.springframework.messaging.MessageHeaders.REPLY_CHANNEL) == null) {
+            sendWithSharedReplyListener(message, correlationKey, context);
+            return;
+        }
+
         MessageProducer messageProducer = null;
         MessageConsumer messageConsumer = null;
         Destination replyToDestination = null;
@@ -130,6 +173,234 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         }
     }
 
+    /**
+     * Sends request with pooled session and producer. Reply message is handled asynchronously by the shared reply listener
+     * and stored to the correlation manager once it arrives.
+     * @param message
+     * @param correlationKey
+     * @param context
+     */
+    private void sendWithSharedReplyListener(Message message, String correlationKey, TestContext context) {
+        PooledSession pooledSession = null;
+        boolean reusable = false;
+
+        try {
+            Destination replyToDestination = getSharedReplyDestination();
+            pooledSession = borrowSession();
+
+            javax.jms.Message jmsRequest = endpointConfiguration.getMessageConverter().createJmsMessage(message, pooledSession.session, endpointConfiguration);
+            endpointConfiguration.getMessageConverter().convertOutbound(jmsRequest, message, endpointConfiguration);
+
+            jmsRequest.setJMSReplyTo(replyToDestination);
+            pooledSession.producer.send(jmsRequest);
+            reusable = true;
+
+            log.info("Message was successfully sent to destination: '{}'", endpointConfiguration.getDefaultDestinationName());
+            log.info("Waiting for reply message on destination: '{}'", replyToDestination);
+
+            expectReply(jmsRequest.getJMSMessageID(), new PendingRequest(jmsRequest.getJMSMessageID(), correlationKey, context,
+                    getDeadline(endpointConfiguration.getTimeout())));
+        } catch (JMSException e) {
+            throw new CitrusRuntimeException(e);
+        } finally {
+            if (pooledSession != null) {
+                releaseSession(pooledSession, reusable);
+            }
+        }
+    }
+
+    /**
+     * Registers request waiting for reply with given JMS message id. In case the reply has already arrived
+     * it is dispatched right away.
+     * @param messageId
+     * @param request
+     */
+    private void expectReply(String messageId, PendingRequest request) {
+        removeExpiredEntries();
+
+        pendingRequests.put(messageId, request);
+        if (request.correlationKey != null) {
+            pendingRequestsByCorrelationKey.put(request.correlationKey, request);
+        }
+
+        EarlyReply reply = earlyReplies.remove(messageId);
+        if (reply != null && removePendingRequest(request)) {
+            dispatchReply(reply.jmsReply, request);
+        }
+    }
+
+    /**
+     * Handles reply message received by shared reply listener. Reply is dispatched to the request with
+     * matching JMS message id or kept until that request is registered. Whoever removes the pending request
+     * dispatches the reply, so each request gets exactly one reply.
+     * @param jmsReply
+     */
+    private void onReply(javax.jms.Message jmsReply) {
+        try {
+            removeExpiredEntries();
+
+            String correlationId = jmsReply.getJMSCorrelationID();
+            if (!StringUtils.hasText(correlationId)) {
+                log.warn("Discard reply message without JMS correlation id on destination: '{}'", sharedReplyDestination);
+                return;
+            }
+
+            EarlyReply reply = new EarlyReply(jmsReply, getDeadline(endpointConfiguration.getTimeout()));
+            if (earlyReplies.putIfAbsent(correlationId, reply) != null) {
+                log.warn("Discard duplicate reply message with JMS correlation id '{}' on destination: '{}'", correlationId, sharedReplyDestination);
+                return;
+            }
+
+            PendingRequest request = pendingRequests.get(correlationId);
+            if (request != null && removePendingRequest(request)) {
+                earlyReplies.remove(correlationId, reply);
+                dispatchReply(jmsReply, request);
+            }
+        } catch (JMSException | RuntimeException e) {
+            log.error("Failed to handle reply message on destination: '" + sharedReplyDestination + "'", e);
+        }
+    }
+
+    /**
+     * Removes pending request.
+     * @param request
+     * @return true if this call removed the request, false if it was already removed
+     */
+    private boolean removePendingRequest(PendingRequest request) {
+        if (pendingRequests.remove(request.messageId, request)) {
+            if (request.correlationKey != null) {
+                pendingRequestsByCorrelationKey.remove(request.correlationKey, request);
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Converts reply message and stores it to correlation manager with correlation key of the request.
+     * @param jmsReply
+     * @param request
+     */
+    private void dispatchReply(javax.jms.Message jmsReply, PendingRequest request) {
+        Message responseMessage = endpointConfiguration.getMessageConverter().convertInbound(jmsReply, endpointConfiguration);
+
+        log.info("Received reply message on destination: '{}'", sharedReplyDestination);
+
+        request.context.onInboundMessage(responseMessage);
+
+        correlationManager.store(request.correlationKey, responseMessage);
+    }
+
+    /**
+     * Removes requests and replies that have passed their deadline. Sweep runs at most once per sweep interval
+     * so its cost is spread across many requests.
+     */
+    private void removeExpiredEntries() {
+        long now = System.currentTimeMillis();
+        long nextSweep = nextExpirySweep.get();
+        if (now < nextSweep || !nextExpirySweep.compareAndSet(nextSweep, now + Math.max(EXPIRY_SWEEP_INTERVAL, endpointConfiguration.getTimeout()))) {
+            return;
+        }
+
+        for (PendingRequest request : pendingRequests.values()) {
+            if (request.deadline < now) {
+                removePendingRequest(request);
+            }
+        }
+
+        for (Iterator<EarlyReply> it = earlyReplies.values().iterator(); it.hasNext();) {
+            if (it.next().deadline < now) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets deadline for given timeout. Timeouts less or equal to zero never expire.
+     * @param timeout
+     * @return
+     */
+    private static long getDeadline(long timeout) {
+        return timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the shared reply destination. Creates the destination with dedicated session and
+     * starts the reply message listener on first access.
+     * @return
+     * @throws JMSException
+     */
+    private synchronized Destination getSharedReplyDestination() throws JMSException {
+        if (sharedReplyDestination == null) {
+            createConnection();
+            replySession = newSession(connection);
+
+            Destination replyToDestination;
+            if (endpointConfiguration.getReplyDestination() != null) {
+                replyToDestination = endpointConfiguration.getReplyDestination();
+            } else if (StringUtils.hasText(endpointConfiguration.getReplyDestinationName())) {
+                replyToDestination = resolveDestinationName(endpointConfiguration.getReplyDestinationName(), replySession);
+            } else if (endpointConfiguration.isPubSubDomain() && replySession instanceof TopicSession) {
+                replyToDestination = replySession.createTemporaryTopic();
+            } else {
+                replyToDestination = replySession.createTemporaryQueue();
+            }
+
+            if (replyToDestination instanceof Topic && !(replyToDestination instanceof TemporaryTopic)) {
+                replyConsumer = replySession.createDurableSubscriber((Topic) replyToDestination, getName());
+            } else {
+                replyConsumer = replySession.createConsumer(replyToDestination);
+            }
+
+            replyConsumer.setMessageListener(new MessageListener() {
+                @Override
+                public void onMessage(javax.jms.Message message) {
+                    onReply(message);
+                }
+            });
+
+            log.info("Started shared reply listener on destination: '{}'", replyToDestination);
+            sharedReplyDestination = replyToDestination;
+        }
+
+        return sharedReplyDestination;
+    }
+
+    /**
+     * Borrows idle session with message producer from pool or creates a new one.
+     * @return
+     * @throws JMSException
+     */
+    private PooledSession borrowSession() throws JMSException {
+        PooledSession pooledSession = sessionPool.poll();
+        if (pooledSession != null) {
+            return pooledSession;
+        }
+
+        Session requestSession = newSession(connection);
+        try {
+            return new PooledSession(requestSession, requestSession.createProducer(getDefaultDestination(requestSession)));
+        } catch (JMSException | RuntimeException e) {
+            JmsUtils.closeSession(requestSession);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns session to the pool. Sessions that might be broken or that are released after
+     * this producer was destroyed get closed.
+     * @param pooledSession
+     * @param reusable
+     */
+    private void releaseSession(PooledSession pooledSession, boolean reusable) {
+        if (reusable && !destroyed) {
+            sessionPool.offer(pooledSession);
+        } else {
+            pooledSession.close();
+        }
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
@@ -149,6 +420,11 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
     @Override
     public Message receive(String selector, TestContext context, long timeout) {
+        PendingRequest request = selector != null ? pendingRequestsByCorrelationKey.get(selector) : null;
+        if (request != null) {
+            request.extendDeadline(getDeadline(timeout));
+        }
+
         Message message = correlationManager.find(selector, timeout);
 
         if (message == null) {
@@ -163,7 +439,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * @return connection
      * @throws JMSException
      */
-    protected void createConnection() throws JMSException {
+    protected synchronized void createConnection() throws JMSException {
         if (connection == null) {
             if (!endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof QueueConnectionFactory) {
                 connection = ((QueueConnectionFactory) endpointConfiguration.getConnectionFactory()).createQueueConnection();
@@ -189,16 +465,26 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      */
     protected void createSession(Connection connection) throws JMSException {
         if (session == null) {
-            if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
-                session = ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
-                session = ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else {
-                log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
-                        " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+            session = newSession(connection);
+        }
+    }
 
-                session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            }
+    /**
+     * Creates new JMS session according to connection and publish subscribe domain setting.
+     * @param connection to use for session creation.
+     * @return session.
+     * @throws JMSException
+     */
+    private Session newSession(Connection connection) throws JMSException {
+        if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
+            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
+            return ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else {
+            log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
+                    " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+
+            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
         }
     }
 
@@ -302,6 +588,23 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * Destroy method closing JMS session and connection
      */
     public void destroy() {
+        destroyed = true;
+
+        synchronized (this) {
+            JmsUtils.closeMessageConsumer(replyConsumer);
+            deleteTemporaryDestination(sharedReplyDestination);
+            JmsUtils.closeSession(replySession);
+        }
+
+        PooledSession pooledSession;
+        while ((pooledSession = sessionPool.poll()) != null) {
+            pooledSession.close();
+        }
+
+        pendingRequests.clear();
+        pendingRequestsByCorrelationKey.clear();
+        earlyReplies.clear();
+
         JmsUtils.closeSession(session);
 
         if (connection != null) {
@@ -324,4 +627,56 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     public void setCorrelationManager(CorrelationManager<Message> correlationManager) {
         this.correlationManager = correlationManager;
     }
+
+    /**
+     * Request session with message producer on the default destination.
+     */
+    private static final class PooledSession {
+        private final Session session;
+        private final MessageProducer producer;
+
+        private PooledSession(Session session, MessageProducer producer) {
+            this.session = session;
+            this.producer = producer;
+        }
+
+        private void close() {
+            JmsUtils.closeMessageProducer(producer);
+            JmsUtils.closeSession(session);
+        }
+    }
+
+    /**
+     * Request waiting for its reply. Deadline is set from the timeout used to wait for the reply.
+     */
+    private static final class PendingRequest {
+        private final String messageId;
+        private final String correlationKey;
+        private final TestContext context;
+        private volatile long deadline;
+
+        private PendingRequest(String messageId, String correlationKey, TestContext context, long deadline) {
+            this.messageId = messageId;
+            this.correlationKey = correlationKey;
+            this.context = context;
+            this.deadline = deadline;
+        }
+
+        private void extendDeadline(long deadline) {
+            this.deadline = Math.max(this.deadline, deadline);
+        }
+    }
+
+    /**
+     * Reply that arrived before its request was registered.
+     */
+    private static final class EarlyReply {
+        private final javax.jms.Message jmsReply;
+        private final long deadline;
+
+        private EarlyReply(javax.jms.Message jmsReply, long deadline) {
+            this.jmsReply = jmsReply;
+            this.deadline = deadline;
+        }
+    }
 }
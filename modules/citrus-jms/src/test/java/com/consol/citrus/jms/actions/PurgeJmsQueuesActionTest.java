@@ -192,4 +192,72 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         
         verify(connectionFactory, connection, session, messageConsumer);
     }
+
+    @Test
+    public void testBulkPurgeAcknowledgeInBatches() throws JMSException {
+        PurgeJmsQueuesAction purgeQueuesAction = new PurgeJmsQueuesAction();
+        purgeQueuesAction.setConnectionFactory(connectionFactory);
+        purgeQueuesAction.setBulkPurge(true);
+        purgeQueuesAction.setBatchSize(2);
+
+        List<String> queueNames = new ArrayList<String>();
+        queueNames.add("myQueue");
+        purgeQueuesAction.setQueueNames(queueNames);
+
+        TextMessage jmsMessage = EasyMock.createMock(TextMessage.class);
+
+        reset(connectionFactory, connection, session, messageConsumer, jmsMessage);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+
+        expect(connection.createSession(false, Session.CLIENT_ACKNOWLEDGE)).andReturn(session).once();
+
+        expect(session.createQueue("myQueue")).andReturn(queue).once();
+
+        expect(session.createConsumer(queue)).andReturn(messageConsumer).once();
+        expect(messageConsumer.receive(100L)).andReturn(jmsMessage).times(3).andReturn(null);
+
+        jmsMessage.acknowledge();
+        expectLastCall().times(2);
+
+        replay(connectionFactory, connection, session, messageConsumer, jmsMessage);
+
+        purgeQueuesAction.execute(context);
+
+        verify(connectionFactory, connection, session, messageConsumer, jmsMessage);
+    }
+
+    @Test
+    public void testBulkPurgeQueueList() throws JMSException {
+        PurgeJmsQueuesAction purgeQueuesAction = new PurgeJmsQueuesAction();
+        purgeQueuesAction.setConnectionFactory(connectionFactory);
+        purgeQueuesAction.setBulkPurge(true);
+        purgeQueuesAction.setMaxConcurrency(2);
+
+        List<Queue> queues = new ArrayList<Queue>();
+        queues.add(queue);
+        queues.add(queue);
+        queues.add(queue);
+        purgeQueuesAction.setQueues(queues);
+
+        reset(connectionFactory, connection, session, messageConsumer, queue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+
+        expect(connection.createSession(false, Session.CLIENT_ACKNOWLEDGE)).andReturn(session).times(3);
+
+        expect(queue.getQueueName()).andReturn("myQueue").times(3);
+        expect(session.createConsumer(queue)).andReturn(messageConsumer).times(3);
+        expect(messageConsumer.receive(100L)).andReturn(null).times(3);
+
+        replay(connectionFactory, connection, session, messageConsumer, queue);
+
+        purgeQueuesAction.execute(context);
+
+        verify(connectionFactory, connection, session, messageConsumer, queue);
+    }
 }
@@ -35,6 +35,7 @@ public class PurgeJmsQueuesActionParserTest extends AbstractActionParserTest<Pur
         
         PurgeJmsQueuesAction action = getNextTestActionFromTest();
         Assert.assertNotNull(action.getReceiveTimeout());
+        Assert.assertFalse(action.isBulkPurge());
         Assert.assertNotNull(action.getConnectionFactory());
         Assert.assertEquals(action.getQueues().size(), 0);
         Assert.assertEquals(action.getQueueNames().size(), 3);
@@ -45,6 +46,9 @@ public class PurgeJmsQueuesActionParserTest extends AbstractActionParserTest<Pur
         action = getNextTestActionFromTest();
         Assert.assertNotNull(action.getReceiveTimeout());
         Assert.assertEquals(action.getReceiveTimeout(), 125);
+        Assert.assertTrue(action.isBulkPurge());
+        Assert.assertEquals(action.getBatchSize(), 50);
+        Assert.assertEquals(action.getMaxConcurrency(), 2);
         Assert.assertNotNull(action.getConnectionFactory());
         Assert.assertEquals(action.getQueues().size(), 0);
         Assert.assertEquals(action.getQueueNames().size(), 3);
@@ -21,8 +21,10 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.activemq.ActiveMQConnectionFactory;
 import org.easymock.EasyMock;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -311,4 +313,85 @@ public class JmsEndpointConsumerTest extends AbstractTestNGUnitTest {
         
         verify(jmsTemplate, connectionFactory, destination, connection, session, messageConsumer);
     }
+
+    @Test
+    public void testReceiveBufferedMessageWithSelector() throws Exception {
+        ActiveMQConnectionFactory activeMQConnectionFactory = new ActiveMQConnectionFactory("vm://bufferingConsumerBroker?broker.persistent=false");
+
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(activeMQConnectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName("JMS.Queue.Buffered");
+        endpoint.getEndpointConfiguration().setBufferMessages(true);
+
+        JmsTemplate sender = new JmsTemplate(activeMQConnectionFactory);
+        sender.setDefaultDestinationName("JMS.Queue.Buffered");
+
+        try {
+            try {
+                endpoint.createConsumer().receive(context, 100L);
+                Assert.fail("Missing timeout exception due to empty buffer");
+            } catch (ActionTimeoutException e) {
+                Assert.assertTrue(e.getMessage().startsWith("Action timed out while receiving JMS message"));
+            }
+
+            sendTextMessage(sender, "<TestRequest>foo</TestRequest>", "foo");
+            sendTextMessage(sender, "<TestRequest>bar</TestRequest>", "bar");
+
+            Message receivedMessage = endpoint.createConsumer().receive("operation = 'bar'", context, 5000L);
+            Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest>bar</TestRequest>");
+            Assert.assertEquals(receivedMessage.getHeader("operation"), "bar");
+
+            receivedMessage = endpoint.createConsumer().receive(context, 5000L);
+            Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest>foo</TestRequest>");
+            Assert.assertEquals(receivedMessage.getHeader("operation"), "foo");
+        } finally {
+            endpoint.destroy();
+        }
+    }
+
+    @Test
+    public void testBufferedTopicMessagesBeforeFirstReceive() throws Exception {
+        ActiveMQConnectionFactory activeMQConnectionFactory = new ActiveMQConnectionFactory("vm://bufferingTopicBroker?broker.persistent=false");
+
+        JmsEndpoint endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(activeMQConnectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName("JMS.Topic.Buffered");
+        endpoint.getEndpointConfiguration().setPubSubDomain(true);
+        endpoint.getEndpointConfiguration().setBufferMessages(true);
+        endpoint.afterPropertiesSet();
+
+        JmsTemplate sender = new JmsTemplate(activeMQConnectionFactory);
+        sender.setDefaultDestinationName("JMS.Topic.Buffered");
+        sender.setPubSubDomain(true);
+
+        try {
+            // give listener container time to establish topic subscription
+            Thread.sleep(500L);
+
+            sendTextMessage(sender, "<TestRequest>foo</TestRequest>", "foo");
+
+            Message receivedMessage = endpoint.createConsumer().receive(context, 5000L);
+            Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest>foo</TestRequest>");
+
+            try {
+                endpoint.createConsumer().receive("operation = 'bar'", context, -1L);
+                Assert.fail("Missing timeout exception due to empty buffer");
+            } catch (ActionTimeoutException e) {
+                Assert.assertTrue(e.getMessage().startsWith("Action timed out while receiving JMS message"));
+            }
+        } finally {
+            endpoint.destroy();
+        }
+    }
+
+    private void sendTextMessage(JmsTemplate sender, final String payload, final String operation) {
+        sender.send(new MessageCreator() {
+            @Override
+            public javax.jms.Message createMessage(Session session) throws JMSException {
+                TextMessage textMessage = session.createTextMessage(payload);
+                textMessage.setStringProperty("operation", operation);
+                return textMessage;
+            }
+        });
+    }
 }
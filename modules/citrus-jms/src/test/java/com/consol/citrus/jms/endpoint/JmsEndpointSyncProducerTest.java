@@ -22,13 +22,16 @@ import com.consol.citrus.message.*;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.ObjectStore;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.easymock.Capture;
 import org.easymock.EasyMock;
+import org.easymock.IAnswer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.jms.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.*;
 
 import static org.easymock.EasyMock.*;
 
@@ -168,6 +171,204 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
         verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
     }
 
+    @Test
+    public void testSendMessageWithSharedReplyListener() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyListener(true);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        final TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final Capture<MessageListener> replyListener = new Capture<MessageListener>();
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).once();
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).once();
+        messageConsumer.setMessageListener(capture(replyListener));
+        expectLastCall().once();
+
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                replyListener.getValue().onMessage(jmsResponse);
+                return null;
+            }
+        }).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().once();
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).times(2);
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+
+        // reply arrives before request is registered
+        producer.send(message, context);
+        Assert.assertEquals(producer.receive(context, 1000L).getPayload(), "<TestResponse>Hello World!</TestResponse>");
+
+        // reply arrives after request is registered, session and reply listener are reused
+        producer.send(message, context);
+        replyListener.getValue().onMessage(jmsResponse);
+        Assert.assertEquals(producer.receive(context, 1000L).getPayload(), "<TestResponse>Hello World!</TestResponse>");
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+    }
+
+    @Test
+    public void testSharedReplyListenerDuplicateEarlyReply() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyListener(true);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        final TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final TextMessage duplicateResponse = new TextMessageImpl("<TestResponse>Duplicate!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final Capture<MessageListener> replyListener = new Capture<MessageListener>();
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).once();
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).once();
+        messageConsumer.setMessageListener(capture(replyListener));
+        expectLastCall().once();
+
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                replyListener.getValue().onMessage(jmsResponse);
+                replyListener.getValue().onMessage(duplicateResponse);
+                return null;
+            }
+        }).once();
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).once();
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+
+        // both replies arrive before request is registered, first reply wins
+        producer.send(message, context);
+        Assert.assertEquals(producer.receive(context, 1000L).getPayload(), "<TestResponse>Hello World!</TestResponse>");
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+    }
+
+    @Test
+    public void testSharedReplyListenerReceiveTimeoutExceedsEndpointTimeout() throws Exception {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setSharedReplyListener(true);
+        endpoint.getEndpointConfiguration().setTimeout(100L);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        final TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "123456789";
+            }
+        };
+
+        final TextMessage unrelatedResponse = new TextMessageImpl("<TestResponse>Unrelated!</TestResponse>", new HashMap<String, Object>()) {
+            @Override
+            public String getJMSCorrelationID() throws JMSException {
+                return "unrelated";
+            }
+        };
+
+        final Capture<MessageListener> replyListener = new Capture<MessageListener>();
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        expect(connectionFactory.createConnection()).andReturn(connection).once();
+        connection.start();
+        expectLastCall().once();
+        expect(connection.createSession(anyBoolean(), anyInt())).andReturn(session).times(2);
+
+        expect(session.createTemporaryQueue()).andReturn(tempReplyQueue).once();
+        expect(session.createConsumer(tempReplyQueue)).andReturn(messageConsumer).once();
+        messageConsumer.setMessageListener(capture(replyListener));
+        expectLastCall().once();
+
+        expect(session.createProducer(destination)).andReturn(messageProducer).once();
+        messageProducer.send((TextMessage)anyObject());
+        expectLastCall().once();
+
+        expect(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).andReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>())).once();
+
+        replay(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+
+        final JmsSyncProducer producer = (JmsSyncProducer) endpoint.createProducer();
+        producer.send(message, context);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Message> reply = executor.submit(new Callable<Message>() {
+                @Override
+                public Message call() throws Exception {
+                    return producer.receive(context, 5000L);
+                }
+            });
+
+            // wait beyond endpoint timeout and sweep interval, unrelated reply triggers sweep for expired entries
+            Thread.sleep(1200L);
+            replyListener.getValue().onMessage(unrelatedResponse);
+            replyListener.getValue().onMessage(jmsResponse);
+
+            Assert.assertEquals(reply.get(5000L, TimeUnit.MILLISECONDS).getPayload(), "<TestResponse>Hello World!</TestResponse>");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(connectionFactory, destination, connection, session, messageConsumer, messageProducer, tempReplyQueue);
+    }
+
     @Test
     @SuppressWarnings("rawtypes")
     public void testSendMessageWithReplyHandler() throws JMSException {
@@ -22,31 +22,43 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.EventDrivenCorrelationManager;
 import com.consol.citrus.messaging.*;
 import com.consol.citrus.ssh.model.SshRequest;
 import com.consol.citrus.ssh.model.SshResponse;
 import com.jcraft.jsch.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Ssh client connects to ssh server and sends commands to that server.
+ * Ssh client connects to ssh server and sends commands to that server. Authenticated sessions are kept open and reused
+ * for further commands of the same user. Each command runs in its own exec channel so several commands may run
+ * concurrently on one session.
  *
  * @author Roland Huss, Christoph Deppisch
  * @since 1.4
  */
-public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class SshClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
 
     public static final String CLASSPATH_PREFIX = "classpath:";
 
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SshClient.class);
+
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
-    // Session for the SSH communication
-    private Session session;
+    // Sessions for the SSH communication identified by remote user
+    private final Map<String, Session> sessions = new HashMap<>();
 
     // SSH implementation
     private JSch jsch = new JSch();
@@ -65,7 +77,7 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
     protected SshClient(SshEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+        this.correlationManager = new EventDrivenCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
     }
 
     @Override
@@ -87,18 +99,15 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
 
         SshRequest request = (SshRequest) getEndpointConfiguration().getMessageConverter().convertOutbound(message, getEndpointConfiguration());
 
-        if (getEndpointConfiguration().isStrictHostChecking()) {
-            setKnownHosts();
-        }
-
         String rUser = getRemoteUser(message);
-        connect(rUser);
+        Session session = connect(rUser);
         ChannelExec channelExec = null;
-        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-        ByteArrayOutputStream errStream = new ByteArrayOutputStream();
+        CountDownLatch finished = new CountDownLatch(2);
+        ChannelOutputStream outStream = new ChannelOutputStream(finished);
+        ChannelOutputStream errStream = new ChannelOutputStream(finished);
         int rc = 0;
         try {
-            channelExec = openChannelExec();
+            channelExec = openChannelExec(session);
             channelExec.setErrStream(errStream);
             channelExec.setOutputStream(outStream);
             channelExec.setCommand(request.getCommand());
@@ -106,13 +115,12 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
             if (request.getStdin() != null) {
                 sendStandardInput(channelExec, request.getStdin());
             }
-            waitCommandToFinish(channelExec);
+            waitCommandToFinish(finished);
             rc = channelExec.getExitStatus();
         } finally {
             if (channelExec != null && channelExec.isConnected()) {
                 channelExec.disconnect();
             }
-            disconnect();
         }
         SshResponse sshResp = new SshResponse(outStream.toString(),errStream.toString(),rc);
         Message response = getEndpointConfiguration().getMessageConverter().convertInbound(sshResp, getEndpointConfiguration())
@@ -159,8 +167,19 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         return this;
     }
 
-    private void connect(String rUser) {
+    /**
+     * Gets connected session for remote user. Reuses open sessions and connects a new session if none
+     * is available or if the previous session was dropped.
+     * @param rUser
+     * @return
+     */
+    private synchronized Session connect(String rUser) {
+        Session session = sessions.get(rUser);
         if (session == null || !session.isConnected()) {
+            if (getEndpointConfiguration().isStrictHostChecking()) {
+                setKnownHosts();
+            }
+
             try {
                 if (StringUtils.hasText(getEndpointConfiguration().getPrivateKeyPath())) {
                     jsch.addIdentity(getPrivateKeyPath(), getEndpointConfiguration().getPrivateKeyPassword());
@@ -177,20 +196,36 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
                     session.setPassword(getEndpointConfiguration().getPassword());
                 }
                 session.setConfig("StrictHostKeyChecking", getEndpointConfiguration().isStrictHostChecking() ? "yes" : "no");
+                if (getEndpointConfiguration().getKeepAliveInterval() > 0) {
+                    session.setServerAliveInterval(getEndpointConfiguration().getKeepAliveInterval());
+                }
                 session.connect();
             } catch (JSchException e) {
                 throw new CitrusRuntimeException("Cannot connect via SSH: " + e,e);
             }
+
+            sessions.put(rUser, session);
+            log.debug(String.format("Opened new SSH session for user '%s' on %s:%s", rUser, getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort()));
         }
+
+        return session;
     }
 
-    private void disconnect() {
-        if (session.isConnected()) {
-            session.disconnect();
+    /**
+     * Disconnects all open sessions.
+     */
+    @Override
+    public synchronized void destroy() {
+        for (Session session : sessions.values()) {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
         }
+
+        sessions.clear();
     }
 
-    private ChannelExec openChannelExec() throws CitrusRuntimeException {
+    private ChannelExec openChannelExec(Session session) throws CitrusRuntimeException {
         ChannelExec channelExec;
         try {
             channelExec = (ChannelExec) session.openChannel("exec");
@@ -200,19 +235,18 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         return channelExec;
     }
 
-    private void waitCommandToFinish(ChannelExec pCh) {
-        final long until = System.currentTimeMillis() + getEndpointConfiguration().getCommandTimeout();
-
+    /**
+     * Waits for channel to close standard output on EOF and error output on channel close.
+     * @param finished
+     */
+    private void waitCommandToFinish(CountDownLatch finished) {
         try {
-            while (!pCh.isClosed() && System.currentTimeMillis() < until) {
-                Thread.sleep(250);
+            if (!finished.await(getEndpointConfiguration().getCommandTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new CitrusRuntimeException("Timeout: Channel not finished within " + getEndpointConfiguration().getCommandTimeout() + " ms");
             }
         } catch (InterruptedException e) {
-            throw new RuntimeException("Interrupted", e);
-        }
-
-        if (!pCh.isClosed()) {
-            throw new CitrusRuntimeException("Timeout: Channel not finished within " + getEndpointConfiguration().getCommandTimeout() + " ms");
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for SSH command to finish", e);
         }
     }
 
@@ -299,6 +333,24 @@ public class SshClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
     }
 
+    // Output stream collecting channel output, signals command completion when closed by the channel
+    private static class ChannelOutputStream extends ByteArrayOutputStream {
+        private final CountDownLatch finished;
+        private boolean closed = false;
+
+        public ChannelOutputStream(CountDownLatch finished) {
+            this.finished = finished;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                finished.countDown();
+            }
+        }
+    }
+
     // UserInfo which simply returns a plain password
     private static class UserInfoWithPlainPassword implements UserInfo {
         private String password;
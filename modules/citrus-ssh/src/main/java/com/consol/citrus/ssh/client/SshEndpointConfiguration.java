@@ -57,6 +57,9 @@ public class SshEndpointConfiguration extends AbstractPollableEndpointConfigurat
      /** Timeout how long to wait for a connection to connect */
     private int connectionTimeout = 1000 * 60 * 1; // 1 minute
 
+     /** Interval for sending keep alive messages on reused sessions, zero disables keep alive */
+    private int keepAliveInterval = 1000 * 60 * 1; // 1 minute
+
     /** Reply message correlator */
     private MessageCorrelator correlator = new DefaultMessageCorrelator();
 
@@ -226,6 +229,22 @@ public class SshEndpointConfiguration extends AbstractPollableEndpointConfigurat
         this.connectionTimeout = connectionTimeout;
     }
 
+    /**
+     * Gets the session keep alive interval.
+     * @return
+     */
+    public int getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+
+    /**
+     * Sets the session keep alive interval.
+     * @param keepAliveInterval
+     */
+    public void setKeepAliveInterval(int keepAliveInterval) {
+        this.keepAliveInterval = keepAliveInterval;
+    }
+
     /**
      * Gets the message correlator.
      * @return
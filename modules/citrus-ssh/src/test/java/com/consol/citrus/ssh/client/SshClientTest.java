@@ -23,6 +23,8 @@ import com.consol.citrus.ssh.model.SshMarshaller;
 import com.consol.citrus.ssh.model.SshRequest;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.jcraft.jsch.*;
+import org.easymock.Capture;
+import org.easymock.IAnswer;
 import org.easymock.IArgumentMatcher;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.xml.transform.StringResult;
@@ -32,6 +34,7 @@ import org.testng.annotations.Test;
 import java.io.*;
 
 import static org.easymock.EasyMock.*;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 
@@ -111,9 +114,10 @@ public class SshClientTest extends AbstractTestNGUnitTest {
     }
 
     private void standardChannelPrepAndSend() throws JSchException, IOException {
+        session.setServerAliveInterval(60000);
         session.connect();
         prepareChannel(COMMAND, 0);
-        disconnect();
+        openChannel();
         replay(jsch, session, channel);
         send();
     }
@@ -161,28 +165,61 @@ public class SshClientTest extends AbstractTestNGUnitTest {
 
         strictHostChecking(false, null);
         standardChannelPrepAndSend();
+
+        Message response = client.receive(context);
+        assertEquals(response.getHeader("user"), "roland");
+        assertEquals(response.getPayload(String.class).contains("<stdout>file1</stdout>"), true);
+    }
+
+    @Test
+    public void reuseSession() throws JSchException, IOException {
+        strictHostChecking(false, null);
+        session.setServerAliveInterval(60000);
+        session.connect();
+        expect(session.isConnected()).andReturn(true).times(2);
+        session.disconnect();
+
+        prepareChannel(COMMAND, 0);
+        openChannel();
+        prepareChannel(COMMAND, 0);
+        openChannel();
+        replay(jsch, session, channel);
+
+        send();
+        send();
+        client.destroy();
+
+        verify(jsch, session);
     }
 
     private void send() {
         client.send(createMessage(COMMAND, STDIN), context);
     }
 
-    private void disconnect() throws JSchException {
+    private void openChannel() throws JSchException {
         channel.disconnect();
-        expect(session.isConnected()).andReturn(true);
-        session.disconnect();
         expect(session.openChannel("exec")).andReturn(channel);
     }
 
     private void prepareChannel(String pCommand, int pExitStatus) throws JSchException, IOException {
-        channel.setErrStream((OutputStream) anyObject());
-        channel.setOutputStream((OutputStream) anyObject());
-        channel.setInputStream((InputStream) anyObject());
+        final Capture<OutputStream> stdout = new Capture<OutputStream>();
+        final Capture<OutputStream> stderr = new Capture<OutputStream>();
+
+        channel.setErrStream(capture(stderr));
+        channel.setOutputStream(capture(stdout));
         channel.setCommand(pCommand);
         channel.connect(CONNECTTION_TIMEOUT);
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() throws Throwable {
+                stdout.getValue().write("file1".getBytes());
+                // channel closes standard output on EOF and error output on channel close
+                stdout.getValue().close();
+                stderr.getValue().close();
+                return null;
+            }
+        });
         expect(channel.getOutputStream()).andReturn(outStream);
-        expect(channel.isClosed()).andReturn(false);
-        expect(channel.isClosed()).andReturn(true).times(2);
         expect(channel.getExitStatus()).andReturn(pExitStatus);
         expect(channel.isConnected()).andReturn(true);
     }
@@ -45,6 +45,7 @@ public class SshClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNull(client.getEndpointConfiguration().getKnownHosts());
         Assert.assertEquals(client.getEndpointConfiguration().getCommandTimeout(), 1000 * 60 * 5);
         Assert.assertEquals(client.getEndpointConfiguration().getConnectionTimeout(), 1000 * 60 * 1);
+        Assert.assertEquals(client.getEndpointConfiguration().getKeepAliveInterval(), 1000 * 60 * 1);
         Assert.assertFalse(client.getEndpointConfiguration().isStrictHostChecking());
         Assert.assertNotNull(client.getEndpointConfiguration().getMessageConverter());
 
@@ -59,6 +60,7 @@ public class SshClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(client.getEndpointConfiguration().getKnownHosts(), "classpath:com/consol/citrus/ssh/known_hosts");
         Assert.assertEquals(client.getEndpointConfiguration().getCommandTimeout(), 10000);
         Assert.assertEquals(client.getEndpointConfiguration().getConnectionTimeout(), 5000);
+        Assert.assertEquals(client.getEndpointConfiguration().getKeepAliveInterval(), 10000);
         Assert.assertTrue(client.getEndpointConfiguration().isStrictHostChecking());
         Assert.assertEquals(client.getEndpointConfiguration().getMessageConverter(), beanDefinitionContext.getBean("sshMessageConverter"));
     }
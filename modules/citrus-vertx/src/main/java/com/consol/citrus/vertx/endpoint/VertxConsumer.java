@@ -25,7 +25,14 @@ import org.slf4j.LoggerFactory;
 import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 /**
+ * Consumer subscribes to the Vert.x event bus address once when created and buffers all incoming messages
+ * until a receive action picks them up. So messages published in between receive actions are not lost.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
@@ -37,6 +44,21 @@ public class VertxConsumer extends AbstractMessageConsumer {
     /** Endpoint configuration */
     private final VertxEndpointConfiguration endpointConfiguration;
 
+    /** Messages received on event bus waiting to be consumed */
+    private final BlockingQueue<org.vertx.java.core.eventbus.Message> messageQueue = new LinkedBlockingQueue<>();
+
+    /** Persistent event bus subscription */
+    private final Handler<org.vertx.java.core.eventbus.Message> messageHandler = new Handler<org.vertx.java.core.eventbus.Message>() {
+        @Override
+        public void handle(org.vertx.java.core.eventbus.Message event) {
+            if (log.isDebugEnabled()) {
+                log.debug("Buffering Vert.x message received on event bus address '" + endpointConfiguration.getAddress() + "'");
+            }
+
+            messageQueue.offer(event);
+        }
+    };
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(VertxConsumer.class);
 
@@ -53,40 +75,35 @@ public class VertxConsumer extends AbstractMessageConsumer {
         super(name, endpointConfiguration);
         this.vertx = vertx;
         this.endpointConfiguration = endpointConfiguration;
+
+        vertx.eventBus().registerHandler(endpointConfiguration.getAddress(), messageHandler);
     }
 
     @Override
     public Message receive(TestContext context, long timeout) {
         log.info("Receiving message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
-        VertxSingleMessageHandler vertxMessageHandler = new VertxSingleMessageHandler();
-        vertx.eventBus().registerHandler(endpointConfiguration.getAddress(), vertxMessageHandler);
-
-        long timeLeft = timeout;
-        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
-
-        while (message == null && timeLeft > 0) {
-            timeLeft -= endpointConfiguration.getPollingInterval();
-
+        org.vertx.java.core.eventbus.Message vertxMessage = messageQueue.poll();
+        if (vertxMessage == null && timeout > 0) {
             if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug(String.format("Waiting for message on Vert.x event bus address '%s' - retrying in %s ms",
-                        endpointConfiguration.getAddress(),
-                        (timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft)));
+                RETRY_LOG.debug(String.format("Waiting for message on Vert.x event bus address '%s' - waiting %s ms",
+                        endpointConfiguration.getAddress(), timeout));
             }
 
             try {
-                Thread.sleep(timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft);
+                vertxMessage = messageQueue.poll(timeout, TimeUnit.MILLISECONDS);
             } catch (InterruptedException e) {
                 RETRY_LOG.warn("Thread interrupted while waiting for message on Vert.x event bus", e);
+                Thread.currentThread().interrupt();
             }
-
-            message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessageHandler.getMessage(), endpointConfiguration);
         }
 
-        if (message == null) {
+        if (vertxMessage == null) {
             throw new ActionTimeoutException("Action timed out while receiving message on Vert.x event bus address '" + endpointConfiguration.getAddress() + "'");
         }
 
+        Message message = endpointConfiguration.getMessageConverter().convertInbound(vertxMessage, endpointConfiguration);
+
         log.info("Received message on Vert.x event bus address: '" + endpointConfiguration.getAddress() + "'");
 
         context.onInboundMessage(message);
@@ -95,30 +112,14 @@ public class VertxConsumer extends AbstractMessageConsumer {
     }
 
     /**
-     * Simple Vert.x message handler stores first message received on event bus and ignores all further messages
-     * until subscription is unregistered automatically.
+     * Unregisters event bus subscription and discards all buffered messages.
      */
-    private class VertxSingleMessageHandler implements Handler<org.vertx.java.core.eventbus.Message> {
-        private org.vertx.java.core.eventbus.Message message;
-
-        @Override
-        public void handle(org.vertx.java.core.eventbus.Message event) {
-            if (message == null) {
-                this.message = event;
-                vertx.eventBus().unregisterHandler(endpointConfiguration.getAddress(), this);
-            } else {
-                log.warn("Vert.x message handler ignored message on event bus address '" + endpointConfiguration.getAddress() + "'");
-                log.debug("Vert.x message ignored is " + event);
-            }
-        }
+    public void destroy() {
+        vertx.eventBus().unregisterHandler(endpointConfiguration.getAddress(), messageHandler);
 
-        /**
-         * Gets the vert.x message received on event bus.
-         * @return
-         */
-        public org.vertx.java.core.eventbus.Message getMessage() {
-            return message;
+        if (!messageQueue.isEmpty()) {
+            log.warn("Discarding " + messageQueue.size() + " buffered Vert.x message(s) on event bus address: '" + endpointConfiguration.getAddress() + "'");
+            messageQueue.clear();
         }
     }
-
 }
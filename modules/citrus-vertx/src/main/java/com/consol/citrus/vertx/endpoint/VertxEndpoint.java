@@ -20,16 +20,21 @@ import com.consol.citrus.endpoint.AbstractEndpoint;
 import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.messaging.Producer;
 import com.consol.citrus.vertx.factory.VertxInstanceFactory;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class VertxEndpoint extends AbstractEndpoint {
+public class VertxEndpoint extends AbstractEndpoint implements DisposableBean {
 
     /** Vert.x instance */
     private VertxInstanceFactory vertxInstanceFactory;
 
+    /** Cached producer or consumer */
+    private VertxProducer vertxProducer;
+    private VertxConsumer vertxConsumer;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -47,15 +52,30 @@ public class VertxEndpoint extends AbstractEndpoint {
     }
 
     @Override
-    public Producer createProducer() {
-        return new VertxProducer(getProducerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
-                getEndpointConfiguration());
+    public synchronized Producer createProducer() {
+        if (vertxProducer == null) {
+            vertxProducer = new VertxProducer(getProducerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
+                    getEndpointConfiguration());
+        }
+
+        return vertxProducer;
+    }
+
+    @Override
+    public synchronized Consumer createConsumer() {
+        if (vertxConsumer == null) {
+            vertxConsumer = new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
+                    getEndpointConfiguration());
+        }
+
+        return vertxConsumer;
     }
 
     @Override
-    public Consumer createConsumer() {
-        return new VertxConsumer(getConsumerName(), vertxInstanceFactory.newInstance(getEndpointConfiguration()),
-                getEndpointConfiguration());
+    public void destroy() throws Exception {
+        if (vertxConsumer != null) {
+            vertxConsumer.destroy();
+        }
     }
 
     @Override
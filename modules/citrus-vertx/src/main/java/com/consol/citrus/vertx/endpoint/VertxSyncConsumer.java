@@ -19,7 +19,7 @@ package com.consol.citrus.vertx.endpoint;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.correlation.CorrelationManager;
-import com.consol.citrus.message.correlation.PollingCorrelationManager;
+import com.consol.citrus.message.correlation.EventDrivenCorrelationManager;
 import com.consol.citrus.messaging.ReplyProducer;
 import com.consol.citrus.vertx.message.CitrusVertxMessageHeaders;
 import org.slf4j.Logger;
@@ -55,7 +55,7 @@ public class VertxSyncConsumer extends VertxConsumer implements ReplyProducer {
         this.vertx = vertx;
         this.endpointConfiguration = endpointConfiguration;
 
-        this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply Vert.x address not set up yet");
+        this.correlationManager = new EventDrivenCorrelationManager(endpointConfiguration, "Reply Vert.x address not set up yet");
     }
 
     @Override
@@ -16,15 +16,18 @@
 
 package com.consol.citrus.vertx.factory;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.vertx.endpoint.VertxEndpointConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vertx.java.core.*;
-import org.vertx.java.core.impl.DefaultFutureResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract Vertx instance factory provides basic method for creating a new Vertx instance. By default waits for
- * instance to start up properly.
+ * instance to start up properly. Startup completes as soon as Vert.x calls back with the started instance.
  *
  * @author Christoph Deppisch
  * @since 2.0
@@ -34,6 +37,9 @@ public abstract class AbstractVertxInstanceFactory implements VertxInstanceFacto
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(AbstractVertxInstanceFactory.class);
 
+    /** Maximum time to wait for Vert.x instance startup */
+    private long startupTimeout = 60000L;
+
     /**
      * Creates new Vert.x instance with default factory. Subclasses may overwrite this
      * method in order to provide special Vert.x instance.
@@ -41,14 +47,20 @@ public abstract class AbstractVertxInstanceFactory implements VertxInstanceFacto
      */
     protected Vertx createVertx(VertxEndpointConfiguration endpointConfiguration) {
         final Vertx[] vertx = new Vertx[1];
-        final Future loading = new DefaultFutureResult();
+        final Throwable[] failure = new Throwable[1];
+        final CountDownLatch loading = new CountDownLatch(1);
 
         Handler<AsyncResult<Vertx>> asyncLoadingHandler = new Handler<AsyncResult<Vertx>>() {
             @Override
             public void handle(AsyncResult<Vertx> event) {
-                vertx[0] = event.result();
-                loading.setResult(Boolean.TRUE);
-                log.info("Vert.x instance successfully started");
+                if (event.succeeded()) {
+                    vertx[0] = event.result();
+                    log.info("Vert.x instance successfully started");
+                } else {
+                    failure[0] = event.cause();
+                }
+
+                loading.countDown();
             }
         };
 
@@ -61,15 +73,36 @@ public abstract class AbstractVertxInstanceFactory implements VertxInstanceFacto
         }
 
         // Wait for full loading
-        while (!loading.complete()) {
-            try {
-                log.debug("Waiting for Vert.x instance to startup");
-                Thread.sleep(250L);
-            } catch (InterruptedException e) {
-                log.warn("Interrupted while waiting for Vert.x instance startup", e);
+        try {
+            log.debug("Waiting for Vert.x instance to startup");
+            if (!loading.await(startupTimeout, TimeUnit.MILLISECONDS)) {
+                throw new CitrusRuntimeException("Timed out after " + startupTimeout + " ms while waiting for Vert.x instance startup");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for Vert.x instance startup", e);
+        }
+
+        if (failure[0] != null) {
+            throw new CitrusRuntimeException("Failed to start Vert.x instance", failure[0]);
         }
 
         return vertx[0];
     }
+
+    /**
+     * Gets the startup timeout.
+     * @return
+     */
+    public long getStartupTimeout() {
+        return startupTimeout;
+    }
+
+    /**
+     * Sets the startup timeout.
+     * @param startupTimeout
+     */
+    public void setStartupTimeout(long startupTimeout) {
+        this.startupTimeout = startupTimeout;
+    }
 }
@@ -17,8 +17,6 @@
 package com.consol.citrus.vertx.factory;
 
 import com.consol.citrus.vertx.endpoint.VertxEndpointConfiguration;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.vertx.java.core.Vertx;
 
 /**
@@ -29,24 +27,15 @@ import org.vertx.java.core.Vertx;
  */
 public class SingleVertxInstanceFactory extends AbstractVertxInstanceFactory {
 
-    /** Logger */
-    private static Logger log = LoggerFactory.getLogger(SingleVertxInstanceFactory.class);
-
     /** Vert.x instance */
     private Vertx vertx;
 
     @Override
-    public final Vertx newInstance(VertxEndpointConfiguration endpointConfiguration) {
+    public final synchronized Vertx newInstance(VertxEndpointConfiguration endpointConfiguration) {
         if (vertx == null) {
             vertx = createVertx(endpointConfiguration);
         }
 
-        try {
-            Thread.sleep(5000L);
-        } catch (InterruptedException e) {
-            log.warn("Interrupted while waiting for vert.x instance to start up", e);
-        }
-
         return vertx;
     }
 
@@ -54,7 +43,7 @@ public class SingleVertxInstanceFactory extends AbstractVertxInstanceFactory {
      * Sets the Vert.x instance.
      * @param vertx
      */
-    public void setVertx(Vertx vertx) {
+    public synchronized void setVertx(Vertx vertx) {
         this.vertx = vertx;
     }
 }
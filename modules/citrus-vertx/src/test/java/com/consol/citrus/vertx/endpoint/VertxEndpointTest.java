@@ -99,7 +99,7 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
     }
 
     @Test
-    public void testVertxEndpointConsumer() {
+    public void testVertxEndpointConsumer() throws Exception {
         String eventBusAddress = "news-feed";
         VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
         endpointConfiguration.setAddress(eventBusAddress);
@@ -132,6 +132,56 @@ public class VertxEndpointTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_ADDRESS), eventBusAddress);
         Assert.assertEquals(receivedMessage.getHeader(CitrusVertxMessageHeaders.VERTX_REPLY_ADDRESS), "replyAddress");
 
+        vertxEndpoint.destroy();
+
+        verify(vertx, eventBus, messageMock);
+    }
+
+    @Test
+    public void testVertxEndpointConsumerBuffersMessages() throws Exception {
+        String eventBusAddress = "news-feed";
+        VertxEndpointConfiguration endpointConfiguration = new VertxEndpointConfiguration();
+        endpointConfiguration.setAddress(eventBusAddress);
+
+        VertxEndpoint vertxEndpoint = new VertxEndpoint(endpointConfiguration);
+        vertxEndpoint.setVertxInstanceFactory(instanceFactory);
+
+        final Handler[] subscription = new Handler[1];
+
+        reset(vertx, eventBus, messageMock);
+
+        expect(messageMock.body()).andReturn("Hello from Vertx!").times(3);
+        expect(messageMock.address()).andReturn(eventBusAddress).times(3);
+        expect(messageMock.replyAddress()).andReturn("replyAddress").times(3);
+
+        expect(vertx.eventBus()).andReturn(eventBus).once();
+        expect(eventBus.registerHandler(eq(eventBusAddress), anyObject(Handler.class))).andAnswer(new IAnswer<EventBus>() {
+            @Override
+            public EventBus answer() throws Throwable {
+                subscription[0] = (Handler) getCurrentArguments()[1];
+                return eventBus;
+            }
+        }).once();
+
+        replay(vertx, eventBus, messageMock);
+
+        Assert.assertSame(vertxEndpoint.createConsumer(), vertxEndpoint.createConsumer());
+
+        subscription[0].handle(messageMock);
+        subscription[0].handle(messageMock);
+
+        Assert.assertEquals(vertxEndpoint.createConsumer().receive(context, 0L).getPayload(), "Hello from Vertx!");
+        Assert.assertEquals(vertxEndpoint.createConsumer().receive(context, 0L).getPayload(), "Hello from Vertx!");
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                subscription[0].handle(messageMock);
+            }
+        }).start();
+
+        Assert.assertEquals(vertxEndpoint.createConsumer().receive(context, 5000L).getPayload(), "Hello from Vertx!");
+
         verify(vertx, eventBus, messageMock);
     }
 
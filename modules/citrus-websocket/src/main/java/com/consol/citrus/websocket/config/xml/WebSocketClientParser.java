@@ -22,6 +22,7 @@ import com.consol.citrus.endpoint.Endpoint;
 import com.consol.citrus.endpoint.EndpointConfiguration;
 import com.consol.citrus.websocket.endpoint.WebSocketClientEndpointConfiguration;
 import com.consol.citrus.websocket.endpoint.WebSocketEndpoint;
+import com.consol.citrus.websocket.handler.OverflowStrategy;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.xml.ParserContext;
 import org.w3c.dom.Element;
@@ -44,6 +45,11 @@ public class WebSocketClientParser extends AbstractEndpointParser {
 
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("url"), "endpointUri");
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("message-converter"), "messageConverter");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("queue-capacity"), "queueCapacity");
+
+        if (element.hasAttribute("overflow-strategy")) {
+            endpointConfiguration.addPropertyValue("overflowStrategy", OverflowStrategy.fromName(element.getAttribute("overflow-strategy")));
+        }
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("endpoint-resolver"), "endpointUriResolver");
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("polling-interval"), "pollingInterval");
     }
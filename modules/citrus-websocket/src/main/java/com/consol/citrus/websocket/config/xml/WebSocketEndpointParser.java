@@ -22,6 +22,7 @@ import com.consol.citrus.endpoint.Endpoint;
 import com.consol.citrus.endpoint.EndpointConfiguration;
 import com.consol.citrus.websocket.endpoint.WebSocketEndpoint;
 import com.consol.citrus.websocket.endpoint.WebSocketServerEndpointConfiguration;
+import com.consol.citrus.websocket.handler.OverflowStrategy;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.xml.ParserContext;
 import org.w3c.dom.Element;
@@ -40,6 +41,11 @@ public class WebSocketEndpointParser extends AbstractEndpointParser {
 
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("path"), "endpointUri");
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("message-converter"), "messageConverter");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("queue-capacity"), "queueCapacity");
+
+        if (element.hasAttribute("overflow-strategy")) {
+            endpointConfiguration.addPropertyValue("overflowStrategy", OverflowStrategy.fromName(element.getAttribute("overflow-strategy")));
+        }
     }
 
     @Override
@@ -19,6 +19,8 @@ package com.consol.citrus.websocket.endpoint;
 import com.consol.citrus.endpoint.AbstractPollableEndpointConfiguration;
 import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
+import com.consol.citrus.websocket.handler.OverflowStrategy;
 import com.consol.citrus.websocket.message.WebSocketMessageConverter;
 
 /**
@@ -36,6 +38,12 @@ public abstract class AbstractWebSocketEndpointConfiguration extends AbstractPol
     /** The message converter */
     private WebSocketMessageConverter messageConverter = new WebSocketMessageConverter();
 
+    /** Inbound message queue capacity, not positive values mean unbounded */
+    private int queueCapacity = 0;
+
+    /** Strategy applied when inbound message queue is full */
+    private OverflowStrategy overflowStrategy = OverflowStrategy.BLOCK;
+
     @Override
     public WebSocketMessageConverter getMessageConverter() {
         return messageConverter;
@@ -65,4 +73,45 @@ public abstract class AbstractWebSocketEndpointConfiguration extends AbstractPol
     public void setEndpointUriResolver(EndpointUriResolver endpointUriResolver) {
         this.endpointUriResolver = endpointUriResolver;
     }
+
+    /**
+     * Gets the inbound message queue capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the inbound message queue capacity. Not positive values mean unbounded.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the strategy applied when inbound message queue is full.
+     * @return
+     */
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    /**
+     * Sets the strategy applied when inbound message queue is full.
+     * @param overflowStrategy
+     */
+    public void setOverflowStrategy(OverflowStrategy overflowStrategy) {
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    /**
+     * Applies inbound queue settings to given web socket handler.
+     * @param handler
+     */
+    protected void configureHandler(CitrusWebSocketHandler handler) {
+        handler.setQueueCapacity(queueCapacity);
+        handler.setOverflowStrategy(overflowStrategy);
+    }
 }
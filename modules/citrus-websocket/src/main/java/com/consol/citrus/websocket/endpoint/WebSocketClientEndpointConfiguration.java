@@ -60,6 +60,7 @@ public class WebSocketClientEndpointConfiguration extends AbstractWebSocketEndpo
      */
     private CitrusWebSocketHandler getWebSocketClientHandler(String url) {
         CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        configureHandler(handler);
         ListenableFuture<WebSocketSession> future = client.doHandshake(handler, url);
         try {
             future.get();
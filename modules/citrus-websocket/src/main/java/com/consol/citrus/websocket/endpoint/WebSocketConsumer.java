@@ -19,13 +19,19 @@ package com.consol.citrus.websocket.endpoint;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessageSelectorBuilder;
 import com.consol.citrus.messaging.AbstractSelectiveMessageConsumer;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
+import com.consol.citrus.websocket.message.WebSocketMessageHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
 
 /**
- * Consumer polls for incoming messages on web socket handler.
+ * Consumer waits for incoming messages on web socket handler. Consumer is woken up as soon as a message arrives.
+ * Message selectors on the session id header receive messages of a single client session only.
  * @author Martin Maher
  * @since 2.3
  */
@@ -54,8 +60,9 @@ public class WebSocketConsumer extends AbstractSelectiveMessageConsumer {
     public Message receive(String selector, TestContext context, long timeout) {
         LOG.info(String.format("Waiting %s ms for Web Socket message ...", timeout));
 
-        WebSocketMessage<?> message = receive(endpointConfiguration, timeout);
-        Message receivedMessage = endpointConfiguration.getMessageConverter().convertInbound(message, endpointConfiguration);
+        CitrusWebSocketHandler.InboundMessage message = receive(endpointConfiguration, getSessionId(selector), timeout);
+        Message receivedMessage = endpointConfiguration.getMessageConverter().convertInbound(message.getMessage(), endpointConfiguration);
+        receivedMessage.setHeader(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID, message.getSessionId());
 
         LOG.info("Received Web Socket message");
         context.onInboundMessage(receivedMessage);
@@ -64,33 +71,40 @@ public class WebSocketConsumer extends AbstractSelectiveMessageConsumer {
     }
 
     /**
-     * Receive web socket message by polling on web socket handler for incoming message.
-     * @param config
-     * @param timeout
-     * @return
+     * Reads target session id from message selector. Web socket consumers only support selection by session id.
+     * @param selector
+     * @return the session id or null if not set.
      */
-    private WebSocketMessage<?> receive(WebSocketEndpointConfiguration config, long timeout) {
-        long timeLeft = timeout;
+    private String getSessionId(String selector) {
+        if (!StringUtils.hasText(selector)) {
+            return null;
+        }
 
-        WebSocketMessage<?> message = config.getHandler().getMessage();
-        String path = endpointConfiguration.getEndpointUri();
-        while (message == null && timeLeft > 0) {
-            timeLeft -= endpointConfiguration.getPollingInterval();
-            long sleep = timeLeft > 0 ? endpointConfiguration.getPollingInterval() : endpointConfiguration.getPollingInterval() + timeLeft;
-            if (LOG.isDebugEnabled()) {
-                String msg = "Waiting for message on '%s' - retrying in %s ms";
-                LOG.debug(String.format(msg, path, (sleep)));
+        Map<String, String> selectorValues = MessageSelectorBuilder.withString(selector).toKeyValueMap();
+        for (String key : selectorValues.keySet()) {
+            if (!key.equals(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID)) {
+                LOG.warn(String.format("Ignoring unsupported Web Socket message selector '%s'", key));
             }
+        }
 
-            try {
-                Thread.sleep(sleep);
-            } catch (InterruptedException e) {
-                LOG.warn(String.format("Thread interrupted while waiting for message on '%s'", path), e);
-            }
+        return selectorValues.get(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID);
+    }
 
-            message = config.getHandler().getMessage();
+    /**
+     * Receive web socket message by waiting on web socket handler for incoming message.
+     * @param config
+     * @param sessionId
+     * @param timeout
+     * @return
+     */
+    private CitrusWebSocketHandler.InboundMessage receive(WebSocketEndpointConfiguration config, String sessionId, long timeout) {
+        String path = endpointConfiguration.getEndpointUri();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Waiting for message on '%s'", path));
         }
 
+        CitrusWebSocketHandler.InboundMessage message = config.getHandler().receive(sessionId, timeout);
+
         if (message == null) {
             throw new ActionTimeoutException(String.format("Action timed out while receiving message on '%s'", path));
         }
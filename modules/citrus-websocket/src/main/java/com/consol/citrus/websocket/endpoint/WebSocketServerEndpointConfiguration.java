@@ -42,6 +42,7 @@ public class WebSocketServerEndpointConfiguration extends AbstractWebSocketEndpo
         if (this.handler != null) {
             LOG.warn(String.format("Handler already set for Web Socket endpoint (path='%s'). Check configuration to ensure that the Web Socket endpoint is not being used by multiple http-servers", getEndpointUri()));
         }
+        configureHandler(handler);
         this.handler = handler;
     }
 }
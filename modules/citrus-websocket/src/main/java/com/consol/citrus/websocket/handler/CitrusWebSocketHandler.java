@@ -22,14 +22,19 @@ import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.*;
 
 /**
  * Web Socket Handler for handling incoming and sending outgoing Web Socket messages
  *
+ * Inbound messages are written by container I/O threads and consumed by test threads so the inbound queue
+ * is guarded by a lock. Consumers waiting for messages are woken up as soon as a message arrives. Queue capacity
+ * is unbounded by default, bounded queues either block the I/O thread or drop the message when full.
+ *
  * @author Martin Maher
  * @since 2.3
  */
@@ -38,10 +43,24 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     private static final Logger LOG = LoggerFactory.getLogger(CitrusWebSocketHandler.class);
 
     /** Inbound message cache */
-    private final Queue<WebSocketMessage<?>> inboundMessages = new LinkedList<>();
+    private final Deque<InboundMessage> inboundMessages = new ArrayDeque<>();
+
+    /** Lock guarding inbound messages */
+    private final Lock lock = new ReentrantLock();
+    private final Condition messageArrived = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+
+    /** Maximum number of queued inbound messages, not positive values mean unbounded */
+    private volatile int queueCapacity = 0;
+
+    /** Behavior when inbound queue is full */
+    private volatile OverflowStrategy overflowStrategy = OverflowStrategy.BLOCK;
+
+    /** Number of inbound messages dropped due to full queue */
+    private final AtomicLong droppedMessages = new AtomicLong();
 
     /** Web socket sessions */
-    private final Map<String, WebSocketSession> sessions = new HashMap<>();
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
@@ -52,19 +71,19 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received text message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
     protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received binary message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
     protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
         LOG.debug(String.format("WebSocket endpoint (%s) received pong message", session.getId()));
-        inboundMessages.add(message);
+        addMessage(session, message);
     }
 
     @Override
@@ -78,12 +97,85 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
         sessions.remove(session.getId());
     }
 
+    /**
+     * Adds inbound message to queue. Applies overflow strategy when queue is full.
+     * @param session
+     * @param message
+     */
+    private void addMessage(WebSocketSession session, WebSocketMessage<?> message) {
+        lock.lock();
+        try {
+            while (queueCapacity > 0 && inboundMessages.size() >= queueCapacity) {
+                if (overflowStrategy == OverflowStrategy.DROP) {
+                    droppedMessages.incrementAndGet();
+                    LOG.warn(String.format("WebSocket endpoint (%s) inbound queue is full - dropping message", session.getId()));
+                    return;
+                }
+
+                try {
+                    spaceAvailable.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedMessages.incrementAndGet();
+                    LOG.warn(String.format("WebSocket endpoint (%s) interrupted while waiting for free queue space - dropping message", session.getId()));
+                    return;
+                }
+            }
+
+            inboundMessages.add(new InboundMessage(session.getId(), message));
+            messageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Polls message from internal cache.
      * @return
      */
     public WebSocketMessage<?> getMessage() {
-        return inboundMessages.poll();
+        InboundMessage inboundMessage = receive(null, 0L);
+        return inboundMessage != null ? inboundMessage.getMessage() : null;
+    }
+
+    /**
+     * Receives next inbound message waiting at most the given timeout for a message to arrive.
+     * @param sessionId optional session id, only messages received on this session are returned.
+     * @param timeout
+     * @return the received message or null when timed out.
+     */
+    public InboundMessage receive(String sessionId, long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+
+        lock.lock();
+        try {
+            while (true) {
+                Iterator<InboundMessage> it = inboundMessages.iterator();
+                while (it.hasNext()) {
+                    InboundMessage inboundMessage = it.next();
+                    if (sessionId == null || sessionId.equals(inboundMessage.getSessionId())) {
+                        it.remove();
+                        spaceAvailable.signal();
+                        return inboundMessage;
+                    }
+                }
+
+                long timeLeft = deadline - System.currentTimeMillis();
+                if (timeLeft <= 0) {
+                    return null;
+                }
+
+                try {
+                    messageArrived.await(timeLeft, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    LOG.warn("Thread interrupted while waiting for web socket message", e);
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -109,4 +201,73 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
         }
         return sentSuccessfully;
     }
+
+    /**
+     * Gets the number of inbound messages dropped because of a full queue.
+     * @return
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * Gets the inbound queue capacity.
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the inbound queue capacity. Not positive values mean unbounded.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the overflow strategy.
+     * @return
+     */
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    /**
+     * Sets the overflow strategy.
+     * @param overflowStrategy
+     */
+    public void setOverflowStrategy(OverflowStrategy overflowStrategy) {
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    /**
+     * Inbound web socket message with the id of the session it was received on.
+     */
+    public static final class InboundMessage {
+        private final String sessionId;
+        private final WebSocketMessage<?> message;
+
+        private InboundMessage(String sessionId, WebSocketMessage<?> message) {
+            this.sessionId = sessionId;
+            this.message = message;
+        }
+
+        /**
+         * Gets the session id.
+         * @return
+         */
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Gets the web socket message.
+         * @return
+         */
+        public WebSocketMessage<?> getMessage() {
+            return message;
+        }
+    }
 }
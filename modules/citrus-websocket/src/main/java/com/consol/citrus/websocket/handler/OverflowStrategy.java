@@ -0,0 +1,63 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.websocket.handler;
+
+/**
+ * Enumeration representing the behavior of a web socket handler when its bounded inbound message
+ * queue is full.
+ *
+ * @author Christoph Deppisch
+ * @since 2.4
+ */
+public enum OverflowStrategy {
+    BLOCK("block"),
+    DROP("drop");
+
+    /** Name representation */
+    private String name;
+
+    /**
+     * Default constructor using String name representation field.
+     * @param name
+     */
+    OverflowStrategy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the strategy from given name representation.
+     * @param name
+     * @return
+     */
+    public static OverflowStrategy fromName(String name) {
+        for (OverflowStrategy strategy : values()) {
+            if (strategy.getName().equals(name)) {
+                return strategy;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown overflow strategy: " + name);
+    }
+
+    /**
+     * Gets the name representation.
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -18,7 +18,9 @@ package com.consol.citrus.websocket.config.xml;
 
 import com.consol.citrus.TestActor;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
+import com.consol.citrus.websocket.endpoint.AbstractWebSocketEndpointConfiguration;
 import com.consol.citrus.websocket.endpoint.WebSocketEndpoint;
+import com.consol.citrus.websocket.handler.OverflowStrategy;
 import org.springframework.beans.factory.parsing.BeanDefinitionParsingException;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -54,6 +56,8 @@ public class WebSocketClientParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertEquals(webSocketClient.getActor(), beanDefinitionContext.getBean("testActor", TestActor.class));
         Assert.assertEquals(webSocketClient.getEndpointConfiguration().getEndpointUri(), "ws://localhost:8080/test");
         Assert.assertEquals(webSocketClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertEquals(((AbstractWebSocketEndpointConfiguration) webSocketClient.getEndpointConfiguration()).getQueueCapacity(), 10);
+        Assert.assertEquals(((AbstractWebSocketEndpointConfiguration) webSocketClient.getEndpointConfiguration()).getOverflowStrategy(), OverflowStrategy.BLOCK);
     }
 
     @Test
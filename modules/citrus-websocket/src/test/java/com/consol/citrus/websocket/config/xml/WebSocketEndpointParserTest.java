@@ -18,7 +18,9 @@ package com.consol.citrus.websocket.config.xml;
 
 import com.consol.citrus.TestActor;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
+import com.consol.citrus.websocket.endpoint.AbstractWebSocketEndpointConfiguration;
 import com.consol.citrus.websocket.endpoint.WebSocketEndpoint;
+import com.consol.citrus.websocket.handler.OverflowStrategy;
 import com.consol.citrus.websocket.server.WebSocketServer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -47,6 +49,8 @@ public class WebSocketEndpointParserTest extends AbstractBeanDefinitionParserTes
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket1");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getEndpointUri(), "/test1");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(((AbstractWebSocketEndpointConfiguration) webSocketEndpoint.getEndpointConfiguration()).getQueueCapacity(), 0);
+        Assert.assertEquals(((AbstractWebSocketEndpointConfiguration) webSocketEndpoint.getEndpointConfiguration()).getOverflowStrategy(), OverflowStrategy.BLOCK);
 
         webSocketEndpoint = server.getWebSockets().get(1);
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket2");
@@ -59,6 +63,8 @@ public class WebSocketEndpointParserTest extends AbstractBeanDefinitionParserTes
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket3");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getEndpointUri(), "/test3");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(((AbstractWebSocketEndpointConfiguration) webSocketEndpoint.getEndpointConfiguration()).getQueueCapacity(), 100);
+        Assert.assertEquals(((AbstractWebSocketEndpointConfiguration) webSocketEndpoint.getEndpointConfiguration()).getOverflowStrategy(), OverflowStrategy.DROP);
 
     }
 
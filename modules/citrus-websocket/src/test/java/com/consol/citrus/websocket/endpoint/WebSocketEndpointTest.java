@@ -19,9 +19,12 @@ package com.consol.citrus.websocket.endpoint;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.SelectiveConsumer;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
+import com.consol.citrus.websocket.handler.OverflowStrategy;
 import com.consol.citrus.websocket.message.WebSocketMessage;
+import com.consol.citrus.websocket.message.WebSocketMessageHeaders;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.springframework.web.socket.*;
@@ -176,4 +179,101 @@ public class WebSocketEndpointTest extends AbstractTestNGUnitTest {
 
         verify(session);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWebSocketEndpointSessionSelector() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+
+        reset(session, session2);
+        expect(session.getId()).andReturn("test-socket-1").atLeastOnce();
+        expect(session2.getId()).andReturn("test-socket-2").atLeastOnce();
+        replay(session, session2);
+
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionEstablished(session2);
+
+        handler.handleMessage(session, new TextMessage("Hello from 1"));
+        handler.handleMessage(session2, new TextMessage("Hello from 2"));
+
+        SelectiveConsumer consumer = (SelectiveConsumer) webSocketEndpoint.createConsumer();
+        Message received = consumer.receive(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID + " = 'test-socket-2'", context, 1000L);
+        Assert.assertEquals(received.getPayload(), "Hello from 2");
+        Assert.assertEquals(received.getHeader(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID), "test-socket-2");
+
+        received = consumer.receive(context, 1000L);
+        Assert.assertEquals(received.getPayload(), "Hello from 1");
+        Assert.assertEquals(received.getHeader(WebSocketMessageHeaders.WEB_SOCKET_SESSION_ID), "test-socket-1");
+
+        verify(session, session2);
+    }
+
+    @Test
+    public void testWebSocketEndpointWakesOnMessage() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        final CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+        endpointConfiguration.setPollingInterval(5000L);
+
+        reset(session);
+        expect(session.getId()).andReturn("test-socket-1").atLeastOnce();
+        replay(session);
+
+        handler.afterConnectionEstablished(session);
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100L);
+                    handler.handleMessage(session, new TextMessage("Hello"));
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        producer.start();
+
+        Message received = webSocketEndpoint.createConsumer().receive(context, 10000L);
+        Assert.assertEquals(received.getPayload(), "Hello");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+
+        producer.join();
+        verify(session);
+    }
+
+    @Test
+    public void testWebSocketEndpointDropOnFullQueue() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        endpointConfiguration.setQueueCapacity(1);
+        endpointConfiguration.setOverflowStrategy(OverflowStrategy.DROP);
+        WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+
+        reset(session);
+        expect(session.getId()).andReturn("test-socket-1").atLeastOnce();
+        replay(session);
+
+        handler.afterConnectionEstablished(session);
+        handler.handleMessage(session, new TextMessage("First"));
+        handler.handleMessage(session, new TextMessage("Second"));
+
+        Assert.assertEquals(handler.getDroppedMessages(), 1L);
+        Assert.assertEquals(webSocketEndpoint.createConsumer().receive(context, 1000L).getPayload(), "First");
+        Assert.assertNull(handler.getMessage());
+
+        verify(session);
+    }
+}